@@ -146,6 +146,34 @@ class CheckstylePluginVersionIntegrationTest extends MultiVersionIntegrationSpec
         succeeds("checkstyleMain") && ":checkstyleMain" in nonSkippedTasks
     }
 
+    def "merges results of changed files with results of unchanged files"() {
+        given:
+        badCode()
+        buildFile << """
+            checkstyle {
+                ignoreFailures = true
+            }
+        """
+        succeeds("checkstyleMain")
+
+        when:
+        file("src/main/java/org/gradle/class1.java").text = "package org.gradle; class Class1 { }"
+
+        then:
+        succeeds("checkstyleMain")
+        output.contains("Checkstyle rule violations were found. See the report at:")
+        !file("build/reports/checkstyle/main.xml").text.contains("Name 'class1' must match pattern")
+        file("build/reports/checkstyle/main.xml").text.contains("Name 'class2' must match pattern")
+        file("build/reports/checkstyle/main.html").assertContents(containsClass("org.gradle.class2"))
+
+        when:
+        file("config/checkstyle/checkstyle.xml").text = file("config/checkstyle/checkstyle.xml").text.replace('<module name="TypeName"/>', '')
+
+        then:
+        succeeds("checkstyleMain")
+        !output.contains("Checkstyle rule violations were found.")
+    }
+
     def "can configure reporting"() {
         given:
         goodCode()
@@ -269,4 +269,14 @@ class FindBugsSpecBuilderTest extends Specification {
         then:
         args.containsAll([ "abc", "def" ])
     }
+
+    def "worker can be reused without plugins and extra args"() {
+        FileCollection plugins = Mock()
+        plugins.empty >> false
+
+        expect:
+        builder.build().workerReusable
+        !new FindBugsSpecBuilder(classes).withExtraArgs(['abc']).build().workerReusable
+        !new FindBugsSpecBuilder(classes).withPluginsList(plugins).build().workerReusable
+    }
 }
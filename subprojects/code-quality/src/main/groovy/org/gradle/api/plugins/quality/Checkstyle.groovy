@@ -20,8 +20,10 @@ import groovy.transform.TypeCheckingMode
 import org.gradle.api.GradleException
 import org.gradle.api.Incubating
 import org.gradle.api.file.FileCollection
+import org.gradle.api.file.FileTreeElement
 import org.gradle.api.internal.project.IsolatedAntBuilder
 import org.gradle.api.plugins.quality.internal.CheckstyleReportsImpl
+import org.gradle.api.plugins.quality.internal.checkstyle.CheckstyleResultCache
 import org.gradle.api.reporting.Reporting
 import org.gradle.api.resources.TextResource
 import org.gradle.api.tasks.Input
@@ -34,11 +36,16 @@ import org.gradle.api.tasks.TaskAction
 import org.gradle.api.tasks.VerificationTask
 import org.gradle.internal.logging.ConsoleRenderer
 import org.gradle.internal.reflect.Instantiator
+import org.gradle.util.GFileUtils
 
 import javax.inject.Inject
 
 /**
  * Runs Checkstyle against some source files.
+ *
+ * <p>The results of each source file are kept between runs. Only the source files whose content changed since they were last analyzed are analyzed again,
+ * unless the configuration, the files next to it or named by its properties, or the class paths changed. Configurations with checks that look at
+ * several files, such as JavadocPackage and Translation, always analyze all source files.</p>
  */
 @CompileStatic
 class Checkstyle extends SourceTask implements VerificationTask, Reporting<CheckstyleReports> {
@@ -140,34 +147,61 @@ class Checkstyle extends SourceTask implements VerificationTask, Reporting<Check
     @Input
     boolean showViolations = true
 
+    /**
+     * Whether or not the results of unchanged source files are reused from the previous run. Results are only reused when all modules of the
+     * configuration are known to check one file at a time. Defaults to {@code true}.
+     */
+    @Internal
+    @Incubating
+    boolean cacheResults = true
+
     @CompileStatic(TypeCheckingMode.SKIP)
     @TaskAction
     public void run() {
-        def propertyName = "org.gradle.checkstyle.violations"
-        antBuilder.withClasspath(getCheckstyleClasspath()).execute {
-            try {
-                ant.taskdef(name: 'checkstyle', classname: 'com.puppycrawl.tools.checkstyle.CheckStyleTask')
-            } catch (RuntimeException ignore) {
-                ant.taskdef(name: 'checkstyle', classname: 'com.puppycrawl.tools.checkstyle.ant.CheckstyleAntTask')
-            }
-
-            ant.checkstyle(config: getConfig().asFile(), failOnViolation: false, failureProperty: propertyName) {
-                getSource().addToAntBuilder(ant, 'fileset', FileCollection.AntType.FileSet)
-                getClasspath().addToAntBuilder(ant, 'classpath')
+        def configuration = getConfig().asString()
+        def configFiles = getConfig().inputFiles ?: []
+        def configurationHash = CheckstyleResultCache.hashConfiguration(configuration, configFiles, getConfigProperties(), getCheckstyleClasspath() + getClasspath())
+        def cache = new CheckstyleResultCache(new File(getTemporaryDir(), "cache"), configurationHash, getCacheResults() && CheckstyleResultCache.hasOnlyPerFileChecks(configuration))
+        def outOfDateFiles = cache.getOutOfDateFiles(getSource())
+        def analysisReport = new File(getTemporaryDir(), "analysis.xml")
+        analysisReport.delete()
 
-                if (showViolations) {
-                    formatter(type: 'plain', useFile: false)
+        antBuilder.withClasspath(getCheckstyleClasspath()).execute {
+            if (!outOfDateFiles.empty) {
+                try {
+                    ant.taskdef(name: 'checkstyle', classname: 'com.puppycrawl.tools.checkstyle.CheckStyleTask')
+                } catch (RuntimeException ignore) {
+                    ant.taskdef(name: 'checkstyle', classname: 'com.puppycrawl.tools.checkstyle.ant.CheckstyleAntTask')
                 }
 
-                if (reports.xml.enabled || reports.html.enabled) {
-                    formatter(type: 'xml', toFile: reports.xml.destination)
+                def outOfDateSource = getSource().matching {
+                    include { FileTreeElement element -> element.directory || outOfDateFiles.contains(element.file) }
                 }
+                ant.checkstyle(config: getConfig().asFile(), failOnViolation: false) {
+                    outOfDateSource.addToAntBuilder(ant, 'fileset', FileCollection.AntType.FileSet)
+                    getClasspath().addToAntBuilder(ant, 'classpath')
+
+                    if (showViolations) {
+                        formatter(type: 'plain', useFile: false)
+                    }
 
-                getConfigProperties().each { key, value ->
-                    property(key: key, value: value.toString())
+                    formatter(type: 'xml', toFile: analysisReport)
+
+                    getConfigProperties().each { key, value ->
+                        property(key: key, value: value.toString())
+                    }
                 }
             }
 
+            def result = cache.update(outOfDateFiles, outOfDateFiles.empty ? null : analysisReport)
+            if (showViolations) {
+                result.cachedViolations.each { logger.error(it) }
+            }
+
+            if (reports.xml.enabled || reports.html.enabled) {
+                GFileUtils.copyFile(result.report, reports.xml.destination)
+            }
+
             if (reports.html.enabled) {
                 def stylesheet = reports.html.stylesheet ? reports.html.stylesheet.asString() :
                     Checkstyle.getClassLoader().getResourceAsStream('checkstyle-noframes-sorted.xsl').text
@@ -178,7 +212,7 @@ class Checkstyle extends SourceTask implements VerificationTask, Reporting<Check
                 }
             }
 
-            if (ant.project.properties[propertyName]) {
+            if (result.errorCount > 0) {
                 def message = "Checkstyle rule violations were found."
                 def report = reports.html.enabled ? reports.html : reports.xml.enabled ? reports.xml : null
                 if (report) {
@@ -186,6 +186,11 @@ class FindBugs extends SourceTask implements VerificationTask, Reporting<FindBug
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    FindBugsWorkerManager getWorkerManager() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * The reports to be generated by this task.
      *
@@ -267,12 +272,11 @@ class FindBugs extends SourceTask implements VerificationTask, Reporting<FindBug
         new FindBugsClasspathValidator(JavaVersion.current()).validateClasspath(getFindbugsClasspath().files*.name)
 
         FindBugsSpec spec = generateSpec()
-        FindBugsWorkerManager manager = new FindBugsWorkerManager()
 
         logging.captureStandardOutput(LogLevel.DEBUG)
         logging.captureStandardError(LogLevel.DEBUG)
 
-        FindBugsResult result = manager.runWorker(getProject().getProjectDir(), workerProcessBuilderFactory, getFindbugsClasspath(), spec)
+        FindBugsResult result = workerManager.runWorker(getProject().getProjectDir(), getFindbugsClasspath(), spec)
         evaluateResult(result);
     }
 
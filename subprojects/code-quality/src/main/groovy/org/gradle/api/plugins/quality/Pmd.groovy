@@ -27,6 +27,7 @@ import org.gradle.api.reporting.Reporting
 import org.gradle.api.resources.TextResource
 import org.gradle.api.tasks.Input
 import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.Nested
 import org.gradle.api.tasks.Optional
 import org.gradle.api.tasks.SourceTask
@@ -146,6 +147,15 @@ class Pmd extends SourceTask implements VerificationTask, Reporting<PmdReports>
     @Incubating
     FileCollection classpath
 
+    /**
+     * The number of threads PMD uses to analyze the source files. Only supported for PMD 5 or better.
+     *
+     * Defaults to 1, as several PMD tasks may already run in parallel.
+     */
+    @Internal
+    @Incubating
+    int threads = 1
+
     Pmd() {
         reports = instantiator.newInstance(PmdReportsImpl, this)
     }
@@ -177,6 +187,9 @@ class Pmd extends SourceTask implements VerificationTask, Reporting<PmdReports>
             if (getRuleSets() == ["java-basic"]) {
                 setRuleSets(["basic"])
             }
+        } else {
+            // Rule instances are created per thread, so files can be analyzed concurrently
+            antPmdArgs["threads"] = getThreads()
         }
 
         antPmdArgs["minimumPriority"] = getRulePriority()
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import java.io.File;
+import java.util.List;
+
+public class CheckstyleResult {
+
+    private final File report;
+    private final int errorCount;
+    private final List<String> cachedViolations;
+
+    public CheckstyleResult(File report, int errorCount, List<String> cachedViolations) {
+        this.report = report;
+        this.errorCount = errorCount;
+        this.cachedViolations = cachedViolations;
+    }
+
+    /**
+     * The merged XML report, covering every source file.
+     */
+    public File getReport() {
+        return report;
+    }
+
+    /**
+     * The number of violations with severity {@code error}, which fail the build.
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * The violations of the source files that were not analyzed again, formatted for the console.
+     */
+    public List<String> getCachedViolations() {
+        return cachedViolations;
+    }
+}
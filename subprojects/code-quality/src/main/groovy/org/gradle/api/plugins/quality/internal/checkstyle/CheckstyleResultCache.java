@@ -0,0 +1,414 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.internal.UncheckedException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nullable;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the Checkstyle results of each source file between runs, so that only source files whose content changed have to be analyzed again.
+ *
+ * <p>The cached results are discarded as a whole when the hash of the Checkstyle configuration changes. The results of the analyzed files are
+ * merged with the cached results of the other source files into a single report in the Checkstyle XML format. Only configurations whose modules
+ * are all known to look at a single file at a time are cached, see {@link #hasOnlyPerFileChecks(String)}.</p>
+ */
+public class CheckstyleResultCache {
+    private static final String CONFIGURATION_KEY = "#configuration";
+    private static final String REPORT_FILE_NAME = "checkstyle-results.xml";
+    private static final String HASHES_FILE_NAME = "file-hashes.properties";
+    private static final Pattern PROPERTY_VALUE = Pattern.compile("value\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]*)}");
+    private static final String CHECKSTYLE_PACKAGE = "com.puppycrawl.tools.checkstyle.";
+    private static final Set<String> PER_FILE_CHECKER_MODULES = ImmutableSet.of(
+        "TreeWalker", "FileLength", "FileTabCharacter", "LineLength", "NewlineAtEndOfFile", "Header", "RegexpHeader", "RegexpSingleline",
+        "RegexpMultiline", "RegexpOnFilename", "OrderedProperties", "UniqueProperties", "SeverityMatchFilter", "SuppressionFilter",
+        "SuppressionSingleFilter", "SuppressWarningsFilter", "SuppressWithPlainTextCommentFilter", "BeforeExecutionExclusionFileFilter");
+
+    private final File report;
+    private final File hashesFile;
+    private final String configurationHash;
+    private final boolean reuseResults;
+    private final Map<String, String> cachedHashes = Maps.newHashMap();
+    private final Map<String, String> currentHashes = Maps.newLinkedHashMap();
+
+    public CheckstyleResultCache(File cacheDir, String configurationHash) {
+        this(cacheDir, configurationHash, true);
+    }
+
+    /**
+     * @param reuseResults whether the cached results of unchanged files may be reused. When false, all source files are analyzed.
+     */
+    public CheckstyleResultCache(File cacheDir, String configurationHash, boolean reuseResults) {
+        this.report = new File(cacheDir, REPORT_FILE_NAME);
+        this.hashesFile = new File(cacheDir, HASHES_FILE_NAME);
+        this.configurationHash = configurationHash;
+        this.reuseResults = reuseResults;
+        loadHashes();
+    }
+
+    /**
+     * Calculates the hash of everything other than the source files that affects the results: the configuration, its properties, the files that
+     * the configuration may read and the class paths.
+     *
+     * <p>The files that the configuration may read, such as suppressions and headers, are the files in the directory of the configuration file,
+     * and the files and directories named by absolute paths in the configuration properties or in the property values of the configuration.
+     * Only the files directly in a directory are included, as the configuration may be in a directory with a large tree below it.</p>
+     */
+    public static String hashConfiguration(String configuration, Iterable<File> configFiles, Map<String, ?> configProperties, Iterable<File> classpath) {
+        Hasher hasher = Hashing.md5().newHasher();
+        hasher.putString(configuration, Charsets.UTF_8);
+        Map<String, Object> sortedProperties = new TreeMap<String, Object>(configProperties);
+        for (Map.Entry<String, ?> entry : sortedProperties.entrySet()) {
+            hasher.putString(entry.getKey(), Charsets.UTF_8).putString(String.valueOf(entry.getValue()), Charsets.UTF_8);
+        }
+        for (File file : referencedFiles(configuration, configFiles, sortedProperties)) {
+            hasher.putString(file.getAbsolutePath(), Charsets.UTF_8).putString(hash(file), Charsets.UTF_8);
+        }
+        for (File file : classpath) {
+            hasher.putString(file.getAbsolutePath(), Charsets.UTF_8).putLong(file.length()).putLong(file.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns whether all modules of the configuration are known to look at a single file at a time, so that the cached results of unchanged
+     * files can be reused.
+     *
+     * <p>These are the Checkstyle modules below {@code TreeWalker}, which only ever see the syntax tree of one file, and a fixed set of Checkstyle
+     * file set checks and filters, such as {@code FileLength} and {@code SuppressionFilter}. Any other module, such as {@code JavadocPackage}, {@code Translation} or a
+     * custom check, may report on a file depending on the content of other files.</p>
+     */
+    public static boolean hasOnlyPerFileChecks(String configuration) {
+        Element checker;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            builder.setErrorHandler(new DefaultHandler());
+            checker = builder.parse(new InputSource(new StringReader(configuration))).getDocumentElement();
+        } catch (Exception e) {
+            return false;
+        }
+        if (!"Checker".equals(moduleName(checker))) {
+            return false;
+        }
+        for (Element module : childModules(checker)) {
+            String name = moduleName(module);
+            if (name == null || !PER_FILE_CHECKER_MODULES.contains(name)) {
+                return false;
+            }
+            if (name.equals("TreeWalker") && !hasOnlyCheckstyleModules(module)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasOnlyCheckstyleModules(Element parent) {
+        for (Element module : childModules(parent)) {
+            if (moduleName(module) == null || !hasOnlyCheckstyleModules(module)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Element> childModules(Element parent) {
+        List<Element> modules = Lists.newArrayList();
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element && "module".equals(child.getNodeName())) {
+                modules.add((Element) child);
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * Returns the short name of a Checkstyle module, without the package and the {@code Check} suffix, or null if it is not a module of Checkstyle.
+     */
+    @Nullable
+    private static String moduleName(Element module) {
+        String name = module.getAttribute("name");
+        if (name.startsWith(CHECKSTYLE_PACKAGE)) {
+            name = name.substring(name.lastIndexOf('.') + 1);
+        } else if (name.indexOf('.') >= 0 || name.indexOf('$') >= 0 || name.length() == 0) {
+            return null;
+        }
+        return name.endsWith("Check") ? name.substring(0, name.length() - "Check".length()) : name;
+    }
+
+    private static Set<File> referencedFiles(String configuration, Iterable<File> configFiles, Map<String, Object> configProperties) {
+        Set<File> files = Sets.newTreeSet();
+        for (File configFile : configFiles) {
+            addFiles(configFile.getAbsoluteFile().getParentFile(), files);
+        }
+        for (Object value : configProperties.values()) {
+            addFiles(toAbsoluteFile(value), files);
+        }
+        Matcher matcher = PROPERTY_VALUE.matcher(configuration);
+        while (matcher.find()) {
+            String value = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            addFiles(toAbsoluteFile(expandProperties(value, configProperties)), files);
+        }
+        return files;
+    }
+
+    private static String expandProperties(String value, Map<String, Object> configProperties) {
+        Matcher matcher = PROPERTY_REFERENCE.matcher(value);
+        StringBuffer expanded = new StringBuffer();
+        while (matcher.find()) {
+            Object property = configProperties.get(matcher.group(1));
+            matcher.appendReplacement(expanded, Matcher.quoteReplacement(property == null ? matcher.group() : String.valueOf(property)));
+        }
+        matcher.appendTail(expanded);
+        return expanded.toString();
+    }
+
+    @Nullable
+    private static File toAbsoluteFile(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        File file = value instanceof File ? (File) value : new File(value.toString());
+        return file.isAbsolute() ? file : null;
+    }
+
+    private static void addFiles(@Nullable File file, Set<File> files) {
+        if (file == null) {
+            return;
+        }
+        if (file.isFile()) {
+            files.add(file);
+        } else if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    if (child.isFile()) {
+                        files.add(child);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the source files that have to be analyzed, which are those that have no cached result for their current content.
+     */
+    public Set<File> getOutOfDateFiles(Iterable<File> sourceFiles) {
+        boolean reportAvailable = report.isFile();
+        Set<File> outOfDate = Sets.newLinkedHashSet();
+        currentHashes.clear();
+        for (File sourceFile : sourceFiles) {
+            String path = sourceFile.getAbsolutePath();
+            String hash = hash(sourceFile);
+            currentHashes.put(path, hash);
+            if (!reuseResults || !reportAvailable || !hash.equals(cachedHashes.get(path))) {
+                outOfDate.add(sourceFile);
+            }
+        }
+        return outOfDate;
+    }
+
+    /**
+     * Merges the results of the analyzed files with the cached results of the other source files, and caches the merged results.
+     *
+     * @param analysisReport the XML report of the analyzed files, or null if no file was analyzed.
+     */
+    public CheckstyleResult update(Set<File> analyzedFiles, @Nullable File analysisReport) {
+        try {
+            Map<String, Element> analyzed = analysisReport == null ? Collections.<String, Element>emptyMap() : readFileElements(analysisReport);
+            Map<String, Element> cached = report.isFile() ? readFileElements(report) : Collections.<String, Element>emptyMap();
+            Set<String> analyzedPaths = Sets.newHashSet();
+            for (File analyzedFile : analyzedFiles) {
+                analyzedPaths.add(analyzedFile.getAbsolutePath());
+            }
+
+            Document merged = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            Element root = merged.createElement("checkstyle");
+            String version = version(Iterables.concat(analyzed.values(), cached.values()));
+            if (version != null) {
+                root.setAttribute("version", version);
+            }
+            merged.appendChild(root);
+
+            List<String> cachedViolations = Lists.newArrayList();
+            for (String path : currentHashes.keySet()) {
+                Element file = analyzedPaths.contains(path) ? analyzed.get(path) : cached.get(path);
+                if (file == null) {
+                    continue;
+                }
+                root.appendChild(merged.importNode(file, true));
+                if (!analyzedPaths.contains(path)) {
+                    addViolations(path, file, cachedViolations);
+                }
+            }
+
+            Files.createParentDirs(report);
+            write(merged, report);
+            storeHashes();
+            return new CheckstyleResult(report, countErrors(root), cachedViolations);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private static Map<String, Element> readFileElements(File xmlReport) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xmlReport);
+        Map<String, Element> files = Maps.newHashMap();
+        NodeList nodes = document.getDocumentElement().getElementsByTagName("file");
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Element file = (Element) nodes.item(i);
+            files.put(new File(file.getAttribute("name")).getAbsolutePath(), file);
+        }
+        return files;
+    }
+
+    @Nullable
+    private static String version(Iterable<Element> files) {
+        for (Element file : files) {
+            String version = file.getOwnerDocument().getDocumentElement().getAttribute("version");
+            if (version.length() > 0) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    private static void addViolations(String path, Element file, List<String> violations) {
+        NodeList errors = file.getElementsByTagName("error");
+        for (int i = 0; i < errors.getLength(); i++) {
+            Element error = (Element) errors.item(i);
+            StringBuilder violation = new StringBuilder(path).append(':').append(error.getAttribute("line"));
+            if (error.hasAttribute("column")) {
+                violation.append(':').append(error.getAttribute("column"));
+            }
+            violation.append(": ").append(error.getAttribute("message"));
+            violations.add(violation.toString());
+        }
+    }
+
+    private static int countErrors(Element root) {
+        int count = 0;
+        NodeList errors = root.getElementsByTagName("error");
+        for (int i = 0; i < errors.getLength(); i++) {
+            if ("error".equals(((Element) errors.item(i)).getAttribute("severity"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void write(Node document, File destination) throws Exception {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        OutputStream outputStream = new FileOutputStream(destination);
+        try {
+            transformer.transform(new DOMSource(document), new StreamResult(outputStream));
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static String hash(File file) {
+        try {
+            return Files.hash(file, Hashing.md5()).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void loadHashes() {
+        if (!hashesFile.isFile()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try {
+            InputStream inputStream = new FileInputStream(hashesFile);
+            try {
+                properties.load(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!configurationHash.equals(properties.getProperty(CONFIGURATION_KEY))) {
+            return;
+        }
+        for (String path : properties.stringPropertyNames()) {
+            if (!path.equals(CONFIGURATION_KEY)) {
+                cachedHashes.put(path, properties.getProperty(path));
+            }
+        }
+    }
+
+    private void storeHashes() throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(currentHashes);
+        properties.setProperty(CONFIGURATION_KEY, configurationHash);
+        OutputStream outputStream = new FileOutputStream(hashesFile);
+        try {
+            properties.store(outputStream, null);
+        } finally {
+            outputStream.close();
+        }
+    }
+}
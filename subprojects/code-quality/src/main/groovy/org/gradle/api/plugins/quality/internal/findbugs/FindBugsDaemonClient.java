@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.findbugs;
+
+import org.gradle.internal.concurrent.Stoppable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+class FindBugsDaemonClient implements FindBugsWorker, Stoppable {
+    private final List<File> findBugsClasspath;
+    private final String maxHeapSize;
+    private final FindBugsDaemonWorker workerProcess;
+
+    FindBugsDaemonClient(List<File> findBugsClasspath, String maxHeapSize, FindBugsDaemonWorker workerProcess) {
+        this.findBugsClasspath = findBugsClasspath;
+        this.maxHeapSize = maxHeapSize;
+        this.workerProcess = workerProcess;
+    }
+
+    @Override
+    public FindBugsResult runFindbugs(FindBugsSpec spec) throws IOException, InterruptedException {
+        return workerProcess.runFindbugs(spec);
+    }
+
+    public boolean isCompatibleWith(List<File> findBugsClasspath, String maxHeapSize) {
+        return this.findBugsClasspath.equals(findBugsClasspath) && (this.maxHeapSize == null ? maxHeapSize == null : this.maxHeapSize.equals(maxHeapSize));
+    }
+
+    @Override
+    public void stop() {
+        workerProcess.stop();
+    }
+}
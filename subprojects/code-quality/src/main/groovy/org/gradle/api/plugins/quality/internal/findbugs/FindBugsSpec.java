@@ -25,9 +25,11 @@ public class FindBugsSpec implements Serializable {
     private List<String> arguments;
     private String maxHeapSize;
     private boolean debugEnabled;
+    private boolean workerReusable;
 
-    public FindBugsSpec(List<String> arguments, String maxHeapSize, boolean debugEnabled) {
+    public FindBugsSpec(List<String> arguments, String maxHeapSize, boolean debugEnabled, boolean workerReusable) {
         this.debugEnabled = debugEnabled;
+        this.workerReusable = workerReusable;
         this.maxHeapSize = maxHeapSize;
         this.arguments = arguments;
     }
@@ -43,8 +45,16 @@ public class FindBugsSpec implements Serializable {
     public boolean isDebugEnabled() {
         return debugEnabled;
     }
+
+    /**
+     * Whether the analysis can run in a worker process that is shared with other analyses. FindBugs plugins are registered globally in the
+     * process and can't be loaded twice, and extra arguments may contain paths relative to the working directory of the process.
+     */
+    public boolean isWorkerReusable() {
+        return workerReusable;
+    }
     
     public String toString() {
-        return Objects.toStringHelper(this).add("arguments", arguments).add("debugEnabled", debugEnabled).toString();
+        return Objects.toStringHelper(this).add("arguments", arguments).add("debugEnabled", debugEnabled).add("workerReusable", workerReusable).toString();
     }
 }
@@ -239,7 +239,7 @@ public class FindBugsSpecBuilder {
             args.add(classFile.getAbsolutePath());
         }
 
-        return new FindBugsSpec(args, maxHeapSize, debugEnabled);
+        return new FindBugsSpec(args, maxHeapSize, debugEnabled, !has(pluginsList) && !has(extraArgs));
     }
 
     private boolean has(String str) {
@@ -16,29 +16,128 @@
 
 package org.gradle.api.plugins.quality.internal.findbugs;
 
+import net.jcip.annotations.ThreadSafe;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.process.internal.JavaExecHandleBuilder;
+import org.gradle.process.internal.worker.MultiRequestWorkerProcessBuilder;
 import org.gradle.process.internal.worker.SingleRequestWorkerProcessBuilder;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
+import org.gradle.process.internal.worker.WorkerProcessSettings;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
-public class FindBugsWorkerManager {
-    public FindBugsResult runWorker(File workingDir, WorkerProcessFactory workerFactory, FileCollection findBugsClasspath, FindBugsSpec spec) throws IOException, InterruptedException {
-        FindBugsWorker worker = createWorkerProcess(workingDir, workerFactory, findBugsClasspath, spec);
-        return worker.runFindbugs(spec);
+/**
+ * Runs FindBugs in worker processes.
+ *
+ * <p>Worker processes for analyses that can share a process are kept until the end of the build session, and are reused by later analyses with the same
+ * FindBugs class path and maximum heap size. This saves starting a JVM and loading the FindBugs detectors for each task.</p>
+ */
+@ThreadSafe
+public class FindBugsWorkerManager implements Stoppable {
+    private static final Logger LOGGER = Logging.getLogger(FindBugsWorkerManager.class);
+
+    private final WorkerProcessFactory workerFactory;
+    private final Object lock = new Object();
+    private final List<FindBugsDaemonClient> allClients = new ArrayList<FindBugsDaemonClient>();
+    private final List<FindBugsDaemonClient> idleClients = new ArrayList<FindBugsDaemonClient>();
+
+    public FindBugsWorkerManager(WorkerProcessFactory workerFactory) {
+        this.workerFactory = workerFactory;
+    }
+
+    public FindBugsResult runWorker(File workingDir, FileCollection findBugsClasspath, FindBugsSpec spec) throws IOException, InterruptedException {
+        if (!spec.isWorkerReusable()) {
+            return createWorkerProcess(workingDir, findBugsClasspath, spec).runFindbugs(spec);
+        }
+
+        List<File> classpath = new ArrayList<File>(findBugsClasspath.getFiles());
+        FindBugsDaemonClient client = reserveIdleClient(classpath, spec.getMaxHeapSize());
+        if (client == null) {
+            client = reserveNewClient(workingDir, classpath, spec);
+        }
+        boolean succeeded = false;
+        try {
+            FindBugsResult result = client.runFindbugs(spec);
+            succeeded = true;
+            return result;
+        } finally {
+            release(client, succeeded);
+        }
+    }
+
+    private FindBugsDaemonClient reserveIdleClient(List<File> findBugsClasspath, String maxHeapSize) {
+        synchronized (lock) {
+            Iterator<FindBugsDaemonClient> it = idleClients.iterator();
+            while (it.hasNext()) {
+                FindBugsDaemonClient candidate = it.next();
+                if (candidate.isCompatibleWith(findBugsClasspath, maxHeapSize)) {
+                    it.remove();
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    private FindBugsDaemonClient reserveNewClient(File workingDir, List<File> findBugsClasspath, FindBugsSpec spec) {
+        MultiRequestWorkerProcessBuilder<FindBugsDaemonWorker> builder = workerFactory.multiRequestWorker(FindBugsDaemonWorker.class, FindBugsWorker.class, FindBugsExecuter.class);
+        builder.setBaseName("Gradle FindBugs Daemon");
+        configure(builder, workingDir, findBugsClasspath, spec);
+        FindBugsDaemonWorker worker = builder.build();
+        worker.start();
+
+        FindBugsDaemonClient client = new FindBugsDaemonClient(findBugsClasspath, spec.getMaxHeapSize(), worker);
+        synchronized (lock) {
+            allClients.add(client);
+        }
+        return client;
     }
 
-    private FindBugsWorker createWorkerProcess(File workingDir, WorkerProcessFactory workerFactory, FileCollection findBugsClasspath, FindBugsSpec spec) {
+    private void release(FindBugsDaemonClient client, boolean reusable) {
+        if (!reusable) {
+            // The state of FindBugs is unknown after a failed analysis, so do not run another analysis in the same process
+            synchronized (lock) {
+                allClients.remove(client);
+            }
+            client.stop();
+            return;
+        }
+        synchronized (lock) {
+            idleClients.add(client);
+        }
+    }
+
+    private FindBugsWorker createWorkerProcess(File workingDir, FileCollection findBugsClasspath, FindBugsSpec spec) {
         SingleRequestWorkerProcessBuilder<FindBugsWorker> builder = workerFactory.singleRequestWorker(FindBugsWorker.class, FindBugsExecuter.class);
         builder.setBaseName("Gradle FindBugs Worker");
+        configure(builder, workingDir, findBugsClasspath, spec);
+        return builder.build();
+    }
+
+    private static void configure(WorkerProcessSettings builder, File workingDir, Iterable<File> findBugsClasspath, FindBugsSpec spec) {
         builder.applicationClasspath(findBugsClasspath);
         builder.sharedPackages(Arrays.asList("edu.umd.cs.findbugs"));
         JavaExecHandleBuilder javaCommand = builder.getJavaCommand();
         javaCommand.setWorkingDir(workingDir);
         javaCommand.setMaxHeapSize(spec.getMaxHeapSize());
-        return builder.build();
+    }
+
+    @Override
+    public void stop() {
+        synchronized (lock) {
+            LOGGER.debug("Stopping {} FindBugs daemon(s).", allClients.size());
+            CompositeStoppable.stoppable(allClients).stop();
+            allClients.clear();
+            idleClients.clear();
+        }
     }
 }
@@ -116,6 +116,7 @@ class PmdPluginTest extends Specification {
             assert reports.html.destination == project.file("build/reports/pmd/${sourceSet.name}.html")
             assert ignoreFailures == false
             assert rulePriority == 5
+            assert threads == 1
         }
     }
 
@@ -133,6 +134,7 @@ class PmdPluginTest extends Specification {
         task.reports.html.destination == project.file("build/reports/pmd/custom.html")
         task.ignoreFailures == false
         task.rulePriority == 5
+        task.threads == 1
     }
 
     def "adds pmd tasks to check lifecycle task"() {
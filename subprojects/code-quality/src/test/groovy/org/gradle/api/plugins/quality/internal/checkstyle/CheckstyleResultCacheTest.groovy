@@ -0,0 +1,228 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.checkstyle
+
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CheckstyleResultCacheTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    TestFile cacheDir
+    TestFile source1
+    TestFile source2
+
+    def setup() {
+        cacheDir = tmpDir.file("cache")
+        source1 = tmpDir.file("src/Class1.java") << "class Class1 {}"
+        source2 = tmpDir.file("src/Class2.java") << "class Class2 {}"
+    }
+
+    def "all files are out of date when nothing is cached"() {
+        def cache = new CheckstyleResultCache(cacheDir, "config")
+
+        expect:
+        cache.getOutOfDateFiles([source1, source2]) == [source1, source2] as Set
+    }
+
+    def "merges analysis results with cached results of unchanged files"() {
+        given:
+        analyze("config", [source1, source2], [(source1): "error", (source2): "warning"])
+
+        when:
+        source1.text = "class Class1 { }"
+        def cache = new CheckstyleResultCache(cacheDir, "config")
+        def outOfDate = cache.getOutOfDateFiles([source1, source2])
+
+        then:
+        outOfDate == [source1] as Set
+
+        when:
+        def result = cache.update(outOfDate, report([(source1): null]))
+
+        then:
+        result.errorCount == 0
+        result.cachedViolations == [source2.absolutePath + ":1:2: warning message"]
+        def files = new XmlSlurper().parse(result.report).file
+        files*.@name*.text() == [source1.absolutePath, source2.absolutePath]
+        files[1].error.@severity.text() == "warning"
+    }
+
+    def "counts errors of cached files"() {
+        given:
+        analyze("config", [source1, source2], [(source1): "error", (source2): "error"])
+
+        when:
+        def cache = new CheckstyleResultCache(cacheDir, "config")
+        def outOfDate = cache.getOutOfDateFiles([source1, source2])
+        def result = cache.update(outOfDate, null)
+
+        then:
+        outOfDate.empty
+        result.errorCount == 2
+        result.cachedViolations.size() == 2
+    }
+
+    def "removed files are dropped from the results"() {
+        given:
+        analyze("config", [source1, source2], [(source1): "error", (source2): "error"])
+
+        when:
+        def cache = new CheckstyleResultCache(cacheDir, "config")
+        def outOfDate = cache.getOutOfDateFiles([source2])
+        def result = cache.update(outOfDate, null)
+
+        then:
+        result.errorCount == 1
+        new XmlSlurper().parse(result.report).file*.@name*.text() == [source2.absolutePath]
+    }
+
+    def "all files are out of date when the configuration changes"() {
+        given:
+        analyze("config", [source1, source2], [:])
+
+        when:
+        def cache = new CheckstyleResultCache(cacheDir, "other config")
+
+        then:
+        cache.getOutOfDateFiles([source1, source2]) == [source1, source2] as Set
+    }
+
+    def "all files are out of date when results must not be reused"() {
+        given:
+        analyze("config", [source1, source2], [:])
+
+        when:
+        def cache = new CheckstyleResultCache(cacheDir, "config", false)
+
+        then:
+        cache.getOutOfDateFiles([source1, source2]) == [source1, source2] as Set
+    }
+
+    def "configuration hash covers configuration, properties and class path"() {
+        def jar = tmpDir.file("lib.jar") << "content"
+        def hash = CheckstyleResultCache.hashConfiguration("<module/>", [], [a: "1"], [jar])
+
+        expect:
+        CheckstyleResultCache.hashConfiguration("<module/>", [], [a: "1"], [jar]) == hash
+        CheckstyleResultCache.hashConfiguration("<module></module>", [], [a: "1"], [jar]) != hash
+        CheckstyleResultCache.hashConfiguration("<module/>", [], [a: "2"], [jar]) != hash
+        CheckstyleResultCache.hashConfiguration("<module/>", [], [a: "1"], []) != hash
+    }
+
+    def "configuration hash covers files in the directory of the configuration file"() {
+        def configFile = tmpDir.file("config/checkstyle.xml") << "<module/>"
+        def suppressions = tmpDir.file("config/suppressions.xml") << "<suppressions/>"
+        def hash = CheckstyleResultCache.hashConfiguration(configFile.text, [configFile], [:], [])
+
+        when:
+        tmpDir.file("config/nested/other.xml") << "<other/>"
+
+        then:
+        CheckstyleResultCache.hashConfiguration(configFile.text, [configFile], [:], []) == hash
+
+        when:
+        suppressions.text = "<suppressions></suppressions>"
+
+        then:
+        CheckstyleResultCache.hashConfiguration(configFile.text, [configFile], [:], []) != hash
+    }
+
+    def "configuration hash covers files and directories named by properties"() {
+        def configDir = tmpDir.createDir("config")
+        def header = tmpDir.file("config/header.txt") << "header"
+        def suppressions = tmpDir.file("other/suppressions.xml") << "<suppressions/>"
+        def properties = [config_loc: configDir, suppressionFile: suppressions.absolutePath, relative: "suppressions.xml"]
+        def hash = CheckstyleResultCache.hashConfiguration("<module/>", [], properties, [])
+
+        when:
+        header.text = "other header"
+        def headerChanged = CheckstyleResultCache.hashConfiguration("<module/>", [], properties, [])
+        suppressions.text = "<suppressions></suppressions>"
+        def suppressionsChanged = CheckstyleResultCache.hashConfiguration("<module/>", [], properties, [])
+
+        then:
+        headerChanged != hash
+        suppressionsChanged != headerChanged
+    }
+
+    def "configuration hash covers files named by property values in the configuration"() {
+        def header = tmpDir.file("config/header.txt") << "header"
+        def configuration = """<module name="Checker"><module name="Header"><property name="headerFile" value="\${baseDir}/config/header.txt"/></module></module>"""
+        def properties = [baseDir: tmpDir.testDirectory.absolutePath]
+        def hash = CheckstyleResultCache.hashConfiguration(configuration, [], properties, [])
+
+        when:
+        header.text = "other header"
+
+        then:
+        CheckstyleResultCache.hashConfiguration(configuration, [], properties, []) != hash
+    }
+
+    def "only caches configurations whose modules are known to check one file at a time"() {
+        expect:
+        CheckstyleResultCache.hasOnlyPerFileChecks(configuration) == perFile
+
+        where:
+        configuration                                                                                                 | perFile
+        '<module name="Checker"><module name="TreeWalker"/></module>'                                                 | true
+        '<module name="Checker"><module name="TreeWalker"><module name="JavadocMethod"/></module></module>'           | true
+        "<module name='Checker'><module name='FileTabCharacter'/><module name='SuppressionFilter'/></module>"         | true
+        '<module name="Checker"><module name="TreeWalker"><module name="FinalLocalVariableCheck"/></module></module>' | true
+        '<module name="com.puppycrawl.tools.checkstyle.Checker"><module name="NewlineAtEndOfFileCheck"/></module>'    | true
+        '<module name="Checker"><module name="JavadocPackage"/></module>'                                             | false
+        "<module name='Checker'><module name='Translation'/></module>"                                                | false
+        '<module name="Checker"><module name="UnknownFileSetCheck"/></module>'                                        | false
+        '<module name="Checker"><module name="TreeWalker"><module name="org.acme.CustomCheck"/></module></module>'    | false
+        '<module name="Checker"><module name="TreeWalker"><module name="${check}"/></module></module>'                | false
+        '<module name="TreeWalker"/>'                                                                                 | false
+        'not a configuration'                                                                                         | false
+    }
+
+    def "parses configurations that declare the Checkstyle document type"() {
+        def configuration = """<?xml version="1.0"?>
+<!DOCTYPE module PUBLIC "-//Puppy Crawl//DTD Check Configuration 1.3//EN" "http://unresolvable.invalid/configuration_1_3.dtd">
+<module name="Checker">
+    <property name="charset" value="UTF-8"/>
+    <module name="TreeWalker">
+        <module name="UnusedImports"/>
+    </module>
+</module>"""
+
+        expect:
+        CheckstyleResultCache.hasOnlyPerFileChecks(configuration)
+    }
+
+    private void analyze(String configurationHash, List<File> sources, Map<File, String> severities) {
+        def cache = new CheckstyleResultCache(cacheDir, configurationHash)
+        def outOfDate = cache.getOutOfDateFiles(sources)
+        cache.update(outOfDate, report(severities))
+    }
+
+    private TestFile report(Map<File, String> severities) {
+        def files = severities.collect { file, severity ->
+            def error = severity ? "<error line='1' column='2' severity='$severity' message='$severity message' source='Check'/>" : ""
+            "<file name='${file.absolutePath}'>$error</file>"
+        }
+        def report = tmpDir.file("analysis.xml")
+        report.text = "<?xml version='1.0' encoding='UTF-8'?><checkstyle version='6.19'>${files.join('')}</checkstyle>"
+        return report
+    }
+}
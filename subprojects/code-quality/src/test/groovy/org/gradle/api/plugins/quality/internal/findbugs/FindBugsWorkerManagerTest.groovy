@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.plugins.quality.internal.findbugs
+
+import org.gradle.api.file.FileCollection
+import org.gradle.process.internal.JavaExecHandleBuilder
+import org.gradle.process.internal.worker.MultiRequestWorkerProcessBuilder
+import org.gradle.process.internal.worker.SingleRequestWorkerProcessBuilder
+import org.gradle.process.internal.worker.WorkerProcessFactory
+import spock.lang.Specification
+
+class FindBugsWorkerManagerTest extends Specification {
+    def workerFactory = Mock(WorkerProcessFactory)
+    def manager = new FindBugsWorkerManager(workerFactory)
+    def workingDir = new File("project")
+    def classpath = Stub(FileCollection) {
+        getFiles() >> ([new File("findbugs.jar")] as Set)
+    }
+    def result = new FindBugsResult(0, 0, 0)
+
+    def "reuses worker process for analyses with the same class path and heap size"() {
+        def spec1 = spec("1g")
+        def spec2 = spec("1g")
+        def worker = Mock(FindBugsDaemonWorker)
+
+        when:
+        manager.runWorker(workingDir, classpath, spec1)
+        manager.runWorker(workingDir, classpath, spec2)
+
+        then:
+        1 * workerFactory.multiRequestWorker(FindBugsDaemonWorker, FindBugsWorker, FindBugsExecuter) >> multiRequestBuilder(worker)
+        1 * worker.start()
+        1 * worker.runFindbugs(spec1) >> result
+        1 * worker.runFindbugs(spec2) >> result
+        0 * worker.stop()
+
+        when:
+        manager.stop()
+
+        then:
+        1 * worker.stop()
+    }
+
+    def "starts another worker process for a different heap size"() {
+        def worker1 = Mock(FindBugsDaemonWorker)
+        def worker2 = Mock(FindBugsDaemonWorker)
+
+        when:
+        manager.runWorker(workingDir, classpath, spec("1g"))
+        manager.runWorker(workingDir, classpath, spec("2g"))
+
+        then:
+        2 * workerFactory.multiRequestWorker(FindBugsDaemonWorker, FindBugsWorker, FindBugsExecuter) >>> [multiRequestBuilder(worker1), multiRequestBuilder(worker2)]
+        1 * worker1.runFindbugs(_) >> result
+        1 * worker2.runFindbugs(_) >> result
+    }
+
+    def "stops worker process when analysis fails"() {
+        def worker = Mock(FindBugsDaemonWorker)
+        def failure = new IOException("broken")
+
+        when:
+        manager.runWorker(workingDir, classpath, spec("1g"))
+
+        then:
+        def e = thrown(IOException)
+        e == failure
+        1 * workerFactory.multiRequestWorker(FindBugsDaemonWorker, FindBugsWorker, FindBugsExecuter) >> multiRequestBuilder(worker)
+        1 * worker.runFindbugs(_) >> { throw failure }
+        1 * worker.stop()
+
+        when:
+        manager.stop()
+
+        then:
+        0 * worker.stop()
+    }
+
+    def "uses single request worker process when the worker cannot be reused"() {
+        def spec = new FindBugsSpec(["-pluginList", "plugin.jar"], "1g", false, false)
+        def worker = Mock(FindBugsWorker)
+        def builder = Stub(SingleRequestWorkerProcessBuilder) {
+            getJavaCommand() >> Stub(JavaExecHandleBuilder)
+            build() >> worker
+        }
+
+        when:
+        def actual = manager.runWorker(workingDir, classpath, spec)
+
+        then:
+        actual == result
+        1 * workerFactory.singleRequestWorker(FindBugsWorker, FindBugsExecuter) >> builder
+        1 * worker.runFindbugs(spec) >> result
+        0 * workerFactory.multiRequestWorker(_, _, _)
+    }
+
+    private static FindBugsSpec spec(String maxHeapSize) {
+        new FindBugsSpec(["Foo.class"], maxHeapSize, false, true)
+    }
+
+    private MultiRequestWorkerProcessBuilder multiRequestBuilder(FindBugsDaemonWorker worker) {
+        Stub(MultiRequestWorkerProcessBuilder) {
+            getJavaCommand() >> Stub(JavaExecHandleBuilder)
+            build() >> worker
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.cache;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.util.NumberUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class DefaultMemoryManager implements MemoryManager {
+    private static final Logger LOGGER = Logging.getLogger(DefaultMemoryManager.class);
+    private final List<MemoryHolder> holders = new CopyOnWriteArrayList<MemoryHolder>();
+
+    @Override
+    public void addMemoryHolder(MemoryHolder holder) {
+        holders.add(holder);
+    }
+
+    @Override
+    public void removeMemoryHolder(MemoryHolder holder) {
+        holders.remove(holder);
+    }
+
+    @Override
+    public List<MemoryHolder> getMemoryHolders() {
+        List<MemoryHolder> result = new ArrayList<MemoryHolder>(holders);
+        Collections.sort(result, new Comparator<MemoryHolder>() {
+            @Override
+            public int compare(MemoryHolder o1, MemoryHolder o2) {
+                return compareLongs(o2.getEstimatedRetainedSize(), o1.getEstimatedRetainedSize());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public long releaseMemory(long bytes) {
+        List<MemoryHolder> leastRecentlyUsedFirst = new ArrayList<MemoryHolder>(holders);
+        Collections.sort(leastRecentlyUsedFirst, new Comparator<MemoryHolder>() {
+            @Override
+            public int compare(MemoryHolder o1, MemoryHolder o2) {
+                return compareLongs(o1.getLastUsed(), o2.getLastUsed());
+            }
+        });
+        long released = 0;
+        for (MemoryHolder holder : leastRecentlyUsedFirst) {
+            if (released >= bytes) {
+                break;
+            }
+            if (holder.getEntryCount() == 0) {
+                continue;
+            }
+            long holderReleased = holder.release();
+            LOGGER.info("Released in-memory cache {} (~{}).", holder.getDisplayName(), NumberUtil.formatBytes(holderReleased));
+            released += holderReleased;
+        }
+        return released;
+    }
+
+    private static int compareLongs(long a, long b) {
+        return a < b ? -1 : (a == b ? 0 : 1);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.cache;
+
+/**
+ * An in-memory cache that is retained across builds, and whose memory can be reclaimed when the process is short on heap.
+ */
+public interface MemoryHolder {
+    String getDisplayName();
+
+    /**
+     * Returns the number of entries currently held.
+     */
+    long getEntryCount();
+
+    /**
+     * Returns a rough estimate, in bytes, of the heap retained by this holder.
+     */
+    long getEstimatedRetainedSize();
+
+    /**
+     * Returns the time at which this holder was last used, in milliseconds since the epoch.
+     */
+    long getLastUsed();
+
+    /**
+     * Discards the entries of this holder.
+     *
+     * @return the estimated number of bytes released.
+     */
+    long release();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.cache;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.List;
+
+/**
+ * Keeps track of the in-memory caches that are retained across builds, so that their memory usage can be reported and reclaimed
+ * when the process runs low on heap.
+ */
+@ThreadSafe
+public interface MemoryManager {
+    void addMemoryHolder(MemoryHolder holder);
+
+    void removeMemoryHolder(MemoryHolder holder);
+
+    /**
+     * Returns the registered holders, largest estimated retained size first.
+     */
+    List<MemoryHolder> getMemoryHolders();
+
+    /**
+     * Releases holders, least recently used first, until at least the given number of bytes has been released or there are no more holders to release.
+     *
+     * @return the estimated number of bytes released.
+     */
+    long releaseMemory(long bytes);
+}
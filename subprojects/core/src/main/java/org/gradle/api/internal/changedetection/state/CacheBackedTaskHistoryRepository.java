@@ -32,9 +32,11 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
     private final PersistentIndexedCache<String, TaskHistory> taskHistoryCache;
     private final TaskHistorySerializer serializer;
     private final StringInterner stringInterner;
+    private final TaskHistoryWriter writer;
 
-    public CacheBackedTaskHistoryRepository(TaskArtifactStateCacheAccess cacheAccess, FileSnapshotRepository snapshotRepository, StringInterner stringInterner) {
+    public CacheBackedTaskHistoryRepository(TaskArtifactStateCacheAccess cacheAccess, FileSnapshotRepository snapshotRepository, StringInterner stringInterner, TaskHistoryWriter writer) {
         this.cacheAccess = cacheAccess;
+        this.writer = writer;
         this.snapshotRepository = snapshotRepository;
         this.stringInterner = stringInterner;
         this.serializer = new TaskHistorySerializer(stringInterner);
@@ -63,7 +65,7 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
             }
 
             public void update() {
-                cacheAccess.useCache("Update task history", new Runnable() {
+                writer.write(task.getPath(), new Runnable() {
                     public void run() {
                         history.configurations.add(0, currentExecution);
                         if (currentExecution.inputFilesSnapshotId == null && currentExecution.inputFilesSnapshot != null) {
@@ -96,7 +98,7 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
             @Override
             public void finished(boolean wasUpToDate) {
                 if (wasUpToDate && history.modified) {
-                    cacheAccess.useCache("Update task history", new Runnable() {
+                    writer.write(task.getPath(), new Runnable() {
                         public void run() {
                             history.beforeSerialized();
                             taskHistoryCache.put(task.getPath(), history);
@@ -108,6 +110,7 @@ public class CacheBackedTaskHistoryRepository implements TaskHistoryRepository {
     }
 
     private TaskHistory loadHistory(final TaskInternal task) {
+        writer.flush(task.getPath());
         return cacheAccess.useCache("Load task history", new Factory<TaskHistory>() {
             public TaskHistory create() {
                 ClassLoader original = serializer.getClassLoader();
@@ -19,6 +19,8 @@ package org.gradle.api.internal.changedetection.state;
 import com.google.common.cache.*;
 import org.gradle.api.internal.cache.HeapProportionalCacheSizer;
 import com.google.common.collect.ImmutableSet;
+import org.gradle.api.internal.cache.MemoryHolder;
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
@@ -36,6 +38,19 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
     private final static Object NULL = new Object();
     private static final Map<String, Integer> CACHE_CAPS = new CacheCapSizer().calculateCaps();
     private static final Set<String> WEAK_REFERENCE_CACHES = ImmutableSet.copyOf(new String[]{"fileSnapshots"});
+    private static final Map<String, Integer> ESTIMATED_ENTRY_SIZES = new HashMap<String, Integer>();
+    private static final int DEFAULT_ESTIMATED_ENTRY_SIZE = 1024;
+
+    static {
+        // Rough per-entry retained sizes in bytes, used to report and reclaim memory held by these caches
+        ESTIMATED_ENTRY_SIZES.put("fileSnapshots", 2048);
+        ESTIMATED_ENTRY_SIZES.put("fileSnapshotsToTreeSnapshotsIndex", 128);
+        ESTIMATED_ENTRY_SIZES.put("treeSnapshots", 4096);
+        ESTIMATED_ENTRY_SIZES.put("treeSnapshotUsage", 256);
+        ESTIMATED_ENTRY_SIZES.put("taskArtifacts", 4096);
+        ESTIMATED_ENTRY_SIZES.put("fileHashes", 256);
+        ESTIMATED_ENTRY_SIZES.put("compilationState", 16384);
+    }
 
     static class CacheCapSizer {
         private static final Map<String, Integer> DEFAULT_CAP_SIZES = new HashMap<String, Integer>();
@@ -71,14 +86,27 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
 
 
     private final Object lock = new Object();
-    private final Cache<String, Cache<Object, Object>> cache = CacheBuilder.newBuilder()
-            .maximumSize(CACHE_CAPS.size() * 2) //X2 to factor in a child build (for example buildSrc)
-            .build();
+    private final MemoryManager memoryManager;
+    private final Cache<String, CacheMemoryHolder> cache;
 
     private final Map<String, FileLock.State> states = new HashMap<String, FileLock.State>();
 
+    public InMemoryTaskArtifactCache(final MemoryManager memoryManager) {
+        this.memoryManager = memoryManager;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_CAPS.size() * 2) //X2 to factor in a child build (for example buildSrc)
+            .removalListener(new RemovalListener<String, CacheMemoryHolder>() {
+                @Override
+                public void onRemoval(RemovalNotification<String, CacheMemoryHolder> notification) {
+                    memoryManager.removeMemoryHolder(notification.getValue());
+                }
+            })
+            .build();
+    }
+
     public <K, V> MultiProcessSafePersistentIndexedCache<K, V> decorate(final String cacheId, String cacheName, final MultiProcessSafePersistentIndexedCache<K, V> original) {
-        final Cache<Object, Object> data = loadData(cacheId, cacheName);
+        final CacheMemoryHolder holder = loadData(cacheId, cacheName);
+        final Cache<Object, Object> data = holder.data;
 
         return new MultiProcessSafePersistentIndexedCache<K, V>() {
             public void close() {
@@ -110,6 +138,7 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
             }
 
             public void onStartWork(String operationDisplayName, FileLock.State currentCacheState) {
+                holder.used();
                 boolean outOfDate;
                 synchronized (lock) {
                     FileLock.State previousState = states.get(cacheId);
@@ -130,12 +159,12 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
         };
     }
 
-    private Cache<Object, Object> loadData(String cacheId, String cacheName) {
-        Cache<Object, Object> theData;
+    private CacheMemoryHolder loadData(String cacheId, String cacheName) {
+        CacheMemoryHolder holder;
         synchronized (lock) {
-            theData = this.cache.getIfPresent(cacheId);
-            if (theData != null) {
-                LOG.info("In-memory cache of {}: Size{{}}, {}", cacheId, theData.size() , theData.stats());
+            holder = this.cache.getIfPresent(cacheId);
+            if (holder != null) {
+                LOG.info("In-memory cache of {}: Size{{}}, {}", cacheId, holder.data.size(), holder.data.stats());
             } else {
                 Integer maxSize = CACHE_CAPS.get(cacheName);
                 assert maxSize != null : "Unknown cache.";
@@ -145,13 +174,61 @@ public class InMemoryTaskArtifactCache implements CacheDecorator {
                 if (WEAK_REFERENCE_CACHES.contains(cacheName)) {
                     builder.weakValues();
                 }
-                theData = builder.build();
+                Cache<Object, Object> theData = builder.build();
 
                 evictionListener.setCache(theData);
-                this.cache.put(cacheId, theData);
+                Integer entrySize = ESTIMATED_ENTRY_SIZES.get(cacheName);
+                holder = new CacheMemoryHolder(cacheId, theData, entrySize == null ? DEFAULT_ESTIMATED_ENTRY_SIZE : entrySize);
+                this.cache.put(cacheId, holder);
+                memoryManager.addMemoryHolder(holder);
             }
         }
-        return theData;
+        holder.used();
+        return holder;
+    }
+
+    private static class CacheMemoryHolder implements MemoryHolder {
+        private final String cacheId;
+        private final Cache<Object, Object> data;
+        private final int estimatedEntrySize;
+        private volatile long lastUsed;
+
+        private CacheMemoryHolder(String cacheId, Cache<Object, Object> data, int estimatedEntrySize) {
+            this.cacheId = cacheId;
+            this.data = data;
+            this.estimatedEntrySize = estimatedEntrySize;
+        }
+
+        void used() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return cacheId;
+        }
+
+        @Override
+        public long getEntryCount() {
+            return data.size();
+        }
+
+        @Override
+        public long getEstimatedRetainedSize() {
+            return data.size() * estimatedEntrySize;
+        }
+
+        @Override
+        public long getLastUsed() {
+            return lastUsed;
+        }
+
+        @Override
+        public long release() {
+            long released = getEstimatedRetainedSize();
+            data.invalidateAll();
+            return released;
+        }
     }
 
     private static class LoggingEvictionListener implements RemovalListener<Object, Object> {
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.changedetection.state;
+
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies task history updates in the background, so that a task does not need to wait for the task history cache to be written when it completes.
+ *
+ * <p>Updates are queued per key and applied in batches, using a single cache lock per batch. Callers must call {@link #flush(String)} before reading the
+ * state for a key, to see the effect of any pending updates for that key. All pending updates are applied when this writer is stopped.</p>
+ *
+ * <p>A failure to apply an update does not prevent other updates from being applied. The failure is recorded against the key of the update, and is rethrown
+ * by every later {@link #write(String, Runnable)} and {@link #flush(String)} for that key. The first failure is also rethrown by {@link #flush()} and
+ * {@link #stop()}.</p>
+ */
+public class TaskHistoryWriter implements Stoppable {
+    private final TaskArtifactStateCacheAccess cacheAccess;
+    private final StoppableExecutor executor;
+    private final Lock lock = new ReentrantLock();
+    private final Condition updated = lock.newCondition();
+    private final List<PendingWrite> queue = new ArrayList<PendingWrite>();
+    private final Map<String, Integer> pendingPerKey = new HashMap<String, Integer>();
+    private final Map<String, Throwable> failures = new HashMap<String, Throwable>();
+    private boolean writerScheduled;
+    private Throwable failure;
+
+    public TaskHistoryWriter(TaskArtifactStateCacheAccess cacheAccess, ExecutorFactory executorFactory) {
+        this.cacheAccess = cacheAccess;
+        this.executor = executorFactory.create("Task history writer");
+    }
+
+    /**
+     * Queues the given update for the given key. The update is run while holding the cache lock.
+     */
+    public void write(String key, Runnable update) {
+        lock.lock();
+        try {
+            rethrowFailure(key);
+            queue.add(new PendingWrite(key, update));
+            Integer count = pendingPerKey.get(key);
+            pendingPerKey.put(key, count == null ? 1 : count + 1);
+            if (writerScheduled) {
+                return;
+            }
+            writerScheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(new Runnable() {
+            public void run() {
+                while (writeQueued()) {
+                    // Keep going until the queue is empty
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until all updates queued for the given key have been applied.
+     */
+    public void flush(String key) {
+        lock.lock();
+        try {
+            while (pendingPerKey.containsKey(key)) {
+                updated.awaitUninterruptibly();
+            }
+            rethrowFailure(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until all queued updates have been applied.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            while (!pendingPerKey.isEmpty()) {
+                updated.awaitUninterruptibly();
+            }
+            rethrowFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stop() {
+        try {
+            flush();
+        } finally {
+            executor.stop();
+        }
+    }
+
+    /**
+     * Applies the updates that are currently queued, returning false when there is nothing left to apply. Updates queued while a batch is being written
+     * are collected into the next batch.
+     */
+    private boolean writeQueued() {
+        final List<PendingWrite> batch;
+        final Map<String, Throwable> batchFailures = new HashMap<String, Throwable>();
+        lock.lock();
+        try {
+            if (queue.isEmpty()) {
+                writerScheduled = false;
+                return false;
+            }
+            batch = new ArrayList<PendingWrite>(queue);
+            queue.clear();
+            for (PendingWrite write : batch) {
+                if (failures.containsKey(write.key)) {
+                    batchFailures.put(write.key, failures.get(write.key));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            cacheAccess.useCache("Update task history", new Runnable() {
+                public void run() {
+                    for (PendingWrite write : batch) {
+                        if (batchFailures.containsKey(write.key)) {
+                            // Do not apply later updates on top of a failed one
+                            continue;
+                        }
+                        try {
+                            write.update.run();
+                        } catch (Throwable t) {
+                            batchFailures.put(write.key, t);
+                        }
+                    }
+                }
+            });
+        } catch (Throwable t) {
+            // Could not access the cache, so fail every update in the batch
+            for (PendingWrite write : batch) {
+                if (!batchFailures.containsKey(write.key)) {
+                    batchFailures.put(write.key, t);
+                }
+            }
+        }
+
+        lock.lock();
+        try {
+            for (PendingWrite write : batch) {
+                Throwable writeFailure = batchFailures.get(write.key);
+                if (writeFailure != null) {
+                    if (!failures.containsKey(write.key)) {
+                        failures.put(write.key, writeFailure);
+                    }
+                    if (failure == null) {
+                        failure = writeFailure;
+                    }
+                }
+                int count = pendingPerKey.get(write.key);
+                if (count == 1) {
+                    pendingPerKey.remove(write.key);
+                } else {
+                    pendingPerKey.put(write.key, count - 1);
+                }
+            }
+            updated.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void rethrowFailure(String key) {
+        Throwable keyFailure = failures.get(key);
+        if (keyFailure != null) {
+            throw UncheckedException.throwAsUncheckedException(keyFailure);
+        }
+    }
+
+    private void rethrowFailure() {
+        if (failure != null) {
+            throw UncheckedException.throwAsUncheckedException(failure);
+        }
+    }
+
+    private static class PendingWrite {
+        final String key;
+        final Runnable update;
+
+        PendingWrite(String key, Runnable update) {
+            this.key = key;
+            this.update = update;
+        }
+    }
+}
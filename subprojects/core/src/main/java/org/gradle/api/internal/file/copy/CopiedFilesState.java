@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the files copied into a destination directory, so that a later copy can skip the files whose source and copy are both unchanged.
+ * Only files that are copied without filtering from a file in the file system are recorded. The result of a filter depends on more than the source
+ * file, and an archive entry cannot be identified by its path alone.
+ */
+class CopiedFilesState {
+    private static final Logger LOGGER = Logging.getLogger(CopiedFilesState.class);
+
+    private final File stateFile;
+    private final Map<String, CopiedFile> previous;
+    private final Map<String, CopiedFile> current = new ConcurrentHashMap<String, CopiedFile>();
+
+    private CopiedFilesState(File stateFile, Map<String, CopiedFile> previous) {
+        this.stateFile = stateFile;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the state from the given file. The file is removed until the state is stored again, so that an interrupted copy does not leave stale state behind.
+     */
+    public static CopiedFilesState load(File stateFile) {
+        Map<String, CopiedFile> previous = new HashMap<String, CopiedFile>();
+        if (stateFile.isFile()) {
+            try {
+                KryoBackedDecoder decoder = new KryoBackedDecoder(new FileInputStream(stateFile));
+                try {
+                    int count = decoder.readSmallInt();
+                    for (int i = 0; i < count; i++) {
+                        String targetPath = decoder.readString();
+                        previous.put(targetPath, new CopiedFile(decoder.readString(), decoder.readLong(), decoder.readLong(), decoder.readSmallInt(), decoder.readLong(), decoder.readLong()));
+                    }
+                } finally {
+                    decoder.close();
+                }
+            } catch (Exception e) {
+                LOGGER.debug("Could not read copied files state from {}. Copying all files.", stateFile, e);
+                previous.clear();
+            }
+            GFileUtils.deleteQuietly(stateFile);
+        }
+        return new CopiedFilesState(stateFile, previous);
+    }
+
+    /**
+     * Returns true when the given target was copied from the same, unchanged source by the previous copy, and has not been changed since.
+     */
+    public boolean isUpToDate(FileCopyDetailsInternal details, File target) {
+        File sourceFile = getRecordedSourceFile(details);
+        if (sourceFile == null) {
+            return false;
+        }
+        CopiedFile copiedFile = previous.get(target.getAbsolutePath());
+        if (copiedFile == null
+            || !copiedFile.sourcePath.equals(sourceFile.getAbsolutePath())
+            || copiedFile.sourceSize != details.getSize()
+            || copiedFile.sourceLastModified != details.getLastModified()
+            || copiedFile.mode != details.getMode()
+            || copiedFile.targetSize != target.length()
+            || copiedFile.targetLastModified != target.lastModified()) {
+            return false;
+        }
+        current.put(target.getAbsolutePath(), copiedFile);
+        return true;
+    }
+
+    /**
+     * Records that the given target has been copied. May be called from any thread.
+     */
+    public void copied(FileCopyDetailsInternal details, File target) {
+        File sourceFile = getRecordedSourceFile(details);
+        if (sourceFile == null) {
+            return;
+        }
+        current.put(target.getAbsolutePath(), new CopiedFile(sourceFile.getAbsolutePath(), details.getSize(), details.getLastModified(), details.getMode(), target.length(), target.lastModified()));
+    }
+
+    private static File getRecordedSourceFile(FileCopyDetailsInternal details) {
+        if (details.isDirectory() || details.isContentFiltered()) {
+            return null;
+        }
+        return details.getSourceFile();
+    }
+
+    public void store() {
+        try {
+            GFileUtils.mkdirs(stateFile.getParentFile());
+            KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(stateFile));
+            try {
+                encoder.writeSmallInt(current.size());
+                for (Map.Entry<String, CopiedFile> entry : current.entrySet()) {
+                    CopiedFile copiedFile = entry.getValue();
+                    encoder.writeString(entry.getKey());
+                    encoder.writeString(copiedFile.sourcePath);
+                    encoder.writeLong(copiedFile.sourceSize);
+                    encoder.writeLong(copiedFile.sourceLastModified);
+                    encoder.writeSmallInt(copiedFile.mode);
+                    encoder.writeLong(copiedFile.targetSize);
+                    encoder.writeLong(copiedFile.targetLastModified);
+                }
+            } finally {
+                encoder.close();
+            }
+        } catch (Exception e) {
+            // Not fatal, the next copy copies all files again
+            LOGGER.debug("Could not write copied files state to {}.", stateFile, e);
+            GFileUtils.deleteQuietly(stateFile);
+        }
+    }
+
+    private static class CopiedFile {
+        final String sourcePath;
+        final long sourceSize;
+        final long sourceLastModified;
+        final int mode;
+        final long targetSize;
+        final long targetLastModified;
+
+        CopiedFile(String sourcePath, long sourceSize, long sourceLastModified, int mode, long targetSize, long targetLastModified) {
+            this.sourcePath = sourcePath;
+            this.sourceSize = sourceSize;
+            this.sourceLastModified = sourceLastModified;
+            this.mode = mode;
+            this.targetSize = targetSize;
+            this.targetLastModified = targetLastModified;
+        }
+    }
+}
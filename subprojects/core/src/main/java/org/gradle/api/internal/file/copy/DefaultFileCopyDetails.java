@@ -22,6 +22,7 @@ import org.gradle.api.file.DuplicatesStrategy;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.RelativePath;
 import org.gradle.api.internal.file.AbstractFileTreeElement;
+import org.gradle.api.internal.file.DefaultFileTreeElement;
 import org.gradle.internal.nativeintegration.filesystem.Chmod;
 
 import java.io.*;
@@ -48,6 +49,20 @@ public class DefaultFileCopyDetails extends AbstractFileTreeElement implements F
         return specResolver.getIncludeEmptyDirs();
     }
 
+    public boolean isContentFiltered() {
+        return filterChain.hasFilters();
+    }
+
+    public boolean isCopyableInParallel() {
+        // Archive entries can only be read while the archive is being visited. Filters and expansion run user code, such as closures, filter readers
+        // and template properties, that may not be safe to run from several threads at once
+        return fileDetails instanceof DefaultFileTreeElement && !filterChain.hasFilters();
+    }
+
+    public File getSourceFile() {
+        return fileDetails instanceof DefaultFileTreeElement ? fileDetails.getFile() : null;
+    }
+
     public String getDisplayName() {
         return fileDetails.toString();
     }
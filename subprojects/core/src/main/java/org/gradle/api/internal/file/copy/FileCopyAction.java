@@ -15,35 +15,121 @@
  */
 package org.gradle.api.internal.file.copy;
 
+import org.gradle.api.Action;
+import org.gradle.api.Nullable;
 import org.gradle.api.internal.file.CopyActionProcessingStreamAction;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.UncheckedException;
 import org.gradle.internal.file.PathToFileResolver;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.MultipleBuildOperationFailures;
+import org.gradle.internal.operations.RunnableBuildOperation;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class FileCopyAction implements CopyAction {
 
     private final PathToFileResolver fileResolver;
+    private final File stateFile;
+    private final BuildOperationProcessor buildOperationProcessor;
 
     public FileCopyAction(PathToFileResolver fileResolver) {
+        this(fileResolver, null, null);
+    }
+
+    /**
+     * Creates an action that records the files it copies in the given state file, and skips copying files that are unchanged since the previous copy.
+     * When a build operation processor is given, files that can be copied in parallel are copied by the build operation workers once all files have been
+     * visited.
+     */
+    public FileCopyAction(PathToFileResolver fileResolver, @Nullable File stateFile, @Nullable BuildOperationProcessor buildOperationProcessor) {
         this.fileResolver = fileResolver;
+        this.stateFile = stateFile;
+        this.buildOperationProcessor = buildOperationProcessor;
     }
 
     public WorkResult execute(CopyActionProcessingStream stream) {
-        FileCopyDetailsInternalAction action = new FileCopyDetailsInternalAction();
+        CopiedFilesState state = stateFile == null ? null : CopiedFilesState.load(stateFile);
+        FileCopyDetailsInternalAction action = new FileCopyDetailsInternalAction(state);
         stream.process(action);
+        action.copyPending();
+        if (state != null) {
+            state.store();
+        }
         return new SimpleWorkResult(action.didWork);
     }
 
     private class FileCopyDetailsInternalAction implements CopyActionProcessingStreamAction {
-        private boolean didWork;
+        private final CopiedFilesState state;
+        // Keyed by target, so that a later file copied to the same target replaces an earlier one, as it would when copying sequentially
+        private final Map<File, CopyFileOperation> pending = new LinkedHashMap<File, CopyFileOperation>();
+        private volatile boolean didWork;
+
+        private FileCopyDetailsInternalAction(CopiedFilesState state) {
+            this.state = state;
+        }
 
         public void processFile(FileCopyDetailsInternal details) {
             File target = fileResolver.resolve(details.getRelativePath().getPathString());
-            boolean copied = details.copyTo(target);
-            if (copied) {
-                didWork = true;
+            pending.remove(target);
+            if (state != null && state.isUpToDate(details, target)) {
+                return;
+            }
+            CopyFileOperation operation = new CopyFileOperation(details, target);
+            if (buildOperationProcessor != null && details.isCopyableInParallel()) {
+                pending.put(target, operation);
+            } else {
+                operation.run();
+            }
+        }
+
+        void copyPending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                buildOperationProcessor.run(new Action<BuildOperationQueue<CopyFileOperation>>() {
+                    public void execute(BuildOperationQueue<CopyFileOperation> queue) {
+                        for (CopyFileOperation operation : pending.values()) {
+                            queue.add(operation);
+                        }
+                    }
+                });
+            } catch (MultipleBuildOperationFailures e) {
+                if (e.getCauses().size() == 1) {
+                    throw UncheckedException.throwAsUncheckedException(e.getCauses().get(0));
+                }
+                throw e;
+            } finally {
+                pending.clear();
+            }
+        }
+
+        private class CopyFileOperation implements RunnableBuildOperation {
+            private final FileCopyDetailsInternal details;
+            private final File target;
+
+            CopyFileOperation(FileCopyDetailsInternal details, File target) {
+                this.details = details;
+                this.target = target;
+            }
+
+            public void run() {
+                boolean copied = details.copyTo(target);
+                if (copied) {
+                    didWork = true;
+                }
+                if (state != null) {
+                    state.copied(details, target);
+                }
+            }
+
+            public String getDescription() {
+                return "copy " + details.getPath();
             }
         }
     }
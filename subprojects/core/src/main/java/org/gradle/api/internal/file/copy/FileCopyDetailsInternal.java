@@ -18,8 +18,25 @@ package org.gradle.api.internal.file.copy;
 
 import org.gradle.api.file.FileCopyDetails;
 
+import java.io.File;
+
 public interface FileCopyDetailsInternal extends FileCopyDetails {
 
     boolean isIncludeEmptyDirs();
 
+    /**
+     * Returns true when the content of the file is transformed by filters while it is copied.
+     */
+    boolean isContentFiltered();
+
+    /**
+     * Returns true when the file can be copied from any thread, after the visit of its source tree has completed.
+     */
+    boolean isCopyableInParallel();
+
+    /**
+     * Returns the file in the file system that this file is copied from, or null when it is copied from an archive entry or another kind of source.
+     */
+    File getSourceFile();
+
 }
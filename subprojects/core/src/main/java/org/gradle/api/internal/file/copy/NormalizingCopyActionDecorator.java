@@ -117,6 +117,18 @@ public class NormalizingCopyActionDecorator implements CopyAction {
             return includeEmptyDirs;
         }
 
+        public boolean isContentFiltered() {
+            return false;
+        }
+
+        public boolean isCopyableInParallel() {
+            return false;
+        }
+
+        public File getSourceFile() {
+            return null;
+        }
+
         @Override
         public String getDisplayName() {
             return path.toString();
@@ -27,7 +27,8 @@ public class ClassLoaderIds {
 
     public enum Type {
         SCRIPT,
-        TEST_TASK_CLASSPATH
+        TEST_TASK_CLASSPATH,
+        JACOCO_TASK_CLASSPATH
     }
 
     private static ClassLoaderId of(Type type, String... attributes) {
@@ -42,6 +43,10 @@ public class ClassLoaderIds {
         return of(Type.TEST_TASK_CLASSPATH, testTaskPath);
     }
 
+    public static ClassLoaderId jacocoTaskClasspath(String jacocoTaskPath) {
+        return of(Type.JACOCO_TASK_CLASSPATH, jacocoTaskPath);
+    }
+
     private static class DefaultClassLoaderId implements ClassLoaderId {
         private final Type type;
         private final String[] attributes;
@@ -76,7 +76,7 @@ public class Copy extends AbstractCopyTask {
         if (destinationDir == null) {
             throw new InvalidUserDataException("No copy destination directory has been specified, use 'into' to specify a target directory.");
         }
-        return new FileCopyAction(getFileLookup().getFileResolver(destinationDir));
+        return new FileCopyAction(getFileLookup().getFileResolver(destinationDir), new File(getTemporaryDir(), "copiedFiles.bin"), getBuildOperationProcessor());
     }
 
     @Override
@@ -32,6 +32,7 @@ import org.gradle.internal.serialize.Serializer;
 import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -43,6 +44,8 @@ import static org.gradle.cache.internal.FileLockManager.LockMode.Shared;
 public class DefaultCacheAccess implements CacheCoordinator {
 
     private final static Logger LOG = Logging.getLogger(DefaultCacheAccess.class);
+    // A file lock that takes longer than this to acquire was not free on the first attempt, so another process held it
+    private final static long FILE_LOCK_WAIT_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
 
     private final String cacheDisplayName;
     private final File lockTarget;
@@ -60,6 +63,13 @@ public class DefaultCacheAccess implements CacheCoordinator {
     private boolean contended;
     private final CacheAccessOperationsStack operations;
     private int cacheClosedCount;
+    // Time spent waiting for this cache, used to report lock contention when the cache is closed
+    private long ownershipWaitNanos;
+    private int ownershipWaitCount;
+    private long fileLockWaitNanos;
+    private int fileLockWaitCount;
+    private long fileLockNanos;
+    private int fileLockCount;
 
     public DefaultCacheAccess(String cacheDisplayName, File lockTarget, File baseDir, FileLockManager lockManager, CacheInitializationAction initializationAction) {
         this.cacheDisplayName = cacheDisplayName;
@@ -164,6 +174,7 @@ public class DefaultCacheAccess implements CacheCoordinator {
             if (cacheClosedCount != 1) {
                 LOG.debug("Cache {} was closed {} times.", cacheDisplayName, cacheClosedCount);
             }
+            reportContention();
         } finally {
             lockOptions = null;
             owner = null;
@@ -206,15 +217,43 @@ public class DefaultCacheAccess implements CacheCoordinator {
         }
     }
 
+    private void reportContention() {
+        if (ownershipWaitCount == 0 && fileLockCount == 0) {
+            return;
+        }
+        long ownershipWaitMillis = TimeUnit.NANOSECONDS.toMillis(ownershipWaitNanos);
+        long fileLockWaitMillis = TimeUnit.NANOSECONDS.toMillis(fileLockWaitNanos);
+        long fileLockMillis = TimeUnit.NANOSECONDS.toMillis(fileLockNanos);
+        if (ownershipWaitCount > 0) {
+            LOG.info("Lock contention on {}: waited {} ms for other threads ({} times).", cacheDisplayName, ownershipWaitMillis, ownershipWaitCount);
+        }
+        if (fileLockWaitCount > 0) {
+            LOG.info("Lock contention on {}: waited {} ms for other processes ({} times).", cacheDisplayName, fileLockWaitMillis, fileLockWaitCount);
+        } else if (fileLockCount > 0) {
+            LOG.debug("Lock usage of {}: {} ms acquiring the file lock ({} times).", cacheDisplayName, fileLockMillis, fileLockCount);
+        }
+        ownershipWaitNanos = 0;
+        ownershipWaitCount = 0;
+        fileLockWaitNanos = 0;
+        fileLockWaitCount = 0;
+        fileLockNanos = 0;
+        fileLockCount = 0;
+    }
+
     private void takeOwnership(String operationDisplayName) {
         lock.lock();
         try {
-            while (owner != null && owner != Thread.currentThread()) {
-                try {
-                    condition.await();
-                } catch (InterruptedException e) {
-                    throw UncheckedException.throwAsUncheckedException(e);
+            if (owner != null && owner != Thread.currentThread()) {
+                long startWait = System.nanoTime();
+                while (owner != null && owner != Thread.currentThread()) {
+                    try {
+                        condition.await();
+                    } catch (InterruptedException e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    }
                 }
+                ownershipWaitNanos += System.nanoTime() - startWait;
+                ownershipWaitCount++;
             }
             owner = Thread.currentThread();
             operations.pushCacheAction(operationDisplayName);
@@ -346,7 +385,15 @@ public class DefaultCacheAccess implements CacheCoordinator {
         if (fileLock != null) {
             return false;
         }
+        long startLock = System.nanoTime();
         fileLock = lockManager.lock(lockTarget, lockOptions.withMode(Exclusive), cacheDisplayName, operations.getDescription());
+        long lockNanos = System.nanoTime() - startLock;
+        fileLockNanos += lockNanos;
+        fileLockCount++;
+        if (lockNanos >= FILE_LOCK_WAIT_THRESHOLD_NANOS) {
+            fileLockWaitNanos += lockNanos;
+            fileLockWaitCount++;
+        }
         if (initializationAction.requiresInitialization(fileLock)) {
             fileLock.writeFile(new Runnable() {
                 public void run() {
@@ -437,6 +484,18 @@ public class DefaultCacheAccess implements CacheCoordinator {
         return owner;
     }
 
+    int getOwnershipWaitCount() {
+        return ownershipWaitCount;
+    }
+
+    int getFileLockCount() {
+        return fileLockCount;
+    }
+
+    int getFileLockWaitCount() {
+        return fileLockWaitCount;
+    }
+
     FileAccess getFileAccess() {
         return fileAccess;
     }
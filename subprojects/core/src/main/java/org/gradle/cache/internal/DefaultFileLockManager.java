@@ -40,6 +40,10 @@ import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 public class DefaultFileLockManager implements FileLockManager {
     private static final Logger LOGGER = Logging.getLogger(DefaultFileLockManager.class);
     public static final int DEFAULT_LOCK_TIMEOUT = 60000;
+    // Poll a contended lock with exponential backoff, so that a lock released shortly after the owner is pinged is acquired quickly
+    private static final long MIN_RETRY_INTERVAL_MS = 5;
+    private static final long MAX_RETRY_INTERVAL_MS = 200;
+    private static final long PING_INTERVAL_MS = 200;
 
     private final Set<File> lockedFiles = new CopyOnWriteArraySet<File>();
     private final ProcessMetaDataProvider metaDataProvider;
@@ -314,12 +318,14 @@ public class DefaultFileLockManager implements FileLockManager {
         }
 
         private java.nio.channels.FileLock lockStateRegion(LockMode lockMode, final long waitUntil) throws IOException, InterruptedException {
+            long retryInterval = MIN_RETRY_INTERVAL_MS;
+            long nextPing = 0;
             do {
                 java.nio.channels.FileLock fileLock = lockFileAccess.tryLockState(lockMode == LockMode.Shared);
                 if (fileLock != null) {
                     return fileLock;
                 }
-                if (port != -1) { //we don't like the assumption about the port very much
+                if (port != -1 && System.currentTimeMillis() >= nextPing) { //we don't like the assumption about the port very much
                     LockInfo lockInfo = readInformationRegion(System.currentTimeMillis()); //no need for timeout here, as we're already looping with timeout
                     if (lockInfo.port != -1) {
                         LOGGER.debug("The file lock is held by a different Gradle process (pid: {}, operation: {}). Will attempt to ping owner at port {}", lockInfo.pid, lockInfo.operation, lockInfo.port);
@@ -327,20 +333,24 @@ public class DefaultFileLockManager implements FileLockManager {
                     } else {
                         LOGGER.debug("The file lock is held by a different Gradle process. I was unable to read on which port the owner listens for lock access requests.");
                     }
+                    nextPing = System.currentTimeMillis() + PING_INTERVAL_MS;
                 }
                 //TODO SF we should inform on the progress/status bar that we're waiting
-                Thread.sleep(200L);
+                Thread.sleep(retryInterval);
+                retryInterval = Math.min(retryInterval * 2, MAX_RETRY_INTERVAL_MS);
             } while (System.currentTimeMillis() < waitUntil);
             return null;
         }
 
         private java.nio.channels.FileLock lockInformationRegion(LockMode lockMode, long waitUntil) throws IOException, InterruptedException {
+            long retryInterval = MIN_RETRY_INTERVAL_MS;
             do {
                 java.nio.channels.FileLock fileLock = lockFileAccess.tryLockInfo(lockMode == LockMode.Shared);
                 if (fileLock != null) {
                     return fileLock;
                 }
-                Thread.sleep(200L);
+                Thread.sleep(retryInterval);
+                retryInterval = Math.min(retryInterval * 2, MAX_RETRY_INTERVAL_MS);
             }
             while (System.currentTimeMillis() < waitUntil);
             return null;
@@ -20,21 +20,28 @@ import com.google.common.cache.CacheBuilder;
 import groovy.lang.Script;
 import org.codehaus.groovy.ast.ClassNode;
 import org.gradle.api.Action;
+import org.gradle.api.internal.cache.MemoryHolder;
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.api.internal.changedetection.state.FileSnapshotter;
 import org.gradle.api.internal.initialization.loadercache.ClassLoaderId;
 import org.gradle.groovy.scripts.ScriptSource;
 import org.gradle.internal.Cast;
 import org.gradle.internal.hash.HashValue;
 
-public class CrossBuildInMemoryCachingScriptClassCache {
+public class CrossBuildInMemoryCachingScriptClassCache implements MemoryHolder {
+    // A rough estimate of the heap retained by a loaded script class and its metadata
+    private static final int ESTIMATED_ENTRY_SIZE = 64 * 1024;
     private final Cache<ScriptCacheKey, CachedCompiledScript> cachedCompiledScripts = CacheBuilder.newBuilder().maximumSize(100).recordStats().build();
     private final FileSnapshotter snapshotter;
+    private volatile long lastUsed;
 
-    public CrossBuildInMemoryCachingScriptClassCache(FileSnapshotter snapshotter) {
+    public CrossBuildInMemoryCachingScriptClassCache(FileSnapshotter snapshotter, MemoryManager memoryManager) {
         this.snapshotter = snapshotter;
+        memoryManager.addMemoryHolder(this);
     }
 
     public <T extends Script, M> CompiledScript<T, M> getOrCompile(ScriptSource source, ClassLoader classLoader, ClassLoaderId classLoaderId, CompileOperation<M> operation, Class<T> scriptBaseClass, Action<? super ClassNode> verifier, ScriptClassCompiler delegate) {
+        lastUsed = System.currentTimeMillis();
         ScriptCacheKey key = new ScriptCacheKey(source.getClassName(), classLoader, operation.getId());
         CachedCompiledScript cached = cachedCompiledScripts.getIfPresent(key);
         HashValue hash = snapshotter.snapshot(source.getResource()).getHash();
@@ -48,6 +55,33 @@ public class CrossBuildInMemoryCachingScriptClassCache {
         return compiledScript;
     }
 
+    @Override
+    public String getDisplayName() {
+        return "compiled scripts";
+    }
+
+    @Override
+    public long getEntryCount() {
+        return cachedCompiledScripts.size();
+    }
+
+    @Override
+    public long getEstimatedRetainedSize() {
+        return cachedCompiledScripts.size() * ESTIMATED_ENTRY_SIZE;
+    }
+
+    @Override
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    @Override
+    public long release() {
+        long released = getEstimatedRetainedSize();
+        cachedCompiledScripts.invalidateAll();
+        return released;
+    }
+
     private static class CachedCompiledScript {
         private final HashValue hash;
         private final CompiledScript<?, ?> compiledScript;
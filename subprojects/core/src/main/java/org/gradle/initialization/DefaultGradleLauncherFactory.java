@@ -28,7 +28,9 @@ import org.gradle.deployment.internal.DeploymentRegistry;
 import org.gradle.execution.BuildConfigurationActionExecuter;
 import org.gradle.execution.BuildExecuter;
 import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.FileUtils;
 import org.gradle.internal.featurelifecycle.ScriptUsageLocationReporter;
+import org.gradle.internal.operations.trace.BuildOperationTrace;
 import org.gradle.internal.progress.BuildOperationExecutor;
 import org.gradle.internal.progress.BuildProgressFilter;
 import org.gradle.internal.progress.BuildProgressLogger;
@@ -46,6 +48,8 @@ import org.gradle.profile.ProfileEventAdapter;
 import org.gradle.profile.ReportGeneratingProfileListener;
 import org.gradle.util.DeprecationLogger;
 
+import java.io.File;
+
 public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
     private final ServiceRegistry sharedServices;
     private final NestedBuildTracker tracker;
@@ -134,6 +138,14 @@ public class DefaultGradleLauncherFactory implements GradleLauncherFactory {
         if (startParameter.isProfile()) {
             listenerManager.addListener(new ReportGeneratingProfileListener());
         }
+        String tracePath = System.getProperty(BuildOperationTrace.TRACE_FILE_PROPERTY);
+        if (tracePath != null && tracker.getCurrentBuild() == null) {
+            File traceFile = new File(tracePath);
+            if (!traceFile.isAbsolute()) {
+                traceFile = new File(startParameter.getCurrentDir(), tracePath);
+            }
+            listenerManager.addListener(new BuildOperationTrace(FileUtils.canonicalize(traceFile)));
+        }
         ScriptUsageLocationReporter usageLocationReporter = new ScriptUsageLocationReporter();
         listenerManager.addListener(usageLocationReporter);
         DeprecationLogger.useLocationReporter(usageLocationReporter);
@@ -28,16 +28,21 @@ import org.gradle.api.logging.Logging;
 import org.gradle.internal.FileUtils;
 
 import java.io.File;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
 
 class WatchPointsRegistry {
     private final static Logger LOG = Logging.getLogger(WatchPointsRegistry.class);
     private final CombinedRootSubset rootSubset = new CombinedRootSubset();
     private ImmutableSet<? extends File> allRequestedRoots;
+    private DescendantIndex allRequestedRootsIndex;
     private final boolean createNewStartingPointsUnderExistingRoots;
 
     public WatchPointsRegistry(boolean createNewStartingPointsUnderExistingRoots) {
         this.createNewStartingPointsUnderExistingRoots = createNewStartingPointsUnderExistingRoots;
         allRequestedRoots = ImmutableSet.of();
+        allRequestedRootsIndex = new DescendantIndex(allRequestedRoots);
     }
 
     public Delta appendFileSystemSubset(FileSystemSubset fileSystemSubset, Iterable<? extends File> currentWatchPoints) {
@@ -49,7 +54,7 @@ class WatchPointsRegistry {
     }
 
     public boolean shouldWatch(File directory) {
-        final boolean result = rootSubset.isInRootsOrAncestorOrAnyRoot(directory) || isAncestorOfAnyRoot(directory, allRequestedRoots, true);
+        final boolean result = rootSubset.isInRootsOrAncestorOrAnyRoot(directory) || allRequestedRootsIndex.containsDescendantOf(directory, true);
         if (!result && LOG.isDebugEnabled()) {
             LOG.debug("not watching directory: {} allRequestedRoots: {} roots: {} unfiltered: {}", directory, allRequestedRoots, rootSubset.roots, rootSubset.combinedFileSystemSubset);
         }
@@ -62,6 +67,7 @@ class WatchPointsRegistry {
         private FileSystemSubset combinedRoots;
         private Iterable<? extends File> startingWatchPoints;
         private ImmutableSet<? extends File> currentWatchPoints;
+        private DescendantIndex currentWatchPointsIndex;
 
         private Delta(FileSystemSubset fileSystemSubset, ImmutableSet<? extends File> currentWatchPoints) {
             this.fileSystemSubset = fileSystemSubset;
@@ -89,6 +95,8 @@ class WatchPointsRegistry {
                 currentWatchPoints = ImmutableSet.copyOf(startingWatchPoints);
             }
             allRequestedRoots = ImmutableSet.<File>builder().addAll(allRequestedRoots).addAll(roots).build();
+            allRequestedRootsIndex = new DescendantIndex(allRequestedRoots);
+            currentWatchPointsIndex = new DescendantIndex(currentWatchPoints);
             return this;
         }
 
@@ -133,7 +141,7 @@ class WatchPointsRegistry {
         }
 
         public boolean shouldWatch(File file) {
-            boolean result = (inCombinedRootsOrAncestorOfAnyRootThis(file) || isAncestorOfAnyRoot(file, allRequestedRoots)) && !isAncestorOfAnyRoot(file, currentWatchPoints);
+            boolean result = (inCombinedRootsOrAncestorOfAnyRootThis(file) || allRequestedRootsIndex.containsDescendantOf(file, false)) && !currentWatchPointsIndex.containsDescendantOf(file, false);
             if (!result) {
                 LOG.debug("not watching file: {} currentWatchPoints: {} allRequestedRoots: {} roots: {} unfiltered: {}", file, currentWatchPoints, allRequestedRoots, roots, combinedRoots);
             }
@@ -145,10 +153,6 @@ class WatchPointsRegistry {
         return combinedRootsSubset.contains(file) || isAncestorOfAnyRoot(file, roots, true);
     }
 
-    static private boolean isAncestorOfAnyRoot(File file, Iterable<? extends File> roots) {
-        return isAncestorOfAnyRoot(file, roots, false);
-    }
-
     static private boolean isAncestorOfAnyRoot(File file, Iterable<? extends File> roots, boolean acceptItSelf) {
         String absolutePathWithSeparator = file.getAbsolutePath() + File.separator;
         for (File root : roots) {
@@ -187,4 +191,29 @@ class WatchPointsRegistry {
             return combinedFileSystemSubset.contains(file);
         }
     }
+
+    /**
+     * Answers whether a set of files contains a descendant of a given directory, without scanning the whole set. The set of watch points can contain
+     * every directory of a large source tree, and is checked for every directory visited while registering watches.
+     */
+    private static class DescendantIndex {
+        private final Set<? extends File> files;
+        private final NavigableSet<String> paths = new TreeSet<String>();
+
+        DescendantIndex(Set<? extends File> files) {
+            this.files = files;
+            for (File file : files) {
+                paths.add(file.getAbsolutePath());
+            }
+        }
+
+        boolean containsDescendantOf(File directory, boolean acceptItSelf) {
+            if (acceptItSelf && files.contains(directory)) {
+                return true;
+            }
+            String absolutePathWithSeparator = directory.getAbsolutePath() + File.separator;
+            String candidate = paths.ceiling(absolutePathWithSeparator);
+            return candidate != null && candidate.startsWith(absolutePathWithSeparator);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import org.gradle.util.CollectionUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -41,7 +42,17 @@ class WatchServicePoller {
     public List<FileWatcherEvent> takeEvents() throws InterruptedException {
         WatchKey watchKey = watchService.poll(POLL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         if (watchKey != null) {
-            return handleWatchKey(watchKey);
+            List<FileWatcherEvent> events = handleWatchKey(watchKey);
+            // Collect the events of any other keys that are already signalled, so that a burst of changes is delivered in one go
+            watchKey = watchService.poll();
+            if (watchKey != null) {
+                events = new ArrayList<FileWatcherEvent>(events);
+                while (watchKey != null) {
+                    events.addAll(handleWatchKey(watchKey));
+                    watchKey = watchService.poll();
+                }
+            }
+            return events;
         }
         return null;
     }
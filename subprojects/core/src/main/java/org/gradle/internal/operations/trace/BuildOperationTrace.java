@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.initialization.BuildCompletionListener;
+import org.gradle.internal.ErroringAction;
+import org.gradle.internal.IoActions;
+import org.gradle.internal.progress.BuildOperationInternal;
+import org.gradle.internal.progress.InternalBuildListener;
+import org.gradle.internal.progress.OperationResult;
+import org.gradle.internal.progress.OperationStartEvent;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the build operations executed by a build, from every thread that runs them, and writes them to a file in the
+ * <a href="https://github.com/catapult-project/catapult/tree/master/tracing">Chrome trace event format</a> when the build completes.
+ * The resulting file can be loaded into {@code chrome://tracing}.
+ *
+ * <p>Events are recorded into preallocated per-thread buffers using {@link System#nanoTime()}, so that recording does not allocate or
+ * contend on a lock. The trace is only attached to a build when {@value #TRACE_FILE_PROPERTY} is set, so there is no cost when tracing is disabled.</p>
+ */
+public class BuildOperationTrace implements InternalBuildListener, BuildCompletionListener {
+    public static final String TRACE_FILE_PROPERTY = "org.gradle.internal.operations.trace";
+    public static final String BUFFER_SIZE_PROPERTY = "org.gradle.internal.operations.trace.bufferSize";
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final Logger LOGGER = Logging.getLogger(BuildOperationTrace.class);
+
+    private final File traceFile;
+    private final int bufferSize;
+    private final long startTime = System.nanoTime();
+    private final ConcurrentLinkedQueue<ThreadTraceBuffer> buffers = new ConcurrentLinkedQueue<ThreadTraceBuffer>();
+    private final ThreadLocal<ThreadTraceBuffer> currentBuffer = new ThreadLocal<ThreadTraceBuffer>() {
+        @Override
+        protected ThreadTraceBuffer initialValue() {
+            ThreadTraceBuffer buffer = new ThreadTraceBuffer(Thread.currentThread(), bufferSize);
+            buffers.add(buffer);
+            return buffer;
+        }
+    };
+
+    public BuildOperationTrace(File traceFile) {
+        this(traceFile, Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE));
+    }
+
+    public BuildOperationTrace(File traceFile, int bufferSize) {
+        this.traceFile = traceFile;
+        this.bufferSize = bufferSize;
+    }
+
+    public File getTraceFile() {
+        return traceFile;
+    }
+
+    @Override
+    public void started(BuildOperationInternal buildOperation, OperationStartEvent startEvent) {
+        currentBuffer.get().start(buildOperation.getDisplayName(), System.nanoTime());
+    }
+
+    @Override
+    public void finished(BuildOperationInternal buildOperation, OperationResult finishEvent) {
+        currentBuffer.get().end(System.nanoTime());
+    }
+
+    @Override
+    public void completed() {
+        GFileUtils.mkdirs(traceFile.getParentFile());
+        IoActions.writeTextFile(traceFile, "utf-8", new ErroringAction<Writer>() {
+            @Override
+            protected void doExecute(Writer writer) throws Exception {
+                write(writer);
+            }
+        });
+        LOGGER.lifecycle("Build operation trace written to {}", traceFile);
+    }
+
+    /**
+     * Writes the events recorded so far. Should only be called once all operations have completed.
+     */
+    void write(Writer writer) throws IOException {
+        long endTime = System.nanoTime();
+        List<ThreadTraceBuffer> snapshot = new ArrayList<ThreadTraceBuffer>(buffers);
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        int dropped = 0;
+        for (ThreadTraceBuffer buffer : snapshot) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeEvent(writer, "M", "thread_name", buffer.getThreadId(), startTime);
+            writer.write(",\"args\":{\"name\":");
+            writeString(writer, buffer.getThreadName());
+            writer.write("}}");
+            for (int i = 0; i < buffer.getCount(); i++) {
+                writer.write(',');
+                if (buffer.getType(i) == ThreadTraceBuffer.START) {
+                    writeEvent(writer, "B", buffer.getName(i), buffer.getThreadId(), buffer.getTimestamp(i));
+                } else {
+                    writeEvent(writer, "E", null, buffer.getThreadId(), buffer.getTimestamp(i));
+                }
+                writer.write("}");
+            }
+            // Close any operations that were still running, so the trace remains well formed
+            for (int i = 0; i < buffer.getOpen(); i++) {
+                writer.write(',');
+                writeEvent(writer, "E", null, buffer.getThreadId(), endTime);
+                writer.write("}");
+            }
+            dropped += buffer.getDropped();
+        }
+        writer.write("],\"otherData\":{\"droppedOperations\":\"");
+        writer.write(String.valueOf(dropped));
+        writer.write("\"}}");
+        if (dropped > 0) {
+            LOGGER.warn("Build operation trace buffer overflowed, {} operations were not recorded. Use -D{} to increase the buffer size.", dropped, BUFFER_SIZE_PROPERTY);
+        }
+    }
+
+    private void writeEvent(Writer writer, String phase, String name, long threadId, long timestamp) throws IOException {
+        writer.write("{\"ph\":\"");
+        writer.write(phase);
+        writer.write("\",\"pid\":1,\"tid\":");
+        writer.write(String.valueOf(threadId));
+        writer.write(",\"ts\":");
+        long micros = (timestamp - startTime) / 1000;
+        writer.write(String.valueOf(Math.max(0, micros)));
+        if (name != null) {
+            writer.write(",\"name\":");
+            writeString(writer, name);
+        }
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) ch));
+                    } else {
+                        writer.write(ch);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace;
+
+/**
+ * A fixed size buffer of trace events recorded by a single thread. Only the owning thread writes to the buffer, and the
+ * buffer is read only after the build has completed, so no synchronization is needed on the write path.
+ *
+ * <p>When the buffer fills up, further operations are dropped. Space is always reserved for the end event of every recorded
+ * start event, so that the recorded events remain properly nested.</p>
+ */
+class ThreadTraceBuffer {
+    static final byte START = 0;
+    static final byte END = 1;
+
+    private final long threadId;
+    private final String threadName;
+    private final byte[] types;
+    private final long[] timestamps;
+    private final String[] names;
+    private int count;
+    private int open;
+    private int unrecordedDepth;
+    private int dropped;
+
+    ThreadTraceBuffer(Thread thread, int capacity) {
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+        this.types = new byte[capacity];
+        this.timestamps = new long[capacity];
+        this.names = new String[capacity];
+    }
+
+    void start(String name, long timestamp) {
+        if (unrecordedDepth > 0 || count + open + 2 > types.length) {
+            unrecordedDepth++;
+            dropped++;
+            return;
+        }
+        types[count] = START;
+        timestamps[count] = timestamp;
+        names[count] = name;
+        count++;
+        open++;
+    }
+
+    void end(long timestamp) {
+        if (unrecordedDepth > 0) {
+            unrecordedDepth--;
+            return;
+        }
+        if (open == 0) {
+            return;
+        }
+        types[count] = END;
+        timestamps[count] = timestamp;
+        count++;
+        open--;
+    }
+
+    long getThreadId() {
+        return threadId;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    byte getType(int index) {
+        return types[index];
+    }
+
+    long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    int getOpen() {
+        return open;
+    }
+
+    int getDropped() {
+        return dropped;
+    }
+}
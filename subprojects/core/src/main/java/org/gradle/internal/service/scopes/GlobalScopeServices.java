@@ -27,6 +27,8 @@ import org.gradle.api.internal.DefaultClassPathRegistry;
 import org.gradle.api.internal.DependencyInjectingInstantiator;
 import org.gradle.api.internal.DocumentationRegistry;
 import org.gradle.api.internal.DynamicModulesClassPathProvider;
+import org.gradle.api.internal.cache.DefaultMemoryManager;
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.api.internal.cache.StringInterner;
 import org.gradle.api.internal.changedetection.state.CacheAccessingFileSnapshotter;
 import org.gradle.api.internal.changedetection.state.CachingFileSnapshotter;
@@ -247,8 +249,12 @@ public class GlobalScopeServices {
             fileLockContentionHandler);
     }
 
-    InMemoryTaskArtifactCache createInMemoryTaskArtifactCache() {
-        return new InMemoryTaskArtifactCache();
+    MemoryManager createMemoryManager() {
+        return new DefaultMemoryManager();
+    }
+
+    InMemoryTaskArtifactCache createInMemoryTaskArtifactCache(MemoryManager memoryManager) {
+        return new InMemoryTaskArtifactCache(memoryManager);
     }
 
     DefaultFileLockContentionHandler createFileLockContentionHandler(ExecutorFactory executorFactory, MessagingServices messagingServices) {
@@ -345,8 +351,8 @@ public class GlobalScopeServices {
         return PatternSets.getPatternSetFactory(patternSpecFactory);
     }
 
-    protected CrossBuildInMemoryCachingScriptClassCache createCachingScriptCompiler(CacheAccessingFileSnapshotter snapshotter) {
-        return new CrossBuildInMemoryCachingScriptClassCache(snapshotter);
+    protected CrossBuildInMemoryCachingScriptClassCache createCachingScriptCompiler(CacheAccessingFileSnapshotter snapshotter, MemoryManager memoryManager) {
+        return new CrossBuildInMemoryCachingScriptClassCache(snapshotter, memoryManager);
     }
 
 
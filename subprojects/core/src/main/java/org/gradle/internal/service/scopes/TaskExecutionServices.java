@@ -38,6 +38,7 @@ import org.gradle.api.internal.changedetection.state.NoOpDecorator;
 import org.gradle.api.internal.changedetection.state.OutputFilesCollectionSnapshotter;
 import org.gradle.api.internal.changedetection.state.TaskArtifactStateCacheAccess;
 import org.gradle.api.internal.changedetection.state.TaskHistoryRepository;
+import org.gradle.api.internal.changedetection.state.TaskHistoryWriter;
 import org.gradle.api.internal.changedetection.state.TreeSnapshotRepository;
 import org.gradle.api.internal.file.FileCollectionFactory;
 import org.gradle.api.internal.file.FileResolver;
@@ -128,9 +129,14 @@ public class TaskExecutionServices {
         return new TreeSnapshotRepository(cacheAccess, stringInterner);
     }
 
+    TaskHistoryWriter createTaskHistoryWriter(TaskArtifactStateCacheAccess cacheAccess, ExecutorFactory executorFactory) {
+        return new TaskHistoryWriter(cacheAccess, executorFactory);
+    }
+
     TaskArtifactStateRepository createTaskArtifactStateRepository(Instantiator instantiator, TaskArtifactStateCacheAccess cacheAccess, StartParameter startParameter, FileSnapshotter fileSnapshotter,
                                                                   StringInterner stringInterner, FileResolver fileResolver, FileSystem fileSystem, FileCollectionFactory fileCollectionFactory,
-                                                                  CachingTreeVisitor treeVisitor, TreeSnapshotRepository treeSnapshotRepository, CachingTreeVisitorCleaner treeVisitorCleaner) {
+                                                                  CachingTreeVisitor treeVisitor, TreeSnapshotRepository treeSnapshotRepository, CachingTreeVisitorCleaner treeVisitorCleaner,
+                                                                  TaskHistoryWriter taskHistoryWriter) {
         FileCollectionSnapshotter fileCollectionSnapshotter = new DefaultFileCollectionSnapshotter(fileSnapshotter, cacheAccess, stringInterner, fileResolver, treeVisitor, treeSnapshotRepository);
         FileCollectionSnapshotter discoveredFileCollectionSnapshotter = new MinimalFileSetSnapshotter(fileSnapshotter, cacheAccess, stringInterner, fileResolver, fileSystem);
 
@@ -146,7 +152,8 @@ public class TaskExecutionServices {
                 serializerRegistry.build(FileCollectionSnapshot.class),
                 new RandomLongIdGenerator(),
                 treeSnapshotRepository),
-            stringInterner);
+            stringInterner,
+            taskHistoryWriter);
 
         return new ShortCircuitTaskArtifactStateRepository(
             startParameter,
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.cache
+
+import spock.lang.Specification
+
+class DefaultMemoryManagerTest extends Specification {
+    def memoryManager = new DefaultMemoryManager()
+
+    def "lists holders largest first"() {
+        def small = holder("small", 10, 1)
+        def large = holder("large", 100, 2)
+
+        when:
+        memoryManager.addMemoryHolder(small)
+        memoryManager.addMemoryHolder(large)
+
+        then:
+        memoryManager.memoryHolders == [large, small]
+
+        when:
+        memoryManager.removeMemoryHolder(large)
+
+        then:
+        memoryManager.memoryHolders == [small]
+    }
+
+    def "releases least recently used holders until enough memory has been released"() {
+        def recent = holder("recent", 100, 3)
+        def older = holder("older", 100, 2)
+        def oldest = holder("oldest", 100, 1)
+        [recent, oldest, older].each { memoryManager.addMemoryHolder(it) }
+
+        when:
+        def released = memoryManager.releaseMemory(150)
+
+        then:
+        released == 200
+
+        and:
+        1 * oldest.release() >> 100
+
+        then:
+        1 * older.release() >> 100
+        0 * recent.release()
+    }
+
+    def "does not release empty holders"() {
+        def empty = holder("empty", 0, 1)
+        def full = holder("full", 100, 2)
+        [empty, full].each { memoryManager.addMemoryHolder(it) }
+
+        when:
+        def released = memoryManager.releaseMemory(50)
+
+        then:
+        released == 100
+        0 * empty.release()
+        1 * full.release() >> 100
+    }
+
+    def holder(String name, long size, long lastUsed) {
+        def holder = Mock(MemoryHolder)
+        _ * holder.displayName >> name
+        _ * holder.estimatedRetainedSize >> size
+        _ * holder.entryCount >> (size == 0 ? 0 : 1)
+        _ * holder.lastUsed >> lastUsed
+        return holder
+    }
+}
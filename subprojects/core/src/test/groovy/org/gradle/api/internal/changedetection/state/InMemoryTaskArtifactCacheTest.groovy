@@ -16,11 +16,13 @@
 
 package org.gradle.api.internal.changedetection.state
 
+import org.gradle.api.internal.cache.DefaultMemoryManager
 import org.gradle.cache.internal.MultiProcessSafePersistentIndexedCache
 import spock.lang.Specification
 
 class InMemoryTaskArtifactCacheTest extends Specification {
-    def cacheFactory = new InMemoryTaskArtifactCache()
+    def memoryManager = new DefaultMemoryManager()
+    def cacheFactory = new InMemoryTaskArtifactCache(memoryManager)
     def target = Mock(MultiProcessSafePersistentIndexedCache)
 
     def "caches result from backing cache"() {
@@ -133,4 +135,41 @@ class InMemoryTaskArtifactCacheTest extends Specification {
         0 * target._
     }
 
+    def "registers each cache with the memory manager"() {
+        given:
+        def cache = cacheFactory.decorate("path/fileHashes.bin", "fileHashes", target)
+        cacheFactory.decorate("path/taskArtifacts.bin", "taskArtifacts", target)
+
+        when:
+        cache.get("key")
+
+        then:
+        1 * target.get("key") >> "result"
+        memoryManager.memoryHolders*.displayName as Set == ["path/fileHashes.bin", "path/taskArtifacts.bin"] as Set
+        memoryManager.memoryHolders.find { it.displayName == "path/fileHashes.bin" }.entryCount == 1
+        memoryManager.memoryHolders.find { it.displayName == "path/fileHashes.bin" }.estimatedRetainedSize > 0
+    }
+
+    def "reloads from backing cache after memory has been released"() {
+        given:
+        def cache = cacheFactory.decorate("path/fileHashes.bin", "fileHashes", target)
+
+        when:
+        cache.get("key")
+
+        then:
+        1 * target.get("key") >> "result"
+
+        when:
+        def released = memoryManager.releaseMemory(1)
+        def result = cache.get("key")
+
+        then:
+        released > 0
+        result == "result"
+
+        and:
+        1 * target.get("key") >> "result"
+        0 * target._
+    }
 }
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.changedetection.state
+
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+class TaskHistoryWriterTest extends ConcurrentSpec {
+    def cacheAccess = Mock(TaskArtifactStateCacheAccess)
+    def writer = new TaskHistoryWriter(cacheAccess, executorFactory)
+
+    def "applies updates queued while writing in a single cache operation"() {
+        def update1 = Mock(Runnable)
+        def update2 = Mock(Runnable)
+        def update3 = Mock(Runnable)
+        def cacheOperations = 0
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            cacheOperations++
+            action.run()
+        }
+        update1.run() >> {
+            instant.writing
+            thread.blockUntil.queued
+        }
+
+        when:
+        async {
+            writer.write("a", update1)
+            thread.blockUntil.writing
+            writer.write("b", update2)
+            writer.write("c", update3)
+            instant.queued
+        }
+        writer.flush()
+
+        then:
+        1 * update2.run()
+
+        then:
+        1 * update3.run()
+
+        and:
+        cacheOperations == 2
+    }
+
+    def "flush for key waits for pending update for that key"() {
+        def update = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            action.run()
+        }
+        update.run() >> {
+            instant.writing
+            thread.block()
+            instant.written
+        }
+
+        when:
+        async {
+            start {
+                writer.write("a", update)
+            }
+            thread.blockUntil.writing
+            writer.flush("a")
+            instant.flushed
+        }
+
+        then:
+        instant.flushed > instant.written
+    }
+
+    def "flush for key does nothing when there are no pending updates"() {
+        when:
+        writer.flush("a")
+
+        then:
+        0 * cacheAccess._
+    }
+
+    def "rethrows failure to apply update"() {
+        def failure = new RuntimeException()
+        def update = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            action.run()
+        }
+        update.run() >> { throw failure }
+
+        when:
+        writer.write("a", update)
+        writer.flush()
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+    }
+
+    def "applies remaining updates and rethrows failure only for the key of the failed update"() {
+        def failure = new RuntimeException()
+        def update1 = Mock(Runnable)
+        def update2 = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            action.run()
+        }
+
+        when:
+        writer.write("a", update1)
+        writer.write("b", update2)
+        writer.flush("b")
+
+        then:
+        1 * update1.run() >> { throw failure }
+        1 * update2.run()
+        noExceptionThrown()
+
+        when:
+        writer.flush("a")
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+    }
+
+    def "remains failed after failure to apply update"() {
+        def failure = new RuntimeException()
+        def update1 = Mock(Runnable)
+        def update2 = Mock(Runnable)
+        def update3 = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            action.run()
+        }
+        update1.run() >> { throw failure }
+
+        when:
+        writer.write("a", update1)
+        writer.flush("b")
+        writer.flush()
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+
+        when:
+        writer.write("a", update2)
+
+        then:
+        e = thrown(RuntimeException)
+        e.is(failure)
+        0 * update2.run()
+
+        when:
+        writer.write("b", update3)
+        writer.stop()
+
+        then:
+        e = thrown(RuntimeException)
+        e.is(failure)
+        1 * update3.run()
+    }
+
+    def "fails every update in batch when cache cannot be accessed"() {
+        def failure = new RuntimeException()
+        def update1 = Mock(Runnable)
+        def update2 = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { throw failure }
+
+        when:
+        writer.write("a", update1)
+        writer.write("b", update2)
+        writer.flush("a")
+
+        then:
+        def e = thrown(RuntimeException)
+        e.is(failure)
+
+        when:
+        writer.flush("b")
+
+        then:
+        e = thrown(RuntimeException)
+        e.is(failure)
+        0 * update1.run()
+        0 * update2.run()
+    }
+
+    def "applies pending updates on stop"() {
+        def update = Mock(Runnable)
+
+        given:
+        cacheAccess.useCache(_, _ as Runnable) >> { String name, Runnable action ->
+            action.run()
+        }
+
+        when:
+        writer.write("a", update)
+        writer.stop()
+
+        then:
+        1 * update.run()
+    }
+}
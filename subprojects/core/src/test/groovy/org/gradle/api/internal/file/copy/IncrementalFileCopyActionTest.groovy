@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.api.internal.file.archive.ZipFileTree
+import org.gradle.api.internal.file.collections.FileTreeAdapter
+import org.gradle.internal.reflect.DirectInstantiator
+import org.gradle.test.fixtures.file.WorkspaceTest
+
+class IncrementalFileCopyActionTest extends WorkspaceTest {
+    def stateFile = file("state/copiedFiles.bin")
+
+    def "copies only files that changed since the previous copy"() {
+        given:
+        file("src/unchanged.txt").text = "unchanged"
+        file("src/changed.txt").text = "content"
+        copy()
+
+        when:
+        // Use a different length, so that the change is detected whatever the file system timestamp resolution
+        file("src/changed.txt").text = "changed content"
+        file("src/added.txt").text = "added"
+        def result = copy()
+
+        then:
+        result.didWork
+        file("dest/unchanged.txt").text == "unchanged"
+        file("dest/changed.txt").text == "changed content"
+        file("dest/added.txt").text == "added"
+    }
+
+    def "skips files that are unchanged since the previous copy"() {
+        given:
+        file("src/a.txt").text = "a"
+        file("src/dir/b.txt").text = "b"
+        copy()
+        def target = file("dest/dir/b.txt")
+        def lastModified = target.lastModified()
+
+        when:
+        def result = copy()
+
+        then:
+        !result.didWork
+        target.lastModified() == lastModified
+    }
+
+    def "copies file again when the copy has been changed"() {
+        given:
+        file("src/a.txt").text = "a"
+        copy()
+
+        when:
+        file("dest/a.txt").text = "modified"
+        copy()
+
+        then:
+        file("dest/a.txt").text == "a"
+    }
+
+    def "copies file again when the copy has been deleted"() {
+        given:
+        file("src/a.txt").text = "a"
+        copy()
+
+        when:
+        file("dest/a.txt").delete()
+        copy()
+
+        then:
+        file("dest/a.txt").text == "a"
+    }
+
+    def "copies all files when state is missing"() {
+        given:
+        file("src/a.txt").text = "a"
+        copy()
+
+        when:
+        stateFile.delete()
+        def result = copy()
+
+        then:
+        result.didWork
+        file("dest/a.txt").text == "a"
+    }
+
+    def "always copies filtered files"() {
+        given:
+        file("src/a.txt").text = "a"
+        copy { it.filter { line -> line.toUpperCase() } }
+
+        when:
+        def result = copy { it.filter { line -> line.toUpperCase() } }
+
+        then:
+        result.didWork
+        file("dest/a.txt").text.startsWith("A")
+    }
+
+    def "copies file again when it is copied from a different source directory"() {
+        given:
+        file("src/a.txt").text = "a"
+        file("other/a.txt").text = "b"
+        file("other/a.txt").lastModified = file("src/a.txt").lastModified()
+        copy()
+
+        when:
+        def result = copy("other")
+
+        then:
+        result.didWork
+        file("dest/a.txt").text == "b"
+    }
+
+    def "always copies files from archives"() {
+        given:
+        file("zip1/a.txt").text = "a"
+        file("zip2/a.txt").text = "b"
+        file("zip2/a.txt").lastModified = file("zip1/a.txt").lastModified()
+        file("zip1").zipTo(file("archive.zip"))
+        copy(zipTree("archive.zip"))
+
+        when:
+        // Replace the archive with one that has an entry with the same path, size and timestamp
+        file("archive.zip").delete()
+        file("zip2").zipTo(file("archive.zip"))
+        def result = copy(zipTree("archive.zip"))
+
+        then:
+        result.didWork
+        file("dest/a.txt").text == "b"
+    }
+
+    private zipTree(String path) {
+        return new FileTreeAdapter(new ZipFileTree(file(path), file("expanded"), TestFiles.fileSystem(), TestFiles.directoryFileTreeFactory()))
+    }
+
+    private copy(Closure configure) {
+        return copy("src", configure)
+    }
+
+    private copy(Object source = "src", Closure configure = {}) {
+        def spec = new DefaultCopySpec(TestFiles.resolver(testDirectory), DirectInstantiator.INSTANCE)
+        spec.from(source)
+        configure(spec)
+        def action = new FileCopyAction(TestFiles.resolver(file("dest")), stateFile, null)
+        return new CopyActionExecuter(DirectInstantiator.INSTANCE, TestFiles.fileSystem()).execute(spec, action)
+    }
+}
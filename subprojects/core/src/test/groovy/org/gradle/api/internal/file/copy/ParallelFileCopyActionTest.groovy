@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.file.copy
+
+import org.gradle.api.GradleException
+import org.gradle.api.file.DuplicatesStrategy
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.operations.DefaultBuildOperationProcessor
+import org.gradle.internal.operations.DefaultBuildOperationQueueFactory
+import org.gradle.internal.reflect.DirectInstantiator
+import org.gradle.test.fixtures.file.WorkspaceTest
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ParallelFileCopyActionTest extends WorkspaceTest {
+    def buildOperationProcessor = new DefaultBuildOperationProcessor(new DefaultBuildOperationQueueFactory(), new DefaultExecutorFactory(), 4)
+
+    def cleanup() {
+        buildOperationProcessor.stop()
+    }
+
+    def "copies files using build operation workers"() {
+        given:
+        100.times { file("src/dir${it % 10}/file${it}.txt").text = "content $it" }
+
+        when:
+        def result = copy()
+
+        then:
+        result.didWork
+        100.times { assert file("dest/dir${it % 10}/file${it}.txt").text == "content $it" }
+    }
+
+    def "later file copied to the same target wins"() {
+        given:
+        file("src1/file.txt").text = "first"
+        file("src2/file.txt").text = "second"
+
+        when:
+        copy {
+            it.duplicatesStrategy = DuplicatesStrategy.INCLUDE
+            it.from("src1")
+            it.from("src2")
+        }
+
+        then:
+        file("dest/file.txt").text == "second"
+    }
+
+    def "copies files with line filters on the visiting thread"() {
+        def threads = new CopyOnWriteArrayList<Thread>()
+
+        given:
+        file("src/a.txt").text = "a"
+        file("src/b.txt").text = "b"
+
+        when:
+        copy {
+            it.from("src")
+            it.filter { line ->
+                threads << Thread.currentThread()
+                line.toUpperCase()
+            }
+        }
+
+        then:
+        file("dest/a.txt").text.startsWith("A")
+        file("dest/b.txt").text.startsWith("B")
+        !threads.empty
+        threads.every { it == Thread.currentThread() }
+    }
+
+    def "expands files on the visiting thread"() {
+        def threads = new CopyOnWriteArrayList<Thread>()
+
+        given:
+        file("src/a.txt").text = 'a ${value}'
+        file("src/b.txt").text = 'b ${value}'
+
+        when:
+        copy {
+            it.from("src")
+            it.expand(value: "${-> threads << Thread.currentThread(); 'expanded'}")
+        }
+
+        then:
+        file("dest/a.txt").text == "a expanded"
+        file("dest/b.txt").text == "b expanded"
+        threads.size() == 2
+        threads.every { it == Thread.currentThread() }
+    }
+
+    def "copies files with filter readers on the visiting thread"() {
+        given:
+        ThreadRecordingFilterReader.THREADS.clear()
+        file("src/a.txt").text = "a"
+        file("src/b.txt").text = "b"
+
+        when:
+        copy {
+            it.from("src")
+            it.filter([suffix: "!"], ThreadRecordingFilterReader)
+        }
+
+        then:
+        file("dest/a.txt").text == "a"
+        file("dest/b.txt").text == "b"
+        ThreadRecordingFilterReader.THREADS.size() == 2
+        ThreadRecordingFilterReader.THREADS.every { it == Thread.currentThread() }
+    }
+
+    def "reports failure to copy a file"() {
+        given:
+        file("src/file.txt").text = "content"
+        file("dest/file.txt").createDir()
+
+        when:
+        copy()
+
+        then:
+        def e = thrown(GradleException)
+        e.message.startsWith("Could not copy")
+    }
+
+    static class ThreadRecordingFilterReader extends FilterReader {
+        static final List<Thread> THREADS = new CopyOnWriteArrayList<Thread>()
+        String suffix
+
+        ThreadRecordingFilterReader(Reader reader) {
+            super(reader)
+            THREADS << Thread.currentThread()
+        }
+    }
+
+    private copy(Closure configure = { it.from("src") }) {
+        def spec = new DefaultCopySpec(TestFiles.resolver(testDirectory), DirectInstantiator.INSTANCE)
+        configure(spec)
+        def action = new FileCopyAction(TestFiles.resolver(file("dest")), null, buildOperationProcessor)
+        return new CopyActionExecuter(DirectInstantiator.INSTANCE, TestFiles.fileSystem()).execute(spec, action)
+    }
+}
@@ -328,6 +328,50 @@ class DefaultCacheAccessTest extends ConcurrentSpec {
         !access.owner
     }
 
+    def "records time spent waiting for another thread that is using the cache"() {
+        given:
+        lockManager.lock(lockFile, mode(Exclusive), "<display-name>", _) >> lock
+        access.open(mode(None))
+
+        when:
+        async {
+            start {
+                access.useCache("first operation") {
+                    instant.firstStarted
+                    thread.block()
+                }
+            }
+            start {
+                thread.blockUntil.firstStarted
+                access.useCache("second operation") {
+                    instant.secondStarted
+                }
+            }
+        }
+
+        then:
+        access.ownershipWaitCount == 1
+        access.fileLockCount == 1
+        access.fileLockWaitCount == 0
+    }
+
+    def "records time spent waiting for another process that holds the file lock"() {
+        given:
+        lockManager.lock(lockFile, mode(Exclusive), "<display-name>", _) >> {
+            Thread.sleep(20)
+            lock
+        }
+        access.open(mode(None))
+
+        when:
+        access.useCache("some operation") {}
+
+        then:
+        access.ownershipWaitCount == 0
+        access.fileLockCount == 1
+        access.fileLockWaitCount == 1
+    }
+
     def "use cache operation does not allow shared locks"() {
         given:
         1 * lockManager.lock(lockFile, mode(Shared), "<display-name>") >> lock
@@ -212,6 +212,22 @@ class WatchPointsRegistryTest extends Specification {
         !delta.shouldWatch(rootDir)
     }
 
+    def "directory sharing a name prefix with an existing watch point is not treated as its parent"() {
+        given:
+        def existing = rootDir.createDir("a/bc")
+        def dir = rootDir.file("a/b/c/d")
+
+        when:
+        def delta = appendInput(dir, [existing])
+
+        then:
+        delta.shouldWatch(rootDir.file("a/b"))
+        delta.shouldWatch(rootDir.file("a/b/c"))
+
+        and: 'should not watch a parent of an existing watchpoint'
+        !delta.shouldWatch(rootDir.file("a"))
+    }
+
     def "non-existing directories get watched when events arrive later"() {
         given:
         rootDir.createDir("src")
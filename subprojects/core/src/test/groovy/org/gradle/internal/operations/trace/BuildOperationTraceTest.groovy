@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.operations.trace
+
+import groovy.json.JsonSlurper
+import org.gradle.internal.progress.BuildOperationInternal
+import org.gradle.internal.progress.OperationResult
+import org.gradle.internal.progress.OperationStartEvent
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildOperationTraceTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def "writes nested operations as chrome trace events"() {
+        def file = tmpDir.file("trace/trace.json")
+        def trace = new BuildOperationTrace(file)
+
+        when:
+        operationStarted(trace, "outer")
+        operationStarted(trace, "inner \"quoted\"")
+        operationFinished(trace)
+        operationFinished(trace)
+        trace.completed()
+
+        then:
+        def json = new JsonSlurper().parse(file)
+        def events = json.traceEvents
+        events*.ph == ["M", "B", "B", "E", "E"]
+        events[0].args.name == Thread.currentThread().name
+        events[1].name == "outer"
+        events[2].name == "inner \"quoted\""
+        events*.tid.unique() == [Thread.currentThread().id]
+        events[1].ts <= events[2].ts
+        events[3].ts <= events[4].ts
+        json.otherData.droppedOperations == "0"
+    }
+
+    def "records operations from each thread separately"() {
+        def trace = new BuildOperationTrace(tmpDir.file("trace.json"))
+
+        when:
+        [1, 2].collect { index ->
+            Thread.start {
+                operationStarted(trace, "thread " + index)
+                operationFinished(trace)
+            }
+        }*.join()
+        trace.completed()
+
+        then:
+        def events = new JsonSlurper().parse(tmpDir.file("trace.json")).traceEvents
+        events.findAll { it.ph == "M" }.size() == 2
+        events.findAll { it.ph == "B" }*.name as Set == ["thread 1", "thread 2"] as Set
+        events.findAll { it.ph == "B" }*.tid.unique().size() == 2
+    }
+
+    def "drops operations when buffer is full and keeps events nested"() {
+        def file = tmpDir.file("trace.json")
+        def trace = new BuildOperationTrace(file, 4)
+
+        when:
+        operationStarted(trace, "1")
+        operationStarted(trace, "2")
+        operationStarted(trace, "3")
+        operationFinished(trace)
+        operationFinished(trace)
+        operationStarted(trace, "4")
+        operationFinished(trace)
+        operationFinished(trace)
+        trace.completed()
+
+        then:
+        def json = new JsonSlurper().parse(file)
+        json.traceEvents*.ph == ["M", "B", "B", "E", "E"]
+        json.traceEvents.findAll { it.ph == "B" }*.name == ["1", "2"]
+        json.otherData.droppedOperations == "2"
+    }
+
+    def "closes operations that are still running when the trace is written"() {
+        def file = tmpDir.file("trace.json")
+        def trace = new BuildOperationTrace(file)
+
+        when:
+        operationStarted(trace, "running")
+        trace.completed()
+
+        then:
+        new JsonSlurper().parse(file).traceEvents*.ph == ["M", "B", "E"]
+    }
+
+    def operationStarted(BuildOperationTrace trace, String name) {
+        trace.started(new BuildOperationInternal(name, null, name), new OperationStartEvent(0))
+    }
+
+    def operationFinished(BuildOperationTrace trace) {
+        trace.finished(new BuildOperationInternal("id", null, "name"), new OperationResult(0, 0, null))
+    }
+}
@@ -150,6 +150,7 @@ public class IdeaDependenciesProvider {
 
     private Set<Dependency> provideFromScopeRuleMappings(IdeaModule ideaModule) {
         Multimap<IdeDependencyKey<?, Dependency>, String> dependencyToConfigurations = LinkedHashMultimap.create();
+        List<IdeExtendedRepoFileDependency> repoFileDependencies = new ArrayList<IdeExtendedRepoFileDependency>();
         for (Configuration configuration : ideaConfigurations(ideaModule)) {
             // project dependencies
             Collection<IdeProjectDependency> ideProjectDependencies = dependenciesExtractor.extractProjectDependencies(
@@ -166,10 +167,14 @@ public class IdeaDependenciesProvider {
             }
             // repository dependencies
             if (!ideaModule.isOffline()) {
+                // sources and javadoc are downloaded below, for the dependencies of all configurations at once
                 Collection<IdeExtendedRepoFileDependency> ideRepoFileDependencies = dependenciesExtractor.extractRepoFileDependencies(
                         ideaModule.getProject().getDependencies(), Collections.singletonList(configuration), Collections.<Configuration>emptyList(),
-                        ideaModule.isDownloadSources(), ideaModule.isDownloadJavadoc());
+                        false, false);
                 for (IdeExtendedRepoFileDependency ideRepoFileDependency : ideRepoFileDependencies) {
+                    if (!(ideRepoFileDependency instanceof UnresolvedIdeRepoFileDependency)) {
+                        repoFileDependencies.add(ideRepoFileDependency);
+                    }
                     IdeDependencyKey<?, Dependency> key = IdeDependencyKey.forRepoFileDependency(
                             ideRepoFileDependency,
                             new IdeDependencyKey.DependencyBuilder<IdeExtendedRepoFileDependency, Dependency>() {
@@ -199,6 +204,10 @@ public class IdeaDependenciesProvider {
                 dependencyToConfigurations.put(key, configuration.getName());
             }
         }
+        if (!ideaModule.isOffline()) {
+            dependenciesExtractor.downloadAuxiliaryArtifacts(ideaModule.getProject().getDependencies(), repoFileDependencies,
+                    ideaModule.isDownloadSources(), ideaModule.isDownloadJavadoc());
+        }
 
         Set<Dependency> dependencies = new LinkedHashSet<Dependency>();
         for (GeneratedIdeaScope scope : GeneratedIdeaScope.values()) {
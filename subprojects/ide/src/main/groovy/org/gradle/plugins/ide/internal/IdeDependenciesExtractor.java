@@ -69,12 +69,23 @@ public class IdeDependenciesExtractor {
     }
 
     public Collection<IdeExtendedRepoFileDependency> extractRepoFileDependencies(DependencyHandler dependencyHandler, Collection<Configuration> plusConfigurations, Collection<Configuration> minusConfigurations, boolean downloadSources, boolean downloadJavadoc) {
-        // can have multiple IDE dependencies with same component identifier (see GRADLE-1622)
-        Multimap<ComponentIdentifier, IdeExtendedRepoFileDependency> resolvedDependenciesComponentMap = LinkedHashMultimap.create();
-        for (IdeExtendedRepoFileDependency dep : resolvedExternalDependencies(plusConfigurations, minusConfigurations)) {
-            resolvedDependenciesComponentMap.put(toComponentIdentifier(dep.getId()), dep);
-        }
+        Collection<IdeExtendedRepoFileDependency> resolvedDependencies = resolvedExternalDependencies(plusConfigurations, minusConfigurations);
+        downloadAuxiliaryArtifacts(dependencyHandler, resolvedDependencies, downloadSources, downloadJavadoc);
+
+        Collection<UnresolvedIdeRepoFileDependency> unresolvedDependencies = unresolvedExternalDependencies(plusConfigurations, minusConfigurations);
+
+        Collection<IdeExtendedRepoFileDependency> resolvedAndUnresolved = new ArrayList<IdeExtendedRepoFileDependency>(unresolvedDependencies.size() + resolvedDependencies.size());
+        resolvedAndUnresolved.addAll(resolvedDependencies);
+        resolvedAndUnresolved.addAll(unresolvedDependencies);
+
+        return resolvedAndUnresolved;
+    }
 
+    /**
+     * Attaches source and javadoc files to the given dependencies, using a single artifact resolution query for all of them.
+     * Callers that extract dependencies for several configurations separately should collect them and download their artifacts in one go.
+     */
+    public void downloadAuxiliaryArtifacts(DependencyHandler dependencyHandler, Collection<IdeExtendedRepoFileDependency> dependencies, boolean downloadSources, boolean downloadJavadoc) {
         List<Class<? extends Artifact>> artifactTypes = new ArrayList<Class<? extends Artifact>>(2);
         if (downloadSources) {
             artifactTypes.add(SourcesArtifact.class);
@@ -84,16 +95,17 @@ public class IdeDependenciesExtractor {
             artifactTypes.add(JavadocArtifact.class);
         }
 
-        downloadAuxiliaryArtifacts(dependencyHandler, resolvedDependenciesComponentMap, artifactTypes);
-
-        Collection<UnresolvedIdeRepoFileDependency> unresolvedDependencies = unresolvedExternalDependencies(plusConfigurations, minusConfigurations);
-        Collection<IdeExtendedRepoFileDependency> resolvedDependencies = resolvedDependenciesComponentMap.values();
+        if (artifactTypes.isEmpty() || dependencies.isEmpty()) {
+            return;
+        }
 
-        Collection<IdeExtendedRepoFileDependency> resolvedAndUnresolved = new ArrayList<IdeExtendedRepoFileDependency>(unresolvedDependencies.size() + resolvedDependencies.size());
-        resolvedAndUnresolved.addAll(resolvedDependencies);
-        resolvedAndUnresolved.addAll(unresolvedDependencies);
+        // can have multiple IDE dependencies with same component identifier (see GRADLE-1622)
+        Multimap<ComponentIdentifier, IdeExtendedRepoFileDependency> dependenciesByComponent = LinkedHashMultimap.create();
+        for (IdeExtendedRepoFileDependency dep : dependencies) {
+            dependenciesByComponent.put(toComponentIdentifier(dep.getId()), dep);
+        }
 
-        return resolvedAndUnresolved;
+        downloadAuxiliaryArtifacts(dependencyHandler, dependenciesByComponent, artifactTypes);
     }
 
     private ModuleComponentIdentifier toComponentIdentifier(ModuleVersionIdentifier id) {
@@ -101,10 +113,6 @@ public class IdeDependenciesExtractor {
     }
 
     private static void downloadAuxiliaryArtifacts(DependencyHandler dependencyHandler, Multimap<ComponentIdentifier, IdeExtendedRepoFileDependency> dependencies, List<Class<? extends Artifact>> artifactTypes) {
-        if (artifactTypes.isEmpty()) {
-            return;
-        }
-
         ArtifactResolutionQuery query = dependencyHandler.createArtifactResolutionQuery();
         query.forComponents(dependencies.keySet());
 
@@ -16,6 +16,7 @@
 
 package org.gradle.plugins.ide.idea.model.internal
 
+import org.gradle.api.artifacts.dsl.DependencyHandler
 import org.gradle.api.internal.project.DefaultProject
 import org.gradle.plugins.ide.idea.IdeaPlugin
 import org.gradle.plugins.ide.idea.model.Dependency
@@ -230,6 +231,54 @@ public class IdeaDependenciesProviderTest extends Specification {
         result.findAll { it.scope == 'TEST' }.size() == 1
     }
 
+    def "downloads sources and javadoc once for all configurations"() {
+        applyPluginToProjects()
+        project.apply(plugin: 'java')
+
+        def dependenciesExtractor = Spy(IdeDependenciesExtractor)
+        def dependenciesProvider = new IdeaDependenciesProvider(dependenciesExtractor)
+        def module = project.ideaModule.module
+        module.offline = false
+        module.downloadSources = true
+        module.downloadJavadoc = true
+        def queries = 0
+
+        when:
+        project.repositories.maven { url mavenModule('org.test', 'lib', '1.0') }
+        project.dependencies.add('runtime', 'org.test:lib:1.0')
+        project.dependencies.add('testCompile', 'org.test:lib:1.0')
+        def result = dependenciesProvider.provide(module)
+
+        then:
+        _ * dependenciesExtractor.downloadAuxiliaryArtifacts(_, _, _, _) >> { DependencyHandler handler, Collection dependencies, boolean sources, boolean javadoc ->
+            def countingHandler = [createArtifactResolutionQuery: { queries++; handler.createArtifactResolutionQuery() }] as DependencyHandler
+            callRealMethodWithArgs(countingHandler, dependencies, sources, javadoc)
+        }
+        queries == 1
+
+        and:
+        def libraries = result.findAll { SingleEntryModuleLibrary library -> library.libraryFile.path.endsWith('lib-1.0.jar') }
+        libraries*.scope as Set == ['RUNTIME', 'TEST'] as Set
+        libraries.every { SingleEntryModuleLibrary library -> library.sourceFile?.path?.endsWith('lib-1.0-sources.jar') }
+        libraries.every { SingleEntryModuleLibrary library -> library.javadocFile?.path?.endsWith('lib-1.0-javadoc.jar') }
+    }
+
+    private File mavenModule(String group, String name, String version) {
+        def repo = new File(project.projectDir, 'repo')
+        def moduleDir = new File(repo, "${group.replace('.', '/')}/$name/$version")
+        moduleDir.mkdirs()
+        new File(moduleDir, "$name-${version}.pom").text = """<project xmlns="http://maven.apache.org/POM/4.0.0">
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>$group</groupId>
+    <artifactId>$name</artifactId>
+    <version>$version</version>
+</project>"""
+        ['', '-sources', '-javadoc'].each { classifier ->
+            new File(moduleDir, "$name-$version${classifier}.jar").text = classifier
+        }
+        return repo
+    }
+
     private applyPluginToProjects() {
         project.apply plugin: IdeaPlugin
         childProject.apply plugin: IdeaPlugin
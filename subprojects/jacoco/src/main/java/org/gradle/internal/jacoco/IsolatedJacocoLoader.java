@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.internal.initialization.ClassLoaderIds;
+import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
+import org.gradle.internal.classloader.ClasspathUtil;
+import org.gradle.internal.classloader.FilteringClassLoader;
+import org.gradle.internal.classpath.ClassPath;
+import org.gradle.internal.classpath.DefaultClassPath;
+
+import java.io.File;
+
+/**
+ * Loads the native JaCoCo report and merge implementations against the JaCoCo classes of the {@code jacocoAnt} configuration.
+ *
+ * <p>Gradle is not compiled against a particular JaCoCo version, so the implementations are loaded into a class loader that contains
+ * the JaCoCo classpath and the classes of this plugin. Only the JDK and the types of the {@link JacocoReportGenerator} and
+ * {@link JacocoExecutionDataMerger} contracts are shared with Gradle's class loader. The class loader is taken from the class loader cache,
+ * so tasks with the same JaCoCo classpath share it for as long as the classpath does not change.</p>
+ */
+public class IsolatedJacocoLoader {
+    /**
+     * System property that switches from the JaCoCo Ant tasks to the native implementations.
+     */
+    public static final String ENABLED_PROPERTY = "org.gradle.jacoco.native";
+
+    private static final String REPORT_GENERATOR_CLASS = "org.gradle.internal.jacoco.ParallelJacocoReportGenerator";
+    private static final String EXECUTION_DATA_MERGER_CLASS = "org.gradle.internal.jacoco.StreamingJacocoExecutionDataMerger";
+
+    // The same parent for every JaCoCo classpath, so that the class loader cache can match the class loaders it created before
+    private static final ClassLoader CONTRACTS_CLASS_LOADER = createContractsClassLoader();
+
+    private final ClassLoader classLoader;
+
+    public IsolatedJacocoLoader(ClassLoaderCache classLoaderCache, String taskPath, Iterable<File> jacocoClasspath) {
+        ClassPath classPath = new DefaultClassPath(jacocoClasspath).plus(new DefaultClassPath(ClasspathUtil.getClasspathForClass(JacocoReportGenerator.class)));
+        classLoader = classLoaderCache.get(ClassLoaderIds.jacocoTaskClasspath(taskPath), classPath, CONTRACTS_CLASS_LOADER, null);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    public JacocoReportGenerator createReportGenerator() {
+        return JacocoReportGenerator.class.cast(newInstance(REPORT_GENERATOR_CLASS));
+    }
+
+    public JacocoExecutionDataMerger createExecutionDataMerger() {
+        return JacocoExecutionDataMerger.class.cast(newInstance(EXECUTION_DATA_MERGER_CLASS));
+    }
+
+    private Object newInstance(String className) {
+        try {
+            return classLoader.loadClass(className).newInstance();
+        } catch (Exception e) {
+            throw new GradleException(String.format("Could not load %s from the JaCoCo classpath.", className), e);
+        }
+    }
+
+    private static ClassLoader createContractsClassLoader() {
+        FilteringClassLoader contracts = new FilteringClassLoader(IsolatedJacocoLoader.class.getClassLoader());
+        contracts.allowClass(JacocoReportGenerator.class);
+        contracts.allowClass(JacocoReportSpec.class);
+        contracts.allowClass(JacocoExecutionDataMerger.class);
+        return contracts;
+    }
+}
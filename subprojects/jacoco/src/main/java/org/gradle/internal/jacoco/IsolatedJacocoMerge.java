@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import com.google.common.collect.Lists;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Merges JaCoCo execution data with the {@link JacocoExecutionDataMerger} loaded from the JaCoCo classpath.
+ */
+public class IsolatedJacocoMerge {
+
+    private final ClassLoaderCache classLoaderCache;
+    private final String taskPath;
+
+    public IsolatedJacocoMerge(ClassLoaderCache classLoaderCache, String taskPath) {
+        this.classLoaderCache = classLoaderCache;
+        this.taskPath = taskPath;
+    }
+
+    public void execute(FileCollection classpath, FileCollection executionData, File destinationFile) {
+        JacocoExecutionDataMerger merger = new IsolatedJacocoLoader(classLoaderCache, taskPath, classpath).createExecutionDataMerger();
+        try {
+            merger.merge(Lists.newArrayList(executionData), destinationFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import com.google.common.collect.Lists;
+import org.gradle.api.Action;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
+import org.gradle.api.reporting.Report;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.operations.BuildOperationProcessor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
+import org.gradle.testing.jacoco.tasks.JacocoReportsContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates JaCoCo reports with the {@link JacocoReportGenerator} loaded from the JaCoCo classpath. The class files are analyzed in batches and the
+ * reports are written as build operations, so they share the build's worker limit with other tasks.
+ */
+public class IsolatedJacocoReport {
+
+    private final ClassLoaderCache classLoaderCache;
+    private final String taskPath;
+    private final BuildOperationProcessor buildOperationProcessor;
+
+    public IsolatedJacocoReport(ClassLoaderCache classLoaderCache, String taskPath, BuildOperationProcessor buildOperationProcessor) {
+        this.classLoaderCache = classLoaderCache;
+        this.taskPath = taskPath;
+        this.buildOperationProcessor = buildOperationProcessor;
+    }
+
+    public void execute(FileCollection classpath, String projectName,
+                        FileCollection allClassesDirs, FileCollection allSourcesDirs,
+                        FileCollection executionData,
+                        JacocoReportsContainer reports) {
+        JacocoReportSpec spec = new JacocoReportSpec(projectName,
+            Lists.newArrayList(allClassesDirs), Lists.newArrayList(allSourcesDirs), Lists.newArrayList(executionData),
+            destinationOf(reports.getHtml()), destinationOf(reports.getXml()), destinationOf(reports.getCsv()));
+        JacocoReportGenerator generator = new IsolatedJacocoLoader(classLoaderCache, taskPath, classpath).createReportGenerator();
+        try {
+            run("Analyze class files for JaCoCo report", generator.analyze(spec));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run("Write JaCoCo report", generator.createReportWriters());
+    }
+
+    private void run(final String description, final List<Callable<Void>> operations) {
+        buildOperationProcessor.run(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+            @Override
+            public void execute(BuildOperationQueue<RunnableBuildOperation> queue) {
+                for (Callable<Void> operation : operations) {
+                    queue.add(new JacocoOperation(description, operation));
+                }
+            }
+        });
+    }
+
+    private static File destinationOf(Report report) {
+        return report.isEnabled() ? report.getDestination() : null;
+    }
+
+    private static class JacocoOperation implements RunnableBuildOperation {
+        private final String description;
+        private final Callable<Void> operation;
+
+        JacocoOperation(String description, Callable<Void> operation) {
+            this.description = description;
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            try {
+                operation.call();
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfoStore;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads execution data files. Only loaded into the JaCoCo class loader created by {@link IsolatedJacocoLoader}.
+ */
+class JacocoExecutionDataFiles {
+    private JacocoExecutionDataFiles() {
+    }
+
+    /**
+     * Streams the given execution data files, one at a time, into the given stores. The probes of classes that occur in several files are merged.
+     * Files that do not exist are ignored.
+     */
+    static void read(List<File> executionData, ExecutionDataStore executionDataStore, SessionInfoStore sessionInfoStore) throws IOException {
+        for (File file : executionData) {
+            if (!file.isFile()) {
+                continue;
+            }
+            InputStream inputStream = new BufferedInputStream(new FileInputStream(file));
+            try {
+                ExecutionDataReader reader = new ExecutionDataReader(inputStream);
+                reader.setExecutionDataVisitor(executionDataStore);
+                reader.setSessionInfoVisitor(sessionInfoStore);
+                reader.read();
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Generates JaCoCo coverage reports in two steps, each made of operations that the caller can run concurrently. Implementations are loaded by
+ * {@link IsolatedJacocoLoader}, and an instance generates the reports of a single spec.
+ */
+public interface JacocoReportGenerator {
+    /**
+     * Reads the execution data of the given spec and returns the analysis of its class files, split into batches.
+     */
+    List<Callable<Void>> analyze(JacocoReportSpec spec) throws IOException;
+
+    /**
+     * Combines the results of the analysis and returns one writer per enabled report. Must only be called once all the analysis batches have completed.
+     */
+    List<Callable<Void>> createReportWriters();
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * The inputs and outputs of a report generated by a {@link JacocoReportGenerator}. Only refers to JDK types, as it is shared with the JaCoCo class loader.
+ */
+public class JacocoReportSpec {
+    private final String projectName;
+    private final List<File> classDirs;
+    private final List<File> sourceDirs;
+    private final List<File> executionData;
+    private final File htmlDestination;
+    private final File xmlDestination;
+    private final File csvDestination;
+
+    public JacocoReportSpec(String projectName, List<File> classDirs, List<File> sourceDirs, List<File> executionData,
+                            File htmlDestination, File xmlDestination, File csvDestination) {
+        this.projectName = projectName;
+        this.classDirs = classDirs;
+        this.sourceDirs = sourceDirs;
+        this.executionData = executionData;
+        this.htmlDestination = htmlDestination;
+        this.xmlDestination = xmlDestination;
+        this.csvDestination = csvDestination;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public List<File> getClassDirs() {
+        return classDirs;
+    }
+
+    public List<File> getSourceDirs() {
+        return sourceDirs;
+    }
+
+    public List<File> getExecutionData() {
+        return executionData;
+    }
+
+    /**
+     * The directory to write the HTML report to, or null when the HTML report is disabled.
+     */
+    public File getHtmlDestination() {
+        return htmlDestination;
+    }
+
+    /**
+     * The file to write the XML report to, or null when the XML report is disabled.
+     */
+    public File getXmlDestination() {
+        return xmlDestination;
+    }
+
+    /**
+     * The file to write the CSV report to, or null when the CSV report is disabled.
+     */
+    public File getCsvDestination() {
+        return csvDestination;
+    }
+}
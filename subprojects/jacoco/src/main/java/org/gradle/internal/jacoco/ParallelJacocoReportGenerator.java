@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IBundleCoverage;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.SessionInfo;
+import org.jacoco.core.data.SessionInfoStore;
+import org.jacoco.report.DirectorySourceFileLocator;
+import org.jacoco.report.FileMultiReportOutput;
+import org.jacoco.report.IReportVisitor;
+import org.jacoco.report.ISourceFileLocator;
+import org.jacoco.report.csv.CSVFormatter;
+import org.jacoco.report.html.HTMLFormatter;
+import org.jacoco.report.xml.XMLFormatter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Generates the reports in the same way as the JaCoCo Ant report task, except that the class files are analyzed in batches and the report formats
+ * are written separately, so that the caller can run them concurrently. Only loaded into the JaCoCo class loader created by {@link IsolatedJacocoLoader}.
+ */
+public class ParallelJacocoReportGenerator implements JacocoReportGenerator {
+    private static final int FILES_PER_BATCH = 100;
+    private static final int TAB_WIDTH = 4;
+
+    private final ExecutionDataStore executionDataStore = new ExecutionDataStore();
+    private final SessionInfoStore sessionInfoStore = new SessionInfoStore();
+    private JacocoReportSpec spec;
+    private AtomicReferenceArray<Collection<IClassCoverage>> batchResults;
+
+    @Override
+    public List<Callable<Void>> analyze(JacocoReportSpec spec) throws IOException {
+        this.spec = spec;
+        JacocoExecutionDataFiles.read(spec.getExecutionData(), executionDataStore, sessionInfoStore);
+
+        List<File> classFiles = new ArrayList<File>();
+        for (File classDir : spec.getClassDirs()) {
+            collectFiles(classDir, classFiles);
+        }
+
+        // The execution data is only read from here on, so the analyzers of all batches can share it
+        int batchCount = (classFiles.size() + FILES_PER_BATCH - 1) / FILES_PER_BATCH;
+        batchResults = new AtomicReferenceArray<Collection<IClassCoverage>>(batchCount);
+        List<Callable<Void>> batches = new ArrayList<Callable<Void>>(batchCount);
+        for (int index = 0; index < batchCount; index++) {
+            final int batchIndex = index;
+            final List<File> batch = classFiles.subList(index * FILES_PER_BATCH, Math.min((index + 1) * FILES_PER_BATCH, classFiles.size()));
+            batches.add(new Callable<Void>() {
+                @Override
+                public Void call() throws IOException {
+                    CoverageBuilder coverageBuilder = new CoverageBuilder();
+                    Analyzer analyzer = new Analyzer(executionDataStore, coverageBuilder);
+                    for (File file : batch) {
+                        analyzer.analyzeAll(file);
+                    }
+                    batchResults.set(batchIndex, coverageBuilder.getClasses());
+                    return null;
+                }
+            });
+        }
+        return batches;
+    }
+
+    @Override
+    public List<Callable<Void>> createReportWriters() {
+        if (batchResults == null) {
+            throw new IllegalStateException("The class files must be analyzed before the reports are written.");
+        }
+
+        // CoverageBuilder is not thread-safe, so the results of the batches are combined on this thread
+        CoverageBuilder coverageBuilder = new CoverageBuilder();
+        for (int index = 0; index < batchResults.length(); index++) {
+            Collection<IClassCoverage> classes = batchResults.get(index);
+            if (classes == null) {
+                throw new IllegalStateException("The reports can only be written once all the class files are analyzed.");
+            }
+            for (IClassCoverage classCoverage : classes) {
+                coverageBuilder.visitCoverage(classCoverage);
+            }
+        }
+
+        // Nothing below changes once the reports are being written, so each report can be written on its own thread
+        final IBundleCoverage bundle = coverageBuilder.getBundle(spec.getProjectName());
+        final List<SessionInfo> sessionInfos = sessionInfoStore.getInfos();
+        final Collection<ExecutionData> executionData = executionDataStore.getContents();
+
+        List<Callable<Void>> writers = new ArrayList<Callable<Void>>(3);
+        if (spec.getHtmlDestination() != null) {
+            writers.add(new ReportWriter(bundle, sessionInfos, executionData) {
+                @Override
+                protected IReportVisitor createVisitor(List<OutputStream> outputStreams) throws IOException {
+                    return new HTMLFormatter().createVisitor(new FileMultiReportOutput(spec.getHtmlDestination()));
+                }
+            });
+        }
+        if (spec.getXmlDestination() != null) {
+            writers.add(new ReportWriter(bundle, sessionInfos, executionData) {
+                @Override
+                protected IReportVisitor createVisitor(List<OutputStream> outputStreams) throws IOException {
+                    return new XMLFormatter().createVisitor(open(spec.getXmlDestination(), outputStreams));
+                }
+            });
+        }
+        if (spec.getCsvDestination() != null) {
+            writers.add(new ReportWriter(bundle, sessionInfos, executionData) {
+                @Override
+                protected IReportVisitor createVisitor(List<OutputStream> outputStreams) throws IOException {
+                    return new CSVFormatter().createVisitor(open(spec.getCsvDestination(), outputStreams));
+                }
+            });
+        }
+        return writers;
+    }
+
+    private static void collectFiles(File file, List<File> files) throws IOException {
+        if (!file.isDirectory()) {
+            files.add(file);
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children == null) {
+            throw new IOException(String.format("Could not list contents of directory '%s'.", file));
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            collectFiles(child, files);
+        }
+    }
+
+    private static OutputStream open(File file, List<OutputStream> outputStreams) throws IOException {
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs()) {
+            throw new IOException(String.format("Could not create directory '%s'.", parentDir));
+        }
+        OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file));
+        outputStreams.add(outputStream);
+        return outputStream;
+    }
+
+    private abstract class ReportWriter implements Callable<Void> {
+        private final IBundleCoverage bundle;
+        private final List<SessionInfo> sessionInfos;
+        private final Collection<ExecutionData> executionData;
+
+        ReportWriter(IBundleCoverage bundle, List<SessionInfo> sessionInfos, Collection<ExecutionData> executionData) {
+            this.bundle = bundle;
+            this.sessionInfos = sessionInfos;
+            this.executionData = executionData;
+        }
+
+        protected abstract IReportVisitor createVisitor(List<OutputStream> outputStreams) throws IOException;
+
+        @Override
+        public Void call() throws IOException {
+            List<OutputStream> outputStreams = new ArrayList<OutputStream>(1);
+            try {
+                IReportVisitor visitor = createVisitor(outputStreams);
+                visitor.visitInfo(sessionInfos, executionData);
+                visitor.visitBundle(bundle, new SourceDirectoriesLocator(spec.getSourceDirs()));
+                visitor.visitEnd();
+            } finally {
+                for (OutputStream outputStream : outputStreams) {
+                    outputStream.close();
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class SourceDirectoriesLocator implements ISourceFileLocator {
+        private final List<ISourceFileLocator> locators = new ArrayList<ISourceFileLocator>();
+
+        SourceDirectoriesLocator(List<File> sourceDirs) {
+            for (File sourceDir : sourceDirs) {
+                locators.add(new DirectorySourceFileLocator(sourceDir, null, TAB_WIDTH));
+            }
+        }
+
+        @Override
+        public Reader getSourceFile(String packageName, String fileName) throws IOException {
+            for (ISourceFileLocator locator : locators) {
+                Reader reader = locator.getSourceFile(packageName, fileName);
+                if (reader != null) {
+                    return reader;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int getTabWidth() {
+            return TAB_WIDTH;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfoStore;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Merges execution data files by streaming each of them into a single store, so only the merged probes are held in memory.
+ * Only loaded into the JaCoCo class loader created by {@link IsolatedJacocoLoader}.
+ */
+public class StreamingJacocoExecutionDataMerger implements JacocoExecutionDataMerger {
+    @Override
+    public void merge(List<File> executionData, File destinationFile) throws IOException {
+        ExecutionDataStore executionDataStore = new ExecutionDataStore();
+        SessionInfoStore sessionInfoStore = new SessionInfoStore();
+        JacocoExecutionDataFiles.read(executionData, executionDataStore, sessionInfoStore);
+
+        File parentDir = destinationFile.getParentFile();
+        if (parentDir != null && !parentDir.isDirectory() && !parentDir.mkdirs()) {
+            throw new IOException(String.format("Could not create directory '%s'.", parentDir));
+        }
+        OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(destinationFile));
+        try {
+            ExecutionDataWriter writer = new ExecutionDataWriter(outputStream);
+            sessionInfoStore.accept(writer);
+            executionDataStore.accept(writer);
+        } finally {
+            outputStream.close();
+        }
+    }
+}
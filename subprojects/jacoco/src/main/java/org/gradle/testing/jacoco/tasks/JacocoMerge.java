@@ -20,12 +20,15 @@ import org.gradle.api.Incubating;
 import org.gradle.api.Task;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
 import org.gradle.api.internal.project.IsolatedAntBuilder;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.TaskCollection;
 import org.gradle.internal.jacoco.AntJacocoMerge;
+import org.gradle.internal.jacoco.IsolatedJacocoLoader;
+import org.gradle.internal.jacoco.IsolatedJacocoMerge;
 import org.gradle.testing.jacoco.plugins.JacocoTaskExtension;
 
 import javax.inject.Inject;
@@ -69,9 +72,18 @@ public class JacocoMerge extends JacocoBase {
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected ClassLoaderCache getClassLoaderCache() {
+        throw new UnsupportedOperationException();
+    }
+
     @TaskAction
     void merge() {
-        new AntJacocoMerge(getAntBuilder()).execute(getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        if (IsolatedJacocoLoader.isEnabled()) {
+            new IsolatedJacocoMerge(getClassLoaderCache(), getPath()).execute(getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        } else {
+            new AntJacocoMerge(getAntBuilder()).execute(getJacocoClasspath(), getExecutionData(), getDestinationFile());
+        }
     }
 
     /**
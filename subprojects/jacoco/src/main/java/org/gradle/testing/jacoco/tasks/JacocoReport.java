@@ -23,6 +23,7 @@ import org.gradle.api.Incubating;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.internal.initialization.loadercache.ClassLoaderCache;
 import org.gradle.api.internal.project.IsolatedAntBuilder;
 import org.gradle.api.reporting.Reporting;
 import org.gradle.api.specs.Spec;
@@ -34,7 +35,10 @@ import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.TaskCollection;
 import org.gradle.internal.jacoco.AntJacocoReport;
+import org.gradle.internal.jacoco.IsolatedJacocoLoader;
+import org.gradle.internal.jacoco.IsolatedJacocoReport;
 import org.gradle.internal.jacoco.JacocoReportsContainerImpl;
+import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.testing.jacoco.plugins.JacocoTaskExtension;
 
@@ -85,6 +89,16 @@ public class JacocoReport extends JacocoBase implements Reporting<JacocoReportsC
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    protected ClassLoaderCache getClassLoaderCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Inject
+    protected BuildOperationProcessor getBuildOperationProcessor() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Returns the reports to be generated by this task.
      */
@@ -172,14 +186,25 @@ public class JacocoReport extends JacocoBase implements Reporting<JacocoReportsC
                 return file.exists();
             }
         };
-        new AntJacocoReport(getAntBuilder()).execute(
-            getJacocoClasspath(),
-            getProject().getName(),
-            getAllClassDirs().filter(fileExistsSpec),
-            getAllSourceDirs().filter(fileExistsSpec),
-            getExecutionData(),
-            getReports()
-        );
+        if (IsolatedJacocoLoader.isEnabled()) {
+            new IsolatedJacocoReport(getClassLoaderCache(), getPath(), getBuildOperationProcessor()).execute(
+                getJacocoClasspath(),
+                getProject().getName(),
+                getAllClassDirs().filter(fileExistsSpec),
+                getAllSourceDirs().filter(fileExistsSpec),
+                getExecutionData(),
+                getReports()
+            );
+        } else {
+            new AntJacocoReport(getAntBuilder()).execute(
+                getJacocoClasspath(),
+                getProject().getName(),
+                getAllClassDirs().filter(fileExistsSpec),
+                getAllSourceDirs().filter(fileExistsSpec),
+                getExecutionData(),
+                getReports()
+            );
+        }
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.jacoco;
+package org.gradle.internal.jacoco
+
+import org.gradle.api.internal.initialization.loadercache.DefaultClassLoaderCache
+import org.gradle.api.internal.initialization.loadercache.FileClassPathSnapshotter
+import org.gradle.internal.classloader.ClasspathUtil
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.jacoco.core.analysis.Analyzer
+import org.jacoco.core.analysis.CoverageBuilder
+import org.jacoco.core.data.ExecutionData
+import org.jacoco.core.data.ExecutionDataReader
+import org.jacoco.core.data.ExecutionDataStore
+import org.jacoco.core.data.ExecutionDataWriter
+import org.jacoco.core.data.SessionInfo
+import org.jacoco.core.data.SessionInfoStore
+import org.jacoco.report.DirectorySourceFileLocator
+import org.jacoco.report.csv.CSVFormatter
+import org.jacoco.report.html.HTMLFormatter
+import org.junit.Rule
+import org.objectweb.asm.ClassReader
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class IsolatedJacocoLoaderTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def jacocoClasspath = [ExecutionDataStore, HTMLFormatter, ClassReader].collect { ClasspathUtil.getClasspathForClass(it) }
+    def classLoaderCache = new DefaultClassLoaderCache(new FileClassPathSnapshotter())
+    def loader = new IsolatedJacocoLoader(classLoaderCache, ":jacocoTestReport", jacocoClasspath)
+    def executor = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        executor.shutdown()
+    }
+
+    def "loads implementations into a class loader created from the JaCoCo classpath"() {
+        when:
+        def generator = loader.createReportGenerator()
+        def merger = loader.createExecutionDataMerger()
+
+        then:
+        generator.class.classLoader != JacocoReportGenerator.classLoader
+        merger.class.classLoader == generator.class.classLoader
+    }
+
+    def "reuses the class loader for the same JaCoCo classpath"() {
+        when:
+        def generator = loader.createReportGenerator()
+        def otherGenerator = new IsolatedJacocoLoader(classLoaderCache, ":other:jacocoTestReport", jacocoClasspath).createReportGenerator()
+
+        then:
+        otherGenerator.class.classLoader == generator.class.classLoader
+        classLoaderCache.size() == 1
+    }
+
+    def "merges execution data files"() {
+        given:
+        def exec1 = writeExecutionData("exec1.exec", new SessionInfo("session1", 1, 2), new ExecutionData(1, "Class1", [true, false] as boolean[]))
+        def exec2 = writeExecutionData("exec2.exec", new SessionInfo("session2", 3, 4), new ExecutionData(1, "Class1", [false, true] as boolean[]), new ExecutionData(2, "Class2", [true] as boolean[]))
+        def destinationFile = tmpDir.file("merged/merged.exec")
+
+        when:
+        loader.createExecutionDataMerger().merge([exec1, tmpDir.file("missing.exec"), exec2], destinationFile)
+
+        then:
+        def executionDataStore = new ExecutionDataStore()
+        def sessionInfoStore = new SessionInfoStore()
+        readExecutionData(destinationFile, executionDataStore, sessionInfoStore)
+        sessionInfoStore.infos*.id == ["session1", "session2"]
+        executionDataStore.contents.size() == 2
+        executionDataStore.get(1).probes == [true, true] as boolean[]
+        executionDataStore.get(2).probes == [true] as boolean[]
+    }
+
+    def "generates the same report when analyzing class files in several batches"() {
+        given:
+        def classesDir = tmpDir.createDir("classes")
+        new TestFile(ClasspathUtil.getClasspathForClass(ExecutionDataStore)).unzipTo(classesDir)
+        def execFile = writeExecutionData("test.exec", new SessionInfo("session", 1, 2))
+        def htmlDir = tmpDir.file("reports/html")
+        def xmlFile = tmpDir.file("reports/report.xml")
+        def csvFile = tmpDir.file("reports/report.csv")
+        def spec = new JacocoReportSpec("project", [classesDir], [], [execFile], htmlDir, xmlFile, csvFile)
+
+        when:
+        def generator = loader.createReportGenerator()
+        def batches = generator.analyze(spec)
+        runConcurrently(batches)
+        def writers = generator.createReportWriters()
+        runConcurrently(writers)
+
+        then:
+        batches.size() > 1
+        writers.size() == 3
+
+        and:
+        htmlDir.file("index.html").assertIsFile()
+        xmlFile.assertIsFile()
+        csvFile.readLines().sort() == sequentialCsvReport(classesDir).sort()
+    }
+
+    def "does not write disabled reports"() {
+        given:
+        def classesDir = tmpDir.createDir("classes")
+        new TestFile(ClasspathUtil.getClasspathForClass(ExecutionDataStore)).unzipTo(classesDir)
+        def csvFile = tmpDir.file("reports/report.csv")
+        def spec = new JacocoReportSpec("project", [classesDir], [], [], null, null, csvFile)
+
+        when:
+        def generator = loader.createReportGenerator()
+        runConcurrently(generator.analyze(spec))
+        runConcurrently(generator.createReportWriters())
+
+        then:
+        tmpDir.file("reports").list() as List == ["report.csv"]
+    }
+
+    private void runConcurrently(List<Callable<Void>> operations) {
+        executor.invokeAll(operations).each { it.get() }
+    }
+
+    private TestFile writeExecutionData(String name, SessionInfo sessionInfo, ExecutionData... executionData) {
+        def file = tmpDir.file(name)
+        file.withOutputStream { outputStream ->
+            def writer = new ExecutionDataWriter(outputStream)
+            writer.visitSessionInfo(sessionInfo)
+            executionData.each { writer.visitClassExecution(it) }
+        }
+        file
+    }
+
+    private static void readExecutionData(File file, ExecutionDataStore executionDataStore, SessionInfoStore sessionInfoStore) {
+        file.withInputStream { inputStream ->
+            def reader = new ExecutionDataReader(inputStream)
+            reader.executionDataVisitor = executionDataStore
+            reader.sessionInfoVisitor = sessionInfoStore
+            reader.read()
+        }
+    }
+
+    private List<String> sequentialCsvReport(File classesDir) {
+        def coverageBuilder = new CoverageBuilder()
+        new Analyzer(new ExecutionDataStore(), coverageBuilder).analyzeAll(classesDir)
+        def outputStream = new ByteArrayOutputStream()
+        def visitor = new CSVFormatter().createVisitor(outputStream)
+        visitor.visitInfo([], [])
+        visitor.visitBundle(coverageBuilder.getBundle("project"), new DirectorySourceFileLocator(classesDir, null, 4))
+        visitor.visitEnd()
+        outputStream.toString("UTF-8").readLines()
+    }
+}
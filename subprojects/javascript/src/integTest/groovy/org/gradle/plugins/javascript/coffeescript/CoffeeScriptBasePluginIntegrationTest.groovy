@@ -90,4 +90,44 @@ class CoffeeScriptBasePluginIntegrationTest extends WellBehavedPluginTest {
         then:
         ":compile" in skippedTasks
     }
+
+    @IgnoreIf({GradleContextualExecuter.parallel})
+    def "recompiles only changed coffeescript files"() {
+        given:
+        file("src/main/coffeescript/dir1/thing1.coffee") << "number = 1"
+        file("src/main/coffeescript/dir2/thing2.coffee") << "number = 2"
+
+        buildFile << """
+            repositories.mavenCentral()
+            task compile(type: ${CoffeeScriptCompile.name}) {
+                destinationDir file("build/compiled/js")
+                source fileTree("src/main/coffeescript")
+            }
+        """
+        run "compile"
+        def f1 = file("build/compiled/js/dir1/thing1.js")
+        def f2 = file("build/compiled/js/dir2/thing2.js")
+        def f1Snapshot = f1.snapshot()
+        def unrelated = file("build/compiled/js/unrelated.js") << "var unrelated = true;"
+
+        when:
+        file("src/main/coffeescript/dir2/thing2.coffee").text = "number = 3"
+        run "compile"
+
+        then:
+        ":compile" in nonSkippedTasks
+        f1.assertHasNotChangedSince(f1Snapshot)
+        f2.text.contains("number = 3")
+
+        when:
+        file("src/main/coffeescript/dir2/thing2.coffee").delete()
+        run "compile"
+
+        then:
+        f1.exists()
+        !f2.exists()
+
+        and:
+        unrelated.exists()
+    }
 }
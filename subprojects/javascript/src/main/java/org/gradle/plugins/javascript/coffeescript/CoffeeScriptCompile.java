@@ -19,12 +19,18 @@ package org.gradle.plugins.javascript.coffeescript;
 import groovy.lang.Closure;
 import org.gradle.api.Action;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.logging.LogLevel;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.SourceTask;
+import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.incremental.IncrementalTaskInputs;
+import org.gradle.api.tasks.incremental.InputFileDetails;
+import org.gradle.api.tasks.util.PatternSet;
 import org.gradle.plugins.javascript.coffeescript.compile.internal.DefaultCoffeeScriptCompileSpec;
 import org.gradle.plugins.javascript.coffeescript.compile.internal.rhino.RhinoCoffeeScriptCompiler;
 import org.gradle.plugins.javascript.rhino.worker.RhinoWorkerHandleFactory;
@@ -33,6 +39,9 @@ import org.gradle.process.internal.worker.WorkerProcessFactory;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CoffeeScriptCompile extends SourceTask {
 
@@ -87,13 +96,60 @@ public class CoffeeScriptCompile extends SourceTask {
     }
 
     @TaskAction
+    public void doCompile(IncrementalTaskInputs inputs) {
+        final Set<File> sourceFiles = getSource().getFiles();
+        final Set<File> changedSourceFiles = new HashSet<File>();
+        final AtomicBoolean cleanRebuild = new AtomicBoolean(!inputs.isIncremental());
+        inputs.outOfDate(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails details) {
+                File input = details.getFile();
+                if (sourceFiles.contains(input)) {
+                    changedSourceFiles.add(input);
+                } else {
+                    // coffeescript or rhino change
+                    cleanRebuild.set(true);
+                }
+            }
+        });
+        inputs.removed(new Action<InputFileDetails>() {
+            public void execute(InputFileDetails details) {
+                cleanRebuild.set(true);
+            }
+        });
+
+        if (cleanRebuild.get()) {
+            doCompile();
+        } else if (changedSourceFiles.isEmpty()) {
+            setDidWork(false);
+        } else {
+            compile(getSource().matching(new PatternSet().include(new Spec<FileTreeElement>() {
+                public boolean isSatisfiedBy(FileTreeElement element) {
+                    return element.isDirectory() || changedSourceFiles.contains(element.getFile());
+                }
+            })));
+        }
+    }
+
+    /**
+     * Removes the outputs of the previous execution and compiles all of the source files.
+     */
     public void doCompile() {
+        String prefix = getDestinationDir().getAbsolutePath() + File.separator;
+        for (File previousOutput : getOutputs().getPreviousFiles()) {
+            if (previousOutput.getAbsolutePath().startsWith(prefix)) {
+                previousOutput.delete();
+            }
+        }
+        compile(getSource());
+    }
+
+    private void compile(FileTree source) {
         RhinoWorkerHandleFactory handleFactory = new DefaultRhinoWorkerHandleFactory(getWorkerProcessBuilderFactory());
 
         CoffeeScriptCompileSpec spec = new DefaultCoffeeScriptCompileSpec();
         spec.setCoffeeScriptJs(getCoffeeScriptJs().getSingleFile());
         spec.setDestinationDir(getDestinationDir());
-        spec.setSource(getSource());
+        spec.setSource(source);
         spec.setOptions(getOptions());
 
         LogLevel logLevel = getProject().getGradle().getStartParameter().getLogLevel();
@@ -18,6 +18,8 @@ package org.gradle.plugins.javascript.coffeescript.compile.internal.rhino;
 
 import org.gradle.api.Action;
 import org.gradle.api.internal.file.RelativeFile;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.plugins.javascript.base.SourceTransformationException;
 import org.gradle.plugins.javascript.coffeescript.compile.internal.CoffeeScriptCompileDestinationCalculator;
 import org.gradle.plugins.javascript.coffeescript.compile.internal.SerializableCoffeeScriptCompileSpec;
@@ -25,11 +27,50 @@ import org.mozilla.javascript.Context;
 import org.mozilla.javascript.JavaScriptException;
 import org.mozilla.javascript.Scriptable;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
 import static org.gradle.plugins.javascript.rhino.worker.RhinoWorkerUtils.*;
 
 public class CoffeeScriptCompilerWorker implements CoffeeScriptCompilerProtocol {
 
-    public void process(SerializableCoffeeScriptCompileSpec spec) {
+    // Evaluating the (interpreted) compiler script is expensive, so only use another thread when it has enough files to amortize that
+    private static final int MIN_FILES_PER_THREAD = 20;
+
+    private final int maxThreads;
+
+    public CoffeeScriptCompilerWorker() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    CoffeeScriptCompilerWorker(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public void process(final SerializableCoffeeScriptCompileSpec spec) {
+        final Queue<RelativeFile> source = new ConcurrentLinkedQueue<RelativeFile>(spec.getSource());
+        int threads = Math.min(maxThreads, source.size() / MIN_FILES_PER_THREAD);
+        if (threads <= 1) {
+            compileAll(spec, source);
+            return;
+        }
+
+        // The compiler keeps parser state in its scope, so each thread evaluates its own copy
+        StoppableExecutor executor = new DefaultExecutorFactory().create("CoffeeScript compiler", threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        compileAll(spec, source);
+                    }
+                });
+            }
+        } finally {
+            executor.stop();
+        }
+    }
+
+    private void compileAll(SerializableCoffeeScriptCompileSpec spec, Queue<RelativeFile> source) {
         Scriptable coffeeScriptScope = parse(spec.getCoffeeScriptJs(), "UTF-8", new Action<Context>() {
             public void execute(Context context) {
                 context.setOptimizationLevel(-1);
@@ -40,10 +81,12 @@ public class CoffeeScriptCompilerWorker implements CoffeeScriptCompilerProtocol
 
         CoffeeScriptCompileDestinationCalculator destinationCalculator = new CoffeeScriptCompileDestinationCalculator(spec.getDestinationDir());
 
-        for (RelativeFile target : spec.getSource()) {
-            String source = readFile(target.getFile(), encoding);
-            String output = compile(coffeeScriptScope, source, target.getRelativePath().getPathString());
+        RelativeFile target = source.poll();
+        while (target != null) {
+            String sourceText = readFile(target.getFile(), encoding);
+            String output = compile(coffeeScriptScope, sourceText, target.getRelativePath().getPathString());
             writeFile(output, destinationCalculator.transform(target.getRelativePath()), encoding);
+            target = source.poll();
         }
     }
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.plugins.javascript.coffeescript.compile.internal.rhino
+
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.plugins.javascript.coffeescript.CoffeeScriptCompileOptions
+import org.gradle.plugins.javascript.coffeescript.compile.internal.SerializableCoffeeScriptCompileSpec
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CoffeeScriptCompilerWorkerTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    // Stands in for the CoffeeScript compiler, and records the thread that compiled each file
+    def coffeeScriptJs = tmpDir.file("coffee-script.js") << """
+        var CoffeeScript = {
+            compile: function(source, options) {
+                java.lang.Thread.sleep(5);
+                return source + "\\n// " + java.lang.Thread.currentThread().getName();
+            }
+        };
+    """
+    def srcDir = tmpDir.file("src")
+    def destinationDir = tmpDir.file("dest")
+
+    def "compiles small batch on a single thread"() {
+        given:
+        def sources = createSources(10)
+
+        when:
+        new CoffeeScriptCompilerWorker(4).process(spec())
+
+        then:
+        threadsThatCompiled(sources) == [Thread.currentThread().name] as Set
+    }
+
+    def "compiles large batch on multiple threads"() {
+        given:
+        def sources = createSources(100)
+
+        when:
+        new CoffeeScriptCompilerWorker(4).process(spec())
+
+        then:
+        def threads = threadsThatCompiled(sources)
+        threads.size() > 1
+        !threads.contains(Thread.currentThread().name)
+    }
+
+    private Map<String, String> createSources(int count) {
+        (1..count).collectEntries { i ->
+            def path = "dir${i % 3}/thing${i}"
+            def source = "number = ${i}"
+            srcDir.file("${path}.coffee") << source
+            [path, source]
+        }
+    }
+
+    private SerializableCoffeeScriptCompileSpec spec() {
+        new SerializableCoffeeScriptCompileSpec(coffeeScriptJs, destinationDir, TestFiles.resolver().resolveFilesAsTree(srcDir), new CoffeeScriptCompileOptions())
+    }
+
+    private Set<String> threadsThatCompiled(Map<String, String> sources) {
+        sources.collect { path, source ->
+            def lines = destinationDir.file("${path}.js").readLines()
+            assert lines[0] == source
+            lines[1] - "// "
+        } as Set
+    }
+}
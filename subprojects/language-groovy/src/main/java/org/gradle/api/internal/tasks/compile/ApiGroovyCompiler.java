@@ -36,6 +36,7 @@ import org.gradle.api.internal.file.collections.SimpleFileCollection;
 import org.gradle.api.internal.tasks.SimpleWorkResult;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.WorkResult;
+import org.gradle.internal.Factory;
 import org.gradle.internal.classloader.DefaultClassLoaderFactory;
 import org.gradle.internal.classloader.FilteringClassLoader;
 import org.gradle.internal.classpath.DefaultClassPath;
@@ -52,17 +53,35 @@ import java.util.*;
 import static org.gradle.internal.FileUtils.hasExtension;
 
 public class ApiGroovyCompiler implements org.gradle.language.base.internal.compile.Compiler<GroovyJavaJointCompileSpec>, Serializable {
+    private static GroovyCompileClassLoaderCache classLoaderCache;
     private final Compiler<JavaCompileSpec> javaCompiler;
+    private final boolean reuseClassLoaders;
 
     public ApiGroovyCompiler(Compiler<JavaCompileSpec> javaCompiler) {
+        this(javaCompiler, false);
+    }
+
+    /**
+     * @param reuseClassLoaders whether to keep the compile classpath and AST transform class loaders for later compilations. Only useful in a
+     * long-lived compiler daemon, as an in-process compiler is loaded into a fresh class loader for every compilation.
+     */
+    public ApiGroovyCompiler(Compiler<JavaCompileSpec> javaCompiler, boolean reuseClassLoaders) {
         this.javaCompiler = javaCompiler;
+        this.reuseClassLoaders = reuseClassLoaders;
+    }
+
+    private static synchronized GroovyCompileClassLoaderCache getClassLoaderCache() {
+        if (classLoaderCache == null) {
+            classLoaderCache = GroovyCompileClassLoaderCache.forCurrentHeap();
+        }
+        return classLoaderCache;
     }
 
     @Override
     public WorkResult execute(final GroovyJavaJointCompileSpec spec) {
         GroovySystemLoaderFactory groovySystemLoaderFactory = new GroovySystemLoaderFactory();
         ClassLoader compilerClassLoader = this.getClass().getClassLoader();
-        GroovySystemLoader compilerGroovyLoader = groovySystemLoaderFactory.forClassLoader(compilerClassLoader);
+        final GroovySystemLoader compilerGroovyLoader = groovySystemLoaderFactory.forClassLoader(compilerClassLoader);
 
         CompilerConfiguration configuration = new CompilerConfiguration();
         configuration.setVerbose(spec.getGroovyCompileOptions().isVerbose());
@@ -83,34 +102,33 @@ public class ApiGroovyCompiler implements org.gradle.language.base.internal.comp
         jointCompilationOptions.put("keepStubs", spec.getGroovyCompileOptions().isKeepStubs());
         configuration.setJointCompilationOptions(jointCompilationOptions);
 
-        ClassLoader classPathLoader;
-        VersionNumber version = parseGroovyVersion();
-        if (version.compareTo(VersionNumber.parse("2.0")) < 0) {
-            // using a transforming classloader is only required for older buggy Groovy versions
-            classPathLoader = new GroovyCompileTransformingClassLoader(getExtClassLoader(), new DefaultClassPath(spec.getClasspath()));
+        final GroovyCompileClassLoaderCache.CachedClassLoaders classLoaders;
+        if (reuseClassLoaders) {
+            classLoaders = getClassLoaderCache().get(spec.getClasspath(), new Factory<GroovyCompileClassLoaderCache.CachedClassLoaders>() {
+                @Override
+                public GroovyCompileClassLoaderCache.CachedClassLoaders create() {
+                    return createClassLoaders(spec, compilerGroovyLoader);
+                }
+            });
         } else {
-            classPathLoader = new DefaultClassLoaderFactory().createIsolatedClassLoader(new DefaultClassPath(spec.getClasspath()));
+            classLoaders = createClassLoaders(spec, compilerGroovyLoader);
+        }
+        try {
+            compile(spec, configuration, stubDir, classLoaders);
+        } finally {
+            if (reuseClassLoaders) {
+                getClassLoaderCache().release(classLoaders);
+            } else {
+                classLoaders.discard();
+            }
         }
-        GroovyClassLoader compileClasspathClassLoader = new GroovyClassLoader(classPathLoader, null);
-        GroovySystemLoader compileClasspathLoader = groovySystemLoaderFactory.forClassLoader(classPathLoader);
 
-        FilteringClassLoader groovyCompilerClassLoader = new FilteringClassLoader(GroovyClassLoader.class.getClassLoader());
-        groovyCompilerClassLoader.allowPackage("org.codehaus.groovy");
-        groovyCompilerClassLoader.allowPackage("groovy");
-        // Disallow classes from Groovy Jar that reference external classes. Such classes must be loaded from astTransformClassLoader,
-        // or a NoClassDefFoundError will occur. Essentially this is drawing a line between the Groovy compiler and the Groovy
-        // library, albeit only for selected classes that run a high risk of being statically referenced from a transform.
-        groovyCompilerClassLoader.disallowClass("groovy.util.GroovyTestCase");
-        groovyCompilerClassLoader.disallowPackage("groovy.servlet");
+        return new SimpleWorkResult(true);
+    }
 
-        // AST transforms need their own class loader that shares compiler classes with the compiler itself
-        final GroovyClassLoader astTransformClassLoader = new GroovyClassLoader(groovyCompilerClassLoader, null);
-        // can't delegate to compileClasspathLoader because this would result in ASTTransformation interface
-        // (which is implemented by the transform class) being loaded by compileClasspathClassLoader (which is
-        // where the transform class is loaded from)
-        for (File file : spec.getClasspath()) {
-            astTransformClassLoader.addClasspath(file.getPath());
-        }
+    private void compile(final GroovyJavaJointCompileSpec spec, CompilerConfiguration configuration, final File stubDir, GroovyCompileClassLoaderCache.CachedClassLoaders classLoaders) {
+        GroovyClassLoader compileClasspathClassLoader = classLoaders.compileClasspathClassLoader;
+        final GroovyClassLoader astTransformClassLoader = classLoaders.astTransformClassLoader;
         JavaAwareCompilationUnit unit = new JavaAwareCompilationUnit(configuration, compileClasspathClassLoader) {
             @Override
             public GroovyClassLoader getTransformLoader() {
@@ -168,15 +186,40 @@ public class ApiGroovyCompiler implements org.gradle.language.base.internal.comp
         } catch (org.codehaus.groovy.control.CompilationFailedException e) {
             System.err.println(e.getMessage());
             throw new CompilationFailedException();
-        } finally {
-            // Remove compile and AST types from the Groovy loader
-            compilerGroovyLoader.discardTypesFrom(classPathLoader);
-            compilerGroovyLoader.discardTypesFrom(astTransformClassLoader);
-            //Discard the compile loader
-            compileClasspathLoader.shutdown();
         }
+    }
 
-        return new SimpleWorkResult(true);
+    private GroovyCompileClassLoaderCache.CachedClassLoaders createClassLoaders(GroovyJavaJointCompileSpec spec, GroovySystemLoader compilerGroovyLoader) {
+        GroovySystemLoaderFactory groovySystemLoaderFactory = new GroovySystemLoaderFactory();
+        ClassLoader classPathLoader;
+        VersionNumber version = parseGroovyVersion();
+        if (version.compareTo(VersionNumber.parse("2.0")) < 0) {
+            // using a transforming classloader is only required for older buggy Groovy versions
+            classPathLoader = new GroovyCompileTransformingClassLoader(getExtClassLoader(), new DefaultClassPath(spec.getClasspath()));
+        } else {
+            classPathLoader = new DefaultClassLoaderFactory().createIsolatedClassLoader(new DefaultClassPath(spec.getClasspath()));
+        }
+        GroovyClassLoader compileClasspathClassLoader = new GroovyClassLoader(classPathLoader, null);
+        GroovySystemLoader compileClasspathLoader = groovySystemLoaderFactory.forClassLoader(classPathLoader);
+
+        FilteringClassLoader groovyCompilerClassLoader = new FilteringClassLoader(GroovyClassLoader.class.getClassLoader());
+        groovyCompilerClassLoader.allowPackage("org.codehaus.groovy");
+        groovyCompilerClassLoader.allowPackage("groovy");
+        // Disallow classes from Groovy Jar that reference external classes. Such classes must be loaded from astTransformClassLoader,
+        // or a NoClassDefFoundError will occur. Essentially this is drawing a line between the Groovy compiler and the Groovy
+        // library, albeit only for selected classes that run a high risk of being statically referenced from a transform.
+        groovyCompilerClassLoader.disallowClass("groovy.util.GroovyTestCase");
+        groovyCompilerClassLoader.disallowPackage("groovy.servlet");
+
+        // AST transforms need their own class loader that shares compiler classes with the compiler itself
+        final GroovyClassLoader astTransformClassLoader = new GroovyClassLoader(groovyCompilerClassLoader, null);
+        // can't delegate to compileClasspathLoader because this would result in ASTTransformation interface
+        // (which is implemented by the transform class) being loaded by compileClasspathClassLoader (which is
+        // where the transform class is loaded from)
+        for (File file : spec.getClasspath()) {
+            astTransformClassLoader.addClasspath(file.getPath());
+        }
+        return new GroovyCompileClassLoaderCache.CachedClassLoaders(classPathLoader, compileClasspathClassLoader, astTransformClassLoader, compilerGroovyLoader, compileClasspathLoader);
     }
 
     private boolean shouldProcessAnnotations(ClassLoader classLoader, GroovyJavaJointCompileSpec spec) {
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashCode;
+import groovy.lang.GroovyClassLoader;
+import org.gradle.api.internal.classloading.GroovySystemLoader;
+import org.gradle.internal.Factory;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Keeps the class loaders for a Groovy compile classpath between compilations in a compiler daemon, so that classpath types and AST transforms
+ * are loaded and warmed up once per classpath rather than once per compilation.
+ *
+ * <p>An entry is reused only while the size and timestamp of every file on its classpath are unchanged. Entries are weighed by the size of their
+ * classpath and evicted once the cached classpaths add up to a quarter of the maximum heap. An entry is only discarded once every compilation that
+ * got it from {@link #get} has released it, so an entry that is evicted while a compilation uses it, or that alone exceeds the limit, stays usable
+ * until the compilation completes.</p>
+ */
+class GroovyCompileClassLoaderCache {
+    private final Cache<List<File>, CachedClassLoaders> cache;
+
+    GroovyCompileClassLoaderCache(long maxClasspathKilobytes) {
+        cache = CacheBuilder.newBuilder()
+            // A single segment, so that the limit applies to the whole cache rather than to each segment
+            .concurrencyLevel(1)
+            .maximumWeight(maxClasspathKilobytes)
+            .weigher(new Weigher<List<File>, CachedClassLoaders>() {
+                @Override
+                public int weigh(List<File> key, CachedClassLoaders value) {
+                    return (int) Math.min(Integer.MAX_VALUE, value.classpathKilobytes);
+                }
+            })
+            .removalListener(new RemovalListener<List<File>, CachedClassLoaders>() {
+                @Override
+                public void onRemoval(RemovalNotification<List<File>, CachedClassLoaders> notification) {
+                    CachedClassLoaders classLoaders = notification.getValue();
+                    classLoaders.removed = true;
+                    if (classLoaders.leases == 0) {
+                        classLoaders.discard();
+                    }
+                }
+            })
+            .build();
+    }
+
+    static GroovyCompileClassLoaderCache forCurrentHeap() {
+        return new GroovyCompileClassLoaderCache(Runtime.getRuntime().maxMemory() / 4 / 1024);
+    }
+
+    /**
+     * Returns the class loaders for the given classpath, creating them when there are none or when the classpath has changed since they were created.
+     * The caller must {@link #release} the class loaders once it no longer uses them.
+     */
+    synchronized CachedClassLoaders get(Iterable<File> classpath, Factory<CachedClassLoaders> factory) {
+        List<File> key = ImmutableList.copyOf(classpath);
+        ClasspathFingerprint fingerprint = new ClasspathFingerprint(key);
+        CachedClassLoaders classLoaders = cache.getIfPresent(key);
+        if (classLoaders != null && classLoaders.fingerprint.equals(fingerprint.hash)) {
+            classLoaders.leases++;
+            return classLoaders;
+        }
+        if (classLoaders != null) {
+            cache.invalidate(key);
+        }
+        classLoaders = factory.create();
+        classLoaders.fingerprint = fingerprint.hash;
+        classLoaders.classpathKilobytes = fingerprint.kilobytes;
+        // Lease before adding, as an entry that exceeds the limit is evicted as soon as it is added
+        classLoaders.leases++;
+        cache.put(key, classLoaders);
+        return classLoaders;
+    }
+
+    /**
+     * Releases class loaders returned by {@link #get}, discarding them when they have been removed from the cache and are no longer used.
+     */
+    synchronized void release(CachedClassLoaders classLoaders) {
+        classLoaders.leases--;
+        if (classLoaders.leases == 0 && classLoaders.removed) {
+            classLoaders.discard();
+        }
+    }
+
+    static class CachedClassLoaders {
+        final ClassLoader classPathLoader;
+        final GroovyClassLoader compileClasspathClassLoader;
+        final GroovyClassLoader astTransformClassLoader;
+        private final GroovySystemLoader compilerGroovyLoader;
+        private final GroovySystemLoader compileClasspathLoader;
+        private HashCode fingerprint;
+        private long classpathKilobytes;
+        private int leases;
+        private boolean removed;
+
+        CachedClassLoaders(ClassLoader classPathLoader, GroovyClassLoader compileClasspathClassLoader, GroovyClassLoader astTransformClassLoader,
+                           GroovySystemLoader compilerGroovyLoader, GroovySystemLoader compileClasspathLoader) {
+            this.classPathLoader = classPathLoader;
+            this.compileClasspathClassLoader = compileClasspathClassLoader;
+            this.astTransformClassLoader = astTransformClassLoader;
+            this.compilerGroovyLoader = compilerGroovyLoader;
+            this.compileClasspathLoader = compileClasspathLoader;
+        }
+
+        void discard() {
+            // Remove compile and AST types from the Groovy loader
+            compilerGroovyLoader.discardTypesFrom(classPathLoader);
+            compilerGroovyLoader.discardTypesFrom(astTransformClassLoader);
+            //Discard the compile loader
+            compileClasspathLoader.shutdown();
+        }
+    }
+
+    private static class ClasspathFingerprint {
+        private final Hasher hasher = Hashing.md5().newHasher();
+        private final HashCode hash;
+        private long bytes;
+        private final long kilobytes;
+
+        ClasspathFingerprint(List<File> classpath) {
+            for (File file : classpath) {
+                visit(file);
+            }
+            hash = hasher.hash();
+            kilobytes = bytes / 1024;
+        }
+
+        private void visit(File file) {
+            hasher.putUnencodedChars(file.getAbsolutePath());
+            if (file.isDirectory()) {
+                File[] children = file.listFiles();
+                if (children != null) {
+                    for (File child : children) {
+                        visit(child);
+                    }
+                }
+            } else {
+                long length = file.length();
+                hasher.putLong(length);
+                hasher.putLong(file.lastModified());
+                bytes += length;
+            }
+        }
+    }
+}
@@ -44,7 +44,7 @@ public class GroovyCompilerFactory implements CompilerFactory<GroovyJavaJointCom
     public Compiler<GroovyJavaJointCompileSpec> newCompiler(GroovyJavaJointCompileSpec spec) {
         GroovyCompileOptions groovyOptions = spec.getGroovyCompileOptions();
         Compiler<JavaCompileSpec> javaCompiler = javaCompilerFactory.createForJointCompilation(spec.getClass());
-        Compiler<GroovyJavaJointCompileSpec> groovyCompiler = new ApiGroovyCompiler(javaCompiler);
+        Compiler<GroovyJavaJointCompileSpec> groovyCompiler = new ApiGroovyCompiler(javaCompiler, groovyOptions.isFork());
         CompilerDaemonFactory daemonFactory;
         if (groovyOptions.isFork()) {
             daemonFactory = compilerDaemonFactory;
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.api.internal.classloading.GroovySystemLoader
+import org.gradle.internal.Factory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class GroovyCompileClassLoaderCacheTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def cache = new GroovyCompileClassLoaderCache(1024)
+    def factory = Mock(Factory)
+
+    def "reuses class loaders while the classpath is unchanged"() {
+        def jar = tmpDir.file("lib.jar").createFile()
+        def classesDir = tmpDir.file("classes").createDir()
+        classesDir.file("Foo.class").createFile()
+        def classLoaders = classLoaders()
+
+        when:
+        def first = cache.get([jar, classesDir], factory)
+        def second = cache.get([jar, classesDir], factory)
+
+        then:
+        1 * factory.create() >> classLoaders
+        first.is(classLoaders)
+        second.is(classLoaders)
+        0 * classLoaders.compileClasspathLoader.shutdown()
+    }
+
+    def "discards and recreates class loaders when a classpath directory changes"() {
+        def classesDir = tmpDir.file("classes").createDir()
+        classesDir.file("Foo.class").createFile()
+        def original = classLoaders()
+        def replacement = classLoaders()
+
+        given:
+        factory.create() >> original
+        cache.release(cache.get([classesDir], factory))
+
+        when:
+        classesDir.file("Bar.class").createFile()
+        def result = cache.get([classesDir], factory)
+
+        then:
+        1 * factory.create() >> replacement
+        1 * original.compileClasspathLoader.shutdown()
+        result.is(replacement)
+    }
+
+    def "discards least recently used class loaders when the cached classpaths exceed the size limit"() {
+        def smallCache = new GroovyCompileClassLoaderCache(1)
+        def jar1 = tmpDir.file("lib1.jar")
+        jar1.bytes = new byte[1024]
+        def jar2 = tmpDir.file("lib2.jar")
+        jar2.bytes = new byte[1024]
+        def first = classLoaders()
+
+        when:
+        smallCache.release(smallCache.get([jar1], factory))
+        smallCache.get([jar2], factory)
+
+        then:
+        2 * factory.create() >>> [first, classLoaders()]
+        1 * first.compileClasspathLoader.shutdown()
+    }
+
+    def "keeps class loaders whose classpath exceeds a quarter of the size limit"() {
+        def jar = tmpDir.file("lib.jar")
+        jar.bytes = new byte[2 * 1024]
+        def cache = new GroovyCompileClassLoaderCache(4)
+        def classLoaders = classLoaders()
+
+        when:
+        cache.release(cache.get([jar], factory))
+        def result = cache.get([jar], factory)
+
+        then:
+        1 * factory.create() >> classLoaders
+        result.is(classLoaders)
+        0 * classLoaders.compileClasspathLoader.shutdown()
+    }
+
+    def "does not discard class loaders that are in use"() {
+        def jar = tmpDir.file("lib.jar")
+        jar.bytes = new byte[2 * 1024]
+        def smallCache = new GroovyCompileClassLoaderCache(1)
+        def classLoaders = classLoaders()
+        factory.create() >> classLoaders
+
+        when:
+        def result = smallCache.get([jar], factory)
+
+        then:
+        result.is(classLoaders)
+        0 * classLoaders.compileClasspathLoader.shutdown()
+
+        when:
+        smallCache.release(result)
+
+        then:
+        1 * classLoaders.compileClasspathLoader.shutdown()
+    }
+
+    def classLoaders() {
+        return new GroovyCompileClassLoaderCache.CachedClassLoaders(getClass().classLoader, null, null, Mock(GroovySystemLoader), Mock(GroovySystemLoader))
+    }
+}
@@ -17,6 +17,7 @@ package org.gradle.language.nativeplatform.internal;
 
 import org.gradle.language.base.LanguageSourceSet;
 import org.gradle.language.nativeplatform.HeaderExportingSourceSet;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelection;
 import org.gradle.util.CollectionUtils;
 
 import java.io.File;
@@ -33,6 +34,7 @@ public abstract class AbstractHeaderExportingDependentSourceSet extends Abstract
     private final List<Object> libs = new ArrayList<Object>();
     private String preCompiledHeader;
     private File prefixHeaderFile;
+    private PreCompiledHeaderSelection preCompiledHeaderSelection;
 
     @Override
     public Collection<?> getLibs() {
@@ -68,4 +70,14 @@ public abstract class AbstractHeaderExportingDependentSourceSet extends Abstract
     public void setPrefixHeaderFile(File prefixHeaderFile) {
         this.prefixHeaderFile = prefixHeaderFile;
     }
+
+    @Override
+    public PreCompiledHeaderSelection getPreCompiledHeaderSelection() {
+        return preCompiledHeaderSelection;
+    }
+
+    @Override
+    public void setPreCompiledHeaderSelection(PreCompiledHeaderSelection selection) {
+        this.preCompiledHeaderSelection = selection;
+    }
 }
@@ -17,9 +17,11 @@
 package org.gradle.language.nativeplatform.internal;
 
 import org.gradle.api.internal.changedetection.changes.DiscoveredInputRecorder;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.internal.operations.logging.BuildOperationLogger;
 import org.gradle.nativeplatform.internal.AbstractBinaryToolSpec;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
+import org.gradle.nativeplatform.toolchain.internal.ObjectFileCache;
 
 import java.io.File;
 import java.util.*;
@@ -38,7 +40,10 @@ public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec i
     private File preCompiledHeaderObjectFile;
     private Map<File, IncludeDirectives> sourceFileIncludeDirectives;
     private String preCompiledHeader;
+    private boolean preCompiledHeaderAutoSelected;
     private DiscoveredInputRecorder discoveredInputRecorder;
+    private Map<File, HashValue> sourceFileInputHashes = Collections.emptyMap();
+    private ObjectFileCache objectFileCache;
 
     @Override
     public List<File> getIncludeRoots() {
@@ -167,6 +172,16 @@ public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec i
         this.preCompiledHeader = preCompiledHeader;
     }
 
+    @Override
+    public boolean isPreCompiledHeaderAutoSelected() {
+        return preCompiledHeaderAutoSelected;
+    }
+
+    @Override
+    public void setPreCompiledHeaderAutoSelected(boolean autoSelected) {
+        this.preCompiledHeaderAutoSelected = autoSelected;
+    }
+
     private void addAll(List<File> list, Iterable<File> iterable) {
         for (File file : iterable) {
             list.add(file);
@@ -193,6 +208,26 @@ public abstract class AbstractNativeCompileSpec extends AbstractBinaryToolSpec i
         this.sourceFileIncludeDirectives = map;
     }
 
+    @Override
+    public Map<File, HashValue> getSourceFileInputHashes() {
+        return sourceFileInputHashes;
+    }
+
+    @Override
+    public void setSourceFileInputHashes(Map<File, HashValue> map) {
+        this.sourceFileInputHashes = map;
+    }
+
+    @Override
+    public ObjectFileCache getObjectFileCache() {
+        return objectFileCache;
+    }
+
+    @Override
+    public void setObjectFileCache(ObjectFileCache objectFileCache) {
+        this.objectFileCache = objectFileCache;
+    }
+
     @Override
     public void setDiscoveredInputRecorder(DiscoveredInputRecorder inputs) {
         this.discoveredInputRecorder = inputs;
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CSourceParser;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelector;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the header that is included by the most source files. A header is only selected when at least half of the source files include it.
+ *
+ * <p>A pre-compiled header is only used for source files that include it as their first header, so only headers that are the first header of at least
+ * two source files are candidates. Source files that include the selected header later still compile, without the pre-compiled header.</p>
+ */
+public class IncludeFrequencyPreCompiledHeaderSelector implements PreCompiledHeaderSelector {
+    private static final Logger LOGGER = Logging.getLogger(IncludeFrequencyPreCompiledHeaderSelector.class);
+    private static final int MIN_SOURCE_FILES = 2;
+
+    private final CSourceParser sourceParser;
+
+    public IncludeFrequencyPreCompiledHeaderSelector(CSourceParser sourceParser) {
+        this.sourceParser = sourceParser;
+    }
+
+    @Override
+    public String select(Iterable<File> sourceFiles) {
+        Map<String, Integer> firstIncludes = new LinkedHashMap<String, Integer>();
+        Map<String, Integer> includes = new LinkedHashMap<String, Integer>();
+        int sourceFileCount = 0;
+        for (File sourceFile : sourceFiles) {
+            sourceFileCount++;
+            List<Include> sourceIncludes = sourceParser.parseSource(sourceFile).getIncludesAndImports();
+            Set<String> headers = new HashSet<String>();
+            for (Include include : sourceIncludes) {
+                if (include.getType() != IncludeType.MACRO && headers.add(header(include))) {
+                    increment(includes, header(include));
+                }
+            }
+            if (!sourceIncludes.isEmpty() && sourceIncludes.get(0).getType() != IncludeType.MACRO) {
+                increment(firstIncludes, header(sourceIncludes.get(0)));
+            }
+        }
+
+        String selected = null;
+        int selectedCount = 0;
+        int selectedFirstCount = 0;
+        for (Map.Entry<String, Integer> entry : firstIncludes.entrySet()) {
+            int firstCount = entry.getValue();
+            int count = includes.get(entry.getKey());
+            if (firstCount < MIN_SOURCE_FILES) {
+                continue;
+            }
+            if (count > selectedCount || (count == selectedCount && firstCount > selectedFirstCount)) {
+                selected = entry.getKey();
+                selectedCount = count;
+                selectedFirstCount = firstCount;
+            }
+        }
+        if (selected == null || selectedCount * 2 < sourceFileCount) {
+            return null;
+        }
+        LOGGER.info("Selected header {} to pre-compile, as it is included by {} of {} source files and is the first header of {} of them.", selected, selectedCount, sourceFileCount, selectedFirstCount);
+        return selected;
+    }
+
+    /**
+     * Returns the header in the form that a pre-compiled header include string uses: {@code <header>} for a system include and {@code header} otherwise.
+     */
+    private static String header(Include include) {
+        return include.getType() == IncludeType.SYSTEM ? "<" + include.getValue() + ">" : include.getValue();
+    }
+
+    private static void increment(Map<String, Integer> counts, String header) {
+        Integer count = counts.get(header);
+        counts.put(header, count == null ? 1 : count + 1);
+    }
+}
@@ -18,6 +18,7 @@ package org.gradle.language.nativeplatform.internal;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.util.PatternSet;
 import org.gradle.language.base.LanguageSourceSet;
@@ -26,6 +27,7 @@ import org.gradle.language.base.internal.registry.LanguageTransform;
 import org.gradle.language.nativeplatform.tasks.AbstractNativeCompileTask;
 import org.gradle.nativeplatform.ObjectFile;
 import org.gradle.nativeplatform.internal.NativeBinarySpecInternal;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelection;
 import org.gradle.nativeplatform.tasks.PrefixHeaderFileGenerateTask;
 import org.gradle.nativeplatform.toolchain.internal.PreCompiledHeader;
 
@@ -71,5 +73,16 @@ public class PCHCompileTaskConfig extends CompileTaskConfig {
         PreCompiledHeader pch = binary.getPrefixFileToPCH().get(sourceSet.getPrefixHeaderFile());
         pch.setPchObjects(task.getOutputs().getFiles().getAsFileTree().matching(new PatternSet().include("**/*.pch", "**/*.gch")));
         pch.builtBy(task);
+
+        final PreCompiledHeaderSelection selection = sourceSet.getPreCompiledHeaderSelection();
+        if (selection != null) {
+            // Nothing to pre-compile when no header is selected
+            task.onlyIf(new Spec<Task>() {
+                @Override
+                public boolean isSatisfiedBy(Task task) {
+                    return selection.getHeader() != null;
+                }
+            });
+        }
     }
 }
@@ -47,11 +47,12 @@ public class SourceCompileTaskConfig extends CompileTaskConfig {
         task.setObjectFileDir(new File(binary.getNamingScheme().getOutputDirectory(project.getBuildDir(), "objs"), sourceSet.getProjectScopedName()));
 
         // If this task uses a pre-compiled header
-        if (sourceSet instanceof DependentSourceSetInternal && ((DependentSourceSetInternal) sourceSet).getPreCompiledHeader() != null) {
+        if (sourceSet instanceof DependentSourceSetInternal && ((DependentSourceSetInternal) sourceSet).getPrefixHeaderFile() != null) {
             final DependentSourceSetInternal dependentSourceSet = (DependentSourceSetInternal)sourceSet;
             PreCompiledHeader pch = binary.getPrefixFileToPCH().get(dependentSourceSet.getPrefixHeaderFile());
             pch.setPrefixHeaderFile(dependentSourceSet.getPrefixHeaderFile());
             pch.setIncludeString(dependentSourceSet.getPreCompiledHeader());
+            pch.setSelection(dependentSourceSet.getPreCompiledHeaderSelection());
             task.setPreCompiledHeader(pch);
         }
 
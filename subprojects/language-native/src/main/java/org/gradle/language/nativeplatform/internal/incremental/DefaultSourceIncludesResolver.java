@@ -22,11 +22,18 @@ import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Resolves includes against the include search path. The file system is queried at most once for each candidate location, so an instance should not be reused
+ * once the files in the search path may have changed.
+ */
 public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
     private final List<File> includePaths;
+    private final Map<File, CandidateLocation> candidateLocations = new HashMap<File, CandidateLocation>();
 
     public DefaultSourceIncludesResolver(List<File> includePaths) {
         this.includePaths = includePaths;
@@ -60,21 +67,41 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
     private void searchForDependency(List<File> searchPath, String include, BuildableResolvedSourceIncludes dependencies) {
         for (File searchDir : searchPath) {
             File candidate = new File(searchDir, include);
+            CandidateLocation location = lookup(candidate);
             // TODO: SLG This isn't correct, we need to consider directories too
             // If a source file is #include <type_trait>
             // and includePath = [ A, B ]
             // and /B/type_trait is the header we want.
             // We need /A/type_trait to be recorded as a directory in case it becomes a file later.
-            if (!candidate.isDirectory()) {
+            if (!location.directory) {
                 dependencies.searched(candidate);
             }
-            if (candidate.isFile()) {
-                dependencies.resolved(include, candidate);
+            if (location.resolvedFile != null) {
+                dependencies.resolved(include, location.resolvedFile);
                 return;
             }
         }
     }
 
+    private CandidateLocation lookup(File candidate) {
+        CandidateLocation location = candidateLocations.get(candidate);
+        if (location == null) {
+            location = new CandidateLocation(candidate.isDirectory(), candidate.isFile() ? FileUtils.canonicalize(candidate) : null);
+            candidateLocations.put(candidate, location);
+        }
+        return location;
+    }
+
+    private static class CandidateLocation {
+        final boolean directory;
+        final File resolvedFile;
+
+        CandidateLocation(boolean directory, File resolvedFile) {
+            this.directory = directory;
+            this.resolvedFile = resolvedFile;
+        }
+    }
+
     private static class BuildableResolvedSourceIncludes implements ResolvedSourceIncludes {
         private final Set<ResolvedInclude> dependencies = Sets.newLinkedHashSet();
         private final Set<File> candidates = Sets.newLinkedHashSet();
@@ -84,8 +111,7 @@ public class DefaultSourceIncludesResolver implements SourceIncludesResolver {
         }
 
         void resolved(String rawInclude, File resolved) {
-            File dependencyFile = resolved == null ? null : FileUtils.canonicalize(resolved);
-            dependencies.add(new ResolvedInclude(rawInclude, dependencyFile));
+            dependencies.add(new ResolvedInclude(rawInclude, resolved));
         }
 
         @Override
@@ -30,11 +30,12 @@ import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.cache.PersistentStateCache;
 import org.gradle.internal.Factory;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CSourceParser;
-import org.gradle.language.nativeplatform.internal.incremental.sourceparser.RegexBackedCSourceParser;
 import org.gradle.nativeplatform.toolchain.Clang;
 import org.gradle.nativeplatform.toolchain.Gcc;
 import org.gradle.nativeplatform.toolchain.NativeToolChain;
@@ -43,7 +44,9 @@ import org.gradle.util.CollectionUtils;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements Compiler<T> {
     private final Compiler<T> delegateCompiler;
@@ -52,16 +55,16 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
     private final TaskArtifactStateCacheAccess cacheAccess;
     private final FileSnapshotter fileSnapshotter;
     private final CompilationStateCacheFactory compilationStateCacheFactory;
+    private final CSourceParser sourceParser;
     private final Logger logger = Logging.getLogger(IncrementalNativeCompiler.class);
 
-    private final CSourceParser sourceParser = new RegexBackedCSourceParser();
-
     public IncrementalNativeCompiler(TaskInternal task, TaskArtifactStateCacheAccess cacheAccess, FileSnapshotter fileSnapshotter, CompilationStateCacheFactory compilationStateCacheFactory,
-                                     Compiler<T> delegateCompiler, NativeToolChain toolChain) {
+                                     CSourceParser sourceParser, Compiler<T> delegateCompiler, NativeToolChain toolChain) {
         this.task = task;
         this.cacheAccess = cacheAccess;
         this.fileSnapshotter = fileSnapshotter;
         this.compilationStateCacheFactory = compilationStateCacheFactory;
+        this.sourceParser = sourceParser;
         this.delegateCompiler = delegateCompiler;
         this.importsAreIncludes = Clang.class.isAssignableFrom(toolChain.getClass()) || Gcc.class.isAssignableFrom(toolChain.getClass());
     }
@@ -79,6 +82,9 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
         });
 
         spec.setSourceFileIncludeDirectives(mapIncludes(spec.getSourceFiles(), compilation.getFinalState()));
+        if (spec.getObjectFileCache() != null && spec.getObjectFileCache().isEnabled()) {
+            spec.setSourceFileInputHashes(hashInputs(spec.getSourceFiles(), compilation.getFinalState()));
+        }
 
         handleDiscoveredInputs(spec, compilation, spec.getDiscoveredInputRecorder());
 
@@ -127,6 +133,41 @@ public class IncrementalNativeCompiler<T extends NativeCompileSpec> implements C
         });
     }
 
+    protected Map<File, HashValue> hashInputs(Collection<File> sourceFiles, CompilationState compilationState) {
+        Map<File, HashValue> hashes = new HashMap<File, HashValue>();
+        for (File sourceFile : sourceFiles) {
+            Map<File, HashValue> inputs = new TreeMap<File, HashValue>();
+            if (collectInputs(sourceFile, compilationState, inputs)) {
+                StringBuilder builder = new StringBuilder();
+                for (Map.Entry<File, HashValue> entry : inputs.entrySet()) {
+                    builder.append(entry.getKey().getPath()).append('=').append(entry.getValue().asHexString()).append('\n');
+                }
+                hashes.put(sourceFile, HashUtil.createHash(builder.toString(), "MD5"));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Collects the content hash of the given file and every file it includes, returning false if the included files cannot be fully determined.
+     */
+    private boolean collectInputs(File file, CompilationState compilationState, Map<File, HashValue> inputs) {
+        if (inputs.containsKey(file)) {
+            return true;
+        }
+        CompilationFileState state = compilationState.getState(file);
+        if (state == null) {
+            return false;
+        }
+        inputs.put(file, state.getHash());
+        for (ResolvedInclude include : state.getResolvedIncludes()) {
+            if (include.isUnknown() || !collectInputs(include.getFile(), compilationState, inputs)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean sourceFilesUseMacroIncludes(Collection<File> files, final CompilationState compilationState) {
         // If we couldn't determine all dependencies of some files due to macros, we have to scan all include directories.
         return CollectionUtils.any(files, new Spec<File>() {
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser;
+
+import org.gradle.api.internal.changedetection.state.FileSnapshotter;
+import org.gradle.internal.Factory;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link CSourceParser} that reuses the directives parsed from a file for any other file with the same content. A single instance is shared by all
+ * compile tasks of a build, so that a header included by many components and variants is parsed once. Results are also stored in the given persistent
+ * cache, so that they can be reused by later builds.
+ */
+public class CachingCSourceParser implements CSourceParser {
+    private final CSourceParser delegate;
+    private final FileSnapshotter fileSnapshotter;
+    private final IncludeDirectivesCache persistentCache;
+    private final ConcurrentMap<HashValue, IncludeDirectives> cache = new ConcurrentHashMap<HashValue, IncludeDirectives>();
+
+    public CachingCSourceParser(CSourceParser delegate, FileSnapshotter fileSnapshotter, IncludeDirectivesCache persistentCache) {
+        this.delegate = delegate;
+        this.fileSnapshotter = fileSnapshotter;
+        this.persistentCache = persistentCache;
+    }
+
+    @Override
+    public IncludeDirectives parseSource(final File sourceFile) {
+        HashValue hash = fileSnapshotter.snapshot(sourceFile).getHash();
+        IncludeDirectives directives = cache.get(hash);
+        if (directives == null) {
+            directives = persistentCache.get(hash, new Factory<IncludeDirectives>() {
+                public IncludeDirectives create() {
+                    return delegate.parseSource(sourceFile);
+                }
+            });
+            cache.put(hash, directives);
+        }
+        return directives;
+    }
+}
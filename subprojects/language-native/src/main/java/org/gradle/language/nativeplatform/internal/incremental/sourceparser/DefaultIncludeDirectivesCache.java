@@ -0,0 +1,34 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser;
+
+import org.gradle.api.internal.cache.MinimalPersistentCache;
+import org.gradle.cache.CacheRepository;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.internal.serialize.HashValueSerializer;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
+
+/**
+ * Cross-process, global cache of the include directives parsed from C-compatible source files, keyed by file content hash.
+ * A header that is shared by many components, or that has not changed since a previous build, does not need to be parsed again.
+ */
+public class DefaultIncludeDirectivesCache extends MinimalPersistentCache<HashValue, IncludeDirectives> implements IncludeDirectivesCache {
+    public DefaultIncludeDirectivesCache(CacheRepository cacheRepository) {
+        super(cacheRepository, "include directives", new HashValueSerializer(), new IncludeDirectivesSerializer());
+    }
+}
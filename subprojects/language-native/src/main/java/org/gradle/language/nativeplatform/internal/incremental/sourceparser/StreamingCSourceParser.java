@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.io.IOUtils;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.language.nativeplatform.internal.Include;
+import org.gradle.language.nativeplatform.internal.IncludeDirectives;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * Extracts the {@code #include} and {@code #import} directives from a source file.
+ *
+ * <p>The file is scanned in a single pass. Lines that do not start with a {@code #} are skipped without being buffered, and a string is created only for the value
+ * of each directive found. Directives are recognised using the same rules as the pattern {@code #\s*(include|import)\s*((<[^>]+>)|("[^"]+")|(\w+))}, matched
+ * case-insensitively against the whole line after comments and leading and trailing whitespace have been removed.</p>
+ */
+public class StreamingCSourceParser implements CSourceParser {
+    private static final String INCLUDE = "include";
+    private static final String IMPORT = "import";
+
+    @Override
+    public IncludeDirectives parseSource(File sourceFile) {
+        DefaultIncludeDirectives sourceIncludes = new DefaultIncludeDirectives();
+        sourceIncludes.addAll(parseFile(sourceFile));
+        return sourceIncludes;
+    }
+
+    private List<Include> parseFile(File file) {
+        List<Include> includes = Lists.newArrayList();
+        try {
+            Reader reader = new PreprocessingReader(new BufferedReader(new FileReader(file)));
+            try {
+                scan(reader, includes);
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return includes;
+    }
+
+    private void scan(Reader reader, List<Include> includes) throws IOException {
+        char[] line = new char[256];
+        int ch = reader.read();
+        while (ch != -1) {
+            // Skip leading whitespace
+            while (ch != -1 && ch != '\n' && ch != '\r' && ch <= ' ') {
+                ch = reader.read();
+            }
+            if (ch == '#') {
+                // Collect the remainder of the line
+                int length = 0;
+                while (ch != -1 && ch != '\n' && ch != '\r') {
+                    if (length == line.length) {
+                        char[] larger = new char[line.length * 2];
+                        System.arraycopy(line, 0, larger, 0, length);
+                        line = larger;
+                    }
+                    line[length++] = (char) ch;
+                    ch = reader.read();
+                }
+                Include include = parseDirective(line, length);
+                if (include != null) {
+                    includes.add(include);
+                }
+            } else {
+                while (ch != -1 && ch != '\n' && ch != '\r') {
+                    ch = reader.read();
+                }
+            }
+            if (ch == '\r') {
+                ch = reader.read();
+                if (ch == '\n') {
+                    ch = reader.read();
+                }
+            } else if (ch == '\n') {
+                ch = reader.read();
+            }
+        }
+    }
+
+    /**
+     * Parses a line that starts with {@code #}, returning null when the line is not an include or import directive.
+     */
+    private static Include parseDirective(char[] line, int length) {
+        int end = length;
+        while (end > 0 && line[end - 1] <= ' ') {
+            end--;
+        }
+        int pos = skipWhitespace(line, 1, end);
+
+        boolean isImport;
+        if (regionMatches(line, pos, end, INCLUDE)) {
+            isImport = false;
+            pos += INCLUDE.length();
+        } else if (regionMatches(line, pos, end, IMPORT)) {
+            // Only the lower case directive is treated as an import
+            isImport = new String(line, pos, IMPORT.length()).equals(IMPORT);
+            pos += IMPORT.length();
+        } else {
+            return null;
+        }
+        pos = skipWhitespace(line, pos, end);
+
+        if (pos == end || !isValidValue(line, pos, end)) {
+            return null;
+        }
+        return DefaultInclude.parse(new String(line, pos, end - pos), isImport);
+    }
+
+    private static boolean isValidValue(char[] line, int start, int end) {
+        char first = line[start];
+        if (first == '<' || first == '"') {
+            char last = first == '<' ? '>' : '"';
+            if (end - start < 3 || line[end - 1] != last) {
+                return false;
+            }
+            for (int i = start + 1; i < end - 1; i++) {
+                if (line[i] == last) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isIdentifierChar(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIdentifierChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    private static int skipWhitespace(char[] line, int pos, int end) {
+        while (pos < end && isWhitespace(line[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWhitespace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static boolean regionMatches(char[] line, int pos, int end, String keyword) {
+        if (end - pos < keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            char ch = line[pos + i];
+            if (ch >= 'A' && ch <= 'Z') {
+                ch = (char) (ch + ('a' - 'A'));
+            }
+            if (ch != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
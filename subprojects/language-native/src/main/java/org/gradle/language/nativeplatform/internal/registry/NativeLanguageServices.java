@@ -16,10 +16,19 @@
 
 package org.gradle.language.nativeplatform.internal.registry;
 
+import org.gradle.api.internal.changedetection.state.FileSnapshotter;
+import org.gradle.cache.CacheRepository;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
+import org.gradle.language.nativeplatform.internal.IncludeFrequencyPreCompiledHeaderSelector;
 import org.gradle.language.nativeplatform.internal.incremental.DefaultCompilationStateCacheFactory;
 import org.gradle.language.nativeplatform.internal.incremental.IncrementalCompilerBuilder;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CSourceParser;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.CachingCSourceParser;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.DefaultIncludeDirectivesCache;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.IncludeDirectivesCache;
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.StreamingCSourceParser;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelector;
 
 public class NativeLanguageServices implements PluginServiceRegistry {
     @Override
@@ -37,10 +46,26 @@ public class NativeLanguageServices implements PluginServiceRegistry {
     @Override
     public void registerGradleServices(ServiceRegistration registration) {
         registration.add(DefaultCompilationStateCacheFactory.class);
+        registration.addProvider(new GradleScopeNativeLanguageServices());
     }
 
     @Override
     public void registerProjectServices(ServiceRegistration registration) {
         registration.add(IncrementalCompilerBuilder.class);
     }
+
+    private static class GradleScopeNativeLanguageServices {
+        IncludeDirectivesCache createIncludeDirectivesCache(CacheRepository cacheRepository) {
+            return new DefaultIncludeDirectivesCache(cacheRepository);
+        }
+
+        CSourceParser createSourceParser(FileSnapshotter fileSnapshotter, IncludeDirectivesCache includeDirectivesCache) {
+            return new CachingCSourceParser(new StreamingCSourceParser(), fileSnapshotter, includeDirectivesCache);
+        }
+
+        PreCompiledHeaderSelector createPreCompiledHeaderSelector() {
+            // Selection happens before the tasks that use the header are up-to-date checked, outside of the task history cache, so parse the source files directly
+            return new IncludeFrequencyPreCompiledHeaderSelector(new StreamingCSourceParser());
+        }
+    }
 }
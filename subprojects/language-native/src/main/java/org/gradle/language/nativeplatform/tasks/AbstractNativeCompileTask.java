@@ -39,6 +39,7 @@ import org.gradle.nativeplatform.platform.internal.NativePlatformInternal;
 import org.gradle.nativeplatform.toolchain.NativeToolChain;
 import org.gradle.nativeplatform.toolchain.internal.NativeCompileSpec;
 import org.gradle.nativeplatform.toolchain.internal.NativeToolChainInternal;
+import org.gradle.nativeplatform.toolchain.internal.ObjectFileCache;
 import org.gradle.nativeplatform.toolchain.internal.PlatformToolProvider;
 
 import javax.inject.Inject;
@@ -83,6 +84,11 @@ public abstract class AbstractNativeCompileTask extends DefaultTask {
         throw new UnsupportedOperationException();
     }
 
+    @Inject
+    public ObjectFileCache getObjectFileCache() {
+        throw new UnsupportedOperationException();
+    }
+
     @TaskAction
     public void compile(IncrementalTaskInputs inputs) {
         BuildOperationLogger operationLogger = getOperationLoggerFactory().newOperationLogger(getName(), getTemporaryDir());
@@ -98,6 +104,7 @@ public abstract class AbstractNativeCompileTask extends DefaultTask {
         spec.setIncrementalCompile(inputs.isIncremental());
         spec.setDiscoveredInputRecorder((DiscoveredInputRecorder) inputs);
         spec.setOperationLogger(operationLogger);
+        spec.setObjectFileCache(getObjectFileCache());
 
         configureSpec(spec);
 
@@ -40,12 +40,13 @@ public abstract class AbstractNativeSourceCompileTask extends AbstractNativeComp
     @Override
     protected void configureSpec(NativeCompileSpec spec) {
         super.configureSpec(spec);
-        if (preCompiledHeader != null) {
+        if (preCompiledHeader != null && preCompiledHeader.getIncludeString() != null) {
             File pchObjectFile = preCompiledHeader.getObjectFile();
             File pchDir = PCHUtils.generatePCHObjectDirectory(spec.getTempDir(), preCompiledHeader.getPrefixHeaderFile(), pchObjectFile);
             spec.setPrefixHeaderFile(new File(pchDir, preCompiledHeader.getPrefixHeaderFile().getName()));
             spec.setPreCompiledHeaderObjectFile(new File(pchDir, pchObjectFile.getName()));
             spec.setPreCompiledHeader(DefaultInclude.parse(preCompiledHeader.getIncludeString(), true).getValue());
+            spec.setPreCompiledHeaderAutoSelected(preCompiledHeader.isAutoSelected());
         }
     }
 
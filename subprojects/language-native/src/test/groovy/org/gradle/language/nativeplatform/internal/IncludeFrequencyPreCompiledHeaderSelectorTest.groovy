@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.language.nativeplatform.internal
+
+import org.gradle.language.nativeplatform.internal.incremental.sourceparser.StreamingCSourceParser
+import org.gradle.nativeplatform.toolchain.internal.PCHUtils
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class IncludeFrequencyPreCompiledHeaderSelectorTest extends Specification {
+    @Rule final TestNameTestDirectoryProvider tmpDirProvider = new TestNameTestDirectoryProvider()
+
+    def selector = new IncludeFrequencyPreCompiledHeaderSelector(new StreamingCSourceParser())
+
+    def "selects header that most source files include first"() {
+        def sources = [
+            source("a.c", '#include "common.h"', '#include <stdio.h>'),
+            source("b.c", '#include "common.h"', '#include "other.h"'),
+            source("c.c", '#include "other.h"', '#include "common.h"'),
+        ]
+
+        expect:
+        selector.select(sources) == "common.h"
+    }
+
+    def "selects header that most source files include over header that most source files include first"() {
+        def sources = [
+            source("a.c", '#include "other.h"'),
+            source("b.c", '#include "other.h"'),
+            source("c.c", '#include "other.h"'),
+            source("d.c", '#include "common.h"'),
+            source("e.c", '#include "common.h"'),
+            source("f.c", '#include "f.h"', '#include "common.h"'),
+            source("g.c", '#include "g.h"', '#include "common.h"'),
+        ]
+
+        expect:
+        selector.select(sources) == "common.h"
+    }
+
+    def "does not select header that is the first header of a single source file"() {
+        def sources = [
+            source("a.c", '#include "common.h"'),
+            source("b.c", '#include "a.h"', '#include "common.h"'),
+            source("c.c", '#include "c.h"', '#include "common.h"'),
+        ]
+
+        expect:
+        selector.select(sources) == null
+    }
+
+    def "selects system header"() {
+        def sources = [
+            source("a.c", '#include <vector>'),
+            source("b.c", '#include <vector>'),
+        ]
+
+        expect:
+        selector.select(sources) == "<vector>"
+    }
+
+    def "counts system and quoted includes of the same name as different headers"() {
+        def sources = [
+            source("a.c", '#include <common.h>'),
+            source("b.c", '#include <common.h>'),
+            source("c.c", '#include "common.h"'),
+            source("d.c", '#include "common.h"'),
+            source("e.c", '#include "common.h"'),
+        ]
+
+        expect:
+        selector.select(sources) == "common.h"
+    }
+
+    def "selected system header is included as a system header by the prefix header"() {
+        def sources = [
+            source("a.c", '#include <vector>', '#include "a.h"'),
+            source("b.c", '#include <vector>', '#include "b.h"'),
+        ]
+        def prefixHeader = tmpDirProvider.file("prefix-headers.h")
+
+        when:
+        PCHUtils.generatePCHFile([selector.select(sources)], prefixHeader)
+
+        then:
+        prefixHeader.readLines() == ['#include <vector>']
+    }
+
+    def "does not select header that fewer than half the source files include"() {
+        def sources = [
+            source("a.c", '#include "a.h"'),
+            source("b.c", '#include "a.h"'),
+            source("c.c", '#include "c.h"'),
+            source("d.c", '#include "d.h"'),
+            source("e.c", '#include "e.h"'),
+        ]
+
+        expect:
+        selector.select(sources) == null
+    }
+
+    def "does not select header included by a single source file"() {
+        expect:
+        selector.select([source("a.c", '#include "a.h"')]) == null
+    }
+
+    def "ignores macro includes and source files without includes"() {
+        def sources = [
+            source("a.c", '#include HEADER'),
+            source("b.c", '#include HEADER'),
+            source("c.c", 'int x;'),
+        ]
+
+        expect:
+        selector.select(sources) == null
+    }
+
+    private File source(String name, String... lines) {
+        def file = tmpDirProvider.file(name)
+        file.text = lines.join("\n")
+        return file
+    }
+}
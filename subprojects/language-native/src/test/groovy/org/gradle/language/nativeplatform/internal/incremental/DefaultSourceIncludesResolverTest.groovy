@@ -166,6 +166,24 @@ class DefaultSourceIncludesResolverTest extends Specification {
         }
     }
 
+    def "reuses the result of searching a location for subsequent source files"() {
+        given:
+        def includePath = testDirectory.createDir("include")
+        includePaths << includePath
+        systemIncludes << "test.h"
+        def resolver = new DefaultSourceIncludesResolver(includePaths)
+
+        when:
+        def first = resolver.resolveIncludes(sourceFile, includes)
+        includePath.createFile("test.h")
+        def second = resolver.resolveIncludes(sourceFile, includes)
+
+        then:
+        first.resolvedIncludes.empty
+        second.resolvedIncludes.empty
+        second.checkedLocations == first.checkedLocations
+    }
+
     def include(String value) {
         return DefaultInclude.parse(value, false)
     }
@@ -19,6 +19,7 @@ import org.gradle.api.internal.TaskOutputsInternal
 import org.gradle.api.internal.changedetection.changes.DiscoveredInputRecorder
 import org.gradle.api.internal.file.collections.SimpleFileCollection
 import org.gradle.api.internal.tasks.SimpleWorkResult
+import org.gradle.internal.hash.HashUtil
 import org.gradle.language.base.internal.compile.Compiler
 import org.gradle.nativeplatform.toolchain.Clang
 import org.gradle.nativeplatform.toolchain.Gcc
@@ -37,7 +38,7 @@ class IncrementalNativeCompilerTest extends Specification {
     def delegateCompiler = Mock(Compiler)
     def toolChain = Mock(NativeToolChain)
     def task = Mock(TaskInternal)
-    def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain)
+    def compiler = new IncrementalNativeCompiler(task, null, null, null, null, delegateCompiler, toolChain)
 
     def outputs = Mock(TaskOutputsInternal)
 
@@ -94,7 +95,7 @@ class IncrementalNativeCompilerTest extends Specification {
     @Unroll
     def "imports are includes for toolchain #tcName"() {
        when:
-       def compiler = new IncrementalNativeCompiler(task, null, null, null, delegateCompiler, toolChain)
+       def compiler = new IncrementalNativeCompiler(task, null, null, null, null, delegateCompiler, toolChain)
        then:
        compiler.importsAreIncludes
        where:
@@ -154,4 +155,37 @@ class IncrementalNativeCompilerTest extends Specification {
         1 * taskInputs.newInput(notIncludedFile)
         0 * taskInputs._
     }
+
+    def "hashes each source file together with the headers it includes"() {
+        given:
+        def source = temporaryFolder.file("source.c")
+        def header = temporaryFolder.file("header.h")
+        def nested = temporaryFolder.file("nested.h")
+        def macroSource = temporaryFolder.file("macro.c")
+
+        def state = { String headerHash ->
+            def compilationState = new CompilationState()
+            def sourceState = new CompilationFileState(HashUtil.createHash("source", "MD5"))
+            sourceState.resolvedIncludes = [new ResolvedInclude("header.h", header)] as Set
+            def headerState = new CompilationFileState(HashUtil.createHash(headerHash, "MD5"))
+            headerState.resolvedIncludes = [new ResolvedInclude("nested.h", nested), new ResolvedInclude("source.c", source)] as Set
+            def macroState = new CompilationFileState(HashUtil.createHash("macro", "MD5"))
+            macroState.resolvedIncludes = [new ResolvedInclude("MACRO", null)] as Set
+            compilationState.setState(source, sourceState)
+            compilationState.setState(header, headerState)
+            compilationState.setState(nested, new CompilationFileState(HashUtil.createHash("nested", "MD5")))
+            compilationState.setState(macroSource, macroState)
+            compilationState
+        }
+
+        when:
+        def hashes = compiler.hashInputs([source, macroSource], state("header"))
+        def sameHashes = compiler.hashInputs([source, macroSource], state("header"))
+        def changedHashes = compiler.hashInputs([source, macroSource], state("changed header"))
+
+        then:
+        hashes.keySet() == [source] as Set
+        sameHashes[source] == hashes[source]
+        changedHashes[source] != hashes[source]
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.language.nativeplatform.internal.incremental.sourceparser
+
+import org.gradle.api.internal.changedetection.state.FileSnapshot
+import org.gradle.api.internal.changedetection.state.FileSnapshotter
+import org.gradle.internal.Factory
+import org.gradle.internal.hash.HashValue
+import org.gradle.language.nativeplatform.internal.IncludeDirectives
+import spock.lang.Specification
+
+class CachingCSourceParserTest extends Specification {
+    def delegate = Mock(CSourceParser)
+    def snapshotter = Mock(FileSnapshotter)
+    def persistentCache = Mock(IncludeDirectivesCache)
+    def parser = new CachingCSourceParser(delegate, snapshotter, persistentCache)
+
+    def "reuses directives parsed from a file with the same content"() {
+        def file1 = new File("header1.h")
+        def file2 = new File("header2.h")
+        def directives = Stub(IncludeDirectives)
+
+        when:
+        def result1 = parser.parseSource(file1)
+        def result2 = parser.parseSource(file2)
+
+        then:
+        result1 == directives
+        result2 == directives
+
+        and:
+        1 * snapshotter.snapshot(file1) >> snapshot("1234")
+        1 * snapshotter.snapshot(file2) >> snapshot("1234")
+        1 * persistentCache.get(HashValue.parse("1234"), _) >> { HashValue hash, Factory factory -> factory.create() }
+        1 * delegate.parseSource(file1) >> directives
+        0 * delegate._
+        0 * persistentCache._
+    }
+
+    def "uses directives from persistent cache when not already parsed in this build"() {
+        def file = new File("header.h")
+        def directives = Stub(IncludeDirectives)
+
+        when:
+        def result = parser.parseSource(file)
+
+        then:
+        result == directives
+
+        and:
+        1 * snapshotter.snapshot(file) >> snapshot("1234")
+        1 * persistentCache.get(HashValue.parse("1234"), _) >> directives
+        0 * delegate._
+    }
+
+    def "parses a file again when its content changes"() {
+        def file = new File("header.h")
+        def directives1 = Stub(IncludeDirectives)
+        def directives2 = Stub(IncludeDirectives)
+
+        when:
+        def result1 = parser.parseSource(file)
+        def result2 = parser.parseSource(file)
+
+        then:
+        result1 == directives1
+        result2 == directives2
+
+        and:
+        2 * snapshotter.snapshot(file) >>> [snapshot("1234"), snapshot("5678")]
+        2 * persistentCache.get(_, _) >> { HashValue hash, Factory factory -> factory.create() }
+        2 * delegate.parseSource(file) >>> [directives1, directives2]
+    }
+
+    def snapshot(String hash) {
+        return Stub(FileSnapshot) {
+            getHash() >> HashValue.parse(hash)
+        }
+    }
+}
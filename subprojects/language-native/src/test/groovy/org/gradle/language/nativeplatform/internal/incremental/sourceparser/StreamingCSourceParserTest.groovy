@@ -22,9 +22,9 @@ import org.junit.Rule
 import spock.lang.Specification
 import spock.lang.Unroll
 
-class RegexBackedCSourceParserTest extends Specification {
+class StreamingCSourceParserTest extends Specification {
     @Rule final TestNameTestDirectoryProvider temporaryFolder = new TestNameTestDirectoryProvider()
-    CSourceParser parser = new RegexBackedCSourceParser()
+    CSourceParser parser = new StreamingCSourceParser()
 
     protected TestFile getSourceFile() {
         testDirectory.file('source.c')
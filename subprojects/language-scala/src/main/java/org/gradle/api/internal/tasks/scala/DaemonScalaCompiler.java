@@ -32,6 +32,7 @@ package org.gradle.api.internal.tasks.scala;
  * limitations under the License.
  */
 
+import com.google.common.collect.Lists;
 import org.gradle.api.internal.tasks.compile.daemon.AbstractDaemonCompiler;
 import org.gradle.api.internal.tasks.compile.daemon.CompilerDaemonFactory;
 import org.gradle.api.internal.tasks.compile.daemon.DaemonForkOptions;
@@ -41,6 +42,7 @@ import org.gradle.language.base.internal.compile.Compiler;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.List;
 
 public class DaemonScalaCompiler<T extends ScalaJavaJointCompileSpec> extends AbstractDaemonCompiler<T> {
     private static final Iterable<String> SHARED_PACKAGES = Arrays.asList("scala", "com.typesafe.zinc", "xsbti", "com.sun.tools.javac");
@@ -64,7 +66,19 @@ public class DaemonScalaCompiler<T extends ScalaJavaJointCompileSpec> extends Ab
     private DaemonForkOptions createScalaForkOptions(T spec) {
         ScalaForkOptions options = spec.getScalaCompileOptions().getForkOptions();
         return new DaemonForkOptions(options.getMemoryInitialSize(), options.getMemoryMaximumSize(),
-                options.getJvmArgs(), zincClasspath, SHARED_PACKAGES);
+                withForwardedSystemProperties(options.getJvmArgs()), zincClasspath, SHARED_PACKAGES);
+    }
+
+    // the Zinc compiler and analysis caches are sized in the daemon, so pass on any limits given to the build
+    private static List<String> withForwardedSystemProperties(List<String> jvmArgs) {
+        List<String> result = Lists.newArrayList(jvmArgs);
+        for (String property : ZincScalaCompiler.ZINC_CACHE_LIMIT_SYSTEM_PROPERTIES) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                result.add("-D" + property + "=" + value);
+            }
+        }
+        return result;
     }
 }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala;
+
+import com.typesafe.zinc.Setup;
+import org.gradle.internal.Factory;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The Zinc setups created by a compiler daemon, keyed by Scala classpath, Zinc classpath and Java home. A setup is created once, under the zinc cache
+ * lock, and later compiles with the same key reuse it without taking the lock. Zinc keeps the compilers themselves, in its own cache keyed by setup
+ * and bounded by its {@code zinc.compiler.cache.limit} property. A daemon only compiles against a few Scala versions, so the setups are not evicted.
+ */
+class ZincCompilerSetups {
+    private final ConcurrentMap<List<File>, Setup> setups = new ConcurrentHashMap<List<File>, Setup>();
+
+    public Setup getOrCreate(List<File> key, Factory<Setup> factory) {
+        Setup setup = setups.get(key);
+        if (setup == null) {
+            setup = factory.create();
+            Setup previous = setups.putIfAbsent(key, setup);
+            if (previous != null) {
+                setup = previous;
+            }
+        }
+        return setup;
+    }
+}
@@ -55,6 +55,11 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
     private static final String ZINC_DIR_SYSTEM_PROPERTY = "zinc.dir";
     public static final String ZINC_DIR_IGNORED_MESSAGE = "In order to guarantee parallel safe Scala compilation, Gradle does not support the '" + ZINC_DIR_SYSTEM_PROPERTY + "' system property and ignores any value provided.";
 
+    /**
+     * Zinc's own limits for the compilers and analyses it keeps in memory, which the build passes on to the compiler daemon.
+     */
+    public static final List<String> ZINC_CACHE_LIMIT_SYSTEM_PROPERTIES = ImmutableList.of("zinc.compiler.cache.limit", "zinc.analysis.cache.limit", "zinc.resident.cache.limit");
+
     public ZincScalaCompiler(Iterable<File> scalaClasspath, Iterable<File> zincClasspath, File gradleUserHome) {
         this.scalaClasspath = scalaClasspath;
         this.zincClasspath = zincClasspath;
@@ -69,12 +74,15 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
     // need to defer loading of Zinc/sbt/Scala classes until we are
     // running in the compiler daemon and have them on the class path
     private static class Compiler {
-        static WorkResult execute(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, File gradleUserHome, final ScalaJavaJointCompileSpec spec) {
+        // Lives as long as the compiler daemon, so that tasks compiling against the same Scala version skip the lock and the compiler warm-up
+        private static final ZincCompilerSetups SETUPS = new ZincCompilerSetups();
+
+        static WorkResult execute(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final File gradleUserHome, final ScalaJavaJointCompileSpec spec) {
             LOGGER.info("Compiling with Zinc Scala compiler.");
 
             final xsbti.Logger logger = new SbtLoggerAdapter();
 
-            com.typesafe.zinc.Compiler compiler = createParallelSafeCompiler(scalaClasspath, zincClasspath, logger, gradleUserHome);
+            com.typesafe.zinc.Compiler compiler = getOrCreateCompiler(scalaClasspath, zincClasspath, logger, gradleUserHome);
 
             List<String> scalacOptions = new ZincScalaCompilerArgumentsGenerator().generate(spec);
             List<String> javacOptions = new JavaCompilerArgumentsBuilder(spec).includeClasspath(false).build();
@@ -115,18 +123,32 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
             return options;
         }
 
-        static com.typesafe.zinc.Compiler createCompiler(Iterable<File> scalaClasspath, Iterable<File> zincClasspath, xsbti.Logger logger) {
+        static com.typesafe.zinc.Compiler getOrCreateCompiler(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final xsbti.Logger logger, final File gradleUserHome) {
+            List<File> key = ImmutableList.<File>builder().addAll(scalaClasspath).addAll(zincClasspath).add(Jvm.current().getJavaHome()).build();
+            Setup setup = SETUPS.getOrCreate(key, new Factory<Setup>() {
+                @Override
+                public Setup create() {
+                    return createParallelSafeSetup(scalaClasspath, zincClasspath, logger, gradleUserHome);
+                }
+            });
+            // Zinc keeps the compilers it creates, keyed by setup. Should it have discarded the compiler for this setup, the compiler interface it
+            // recreates the compiler from has already been built into the zinc cache directory, under the lock
+            return com.typesafe.zinc.Compiler.getOrCreate(setup, logger);
+        }
+
+        static Setup createSetup(Iterable<File> scalaClasspath, Iterable<File> zincClasspath, xsbti.Logger logger) {
             ScalaLocation scalaLocation = ScalaLocation.fromPath(Lists.newArrayList(scalaClasspath));
             SbtJars sbtJars = SbtJars.fromPath(Lists.newArrayList(zincClasspath));
             Setup setup = Setup.create(scalaLocation, sbtJars, Jvm.current().getJavaHome(), true);
             if (LOGGER.isDebugEnabled()) {
                 Setup.debug(setup, logger);
             }
-            com.typesafe.zinc.Compiler compiler = com.typesafe.zinc.Compiler.getOrCreate(setup, logger);
-            return compiler;
+            // Warm up the compiler, which builds the compiler interface in the zinc cache directory
+            com.typesafe.zinc.Compiler.getOrCreate(setup, logger);
+            return setup;
         }
 
-        static com.typesafe.zinc.Compiler createParallelSafeCompiler(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final xsbti.Logger logger, File gradleUserHome) {
+        static Setup createParallelSafeSetup(final Iterable<File> scalaClasspath, final Iterable<File> zincClasspath, final xsbti.Logger logger, File gradleUserHome) {
             File zincCacheHomeDir = new File(System.getProperty(ZINC_CACHE_HOME_DIR_SYSTEM_PROPERTY, gradleUserHome.getAbsolutePath()));
             CacheRepository cacheRepository = ZincCompilerServices.getInstance(zincCacheHomeDir).get(CacheRepository.class);
             final PersistentCache zincCache = cacheRepository.cache("zinc")
@@ -140,20 +162,20 @@ public class ZincScalaCompiler implements Compiler<ScalaJavaJointCompileSpec>, S
                 LOGGER.warn(ZINC_DIR_IGNORED_MESSAGE);
             }
 
-            com.typesafe.zinc.Compiler compiler = SystemProperties.getInstance().withSystemProperty(ZINC_DIR_SYSTEM_PROPERTY, cacheDir.getAbsolutePath(), new Factory<com.typesafe.zinc.Compiler>() {
+            Setup setup = SystemProperties.getInstance().withSystemProperty(ZINC_DIR_SYSTEM_PROPERTY, cacheDir.getAbsolutePath(), new Factory<Setup>() {
                 @Override
-                public com.typesafe.zinc.Compiler create() {
-                    return zincCache.useCache("initialize", new Factory<com.typesafe.zinc.Compiler>() {
+                public Setup create() {
+                    return zincCache.useCache("initialize", new Factory<Setup>() {
                         @Override
-                        public com.typesafe.zinc.Compiler create() {
-                            return createCompiler(scalaClasspath, zincClasspath, logger);
+                        public Setup create() {
+                            return createSetup(scalaClasspath, zincClasspath, logger);
                         }
                     });
                 }
             });
             zincCache.close();
 
-            return compiler;
+            return setup;
         }
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.scala
+
+import com.typesafe.zinc.Setup
+import org.gradle.internal.Factory
+import spock.lang.Specification
+
+class ZincCompilerSetupsTest extends Specification {
+    def setups = new ZincCompilerSetups()
+    def factory = Mock(Factory)
+
+    def "creates setup under the lock for the first compile only"() {
+        def setup = Mock(Setup)
+
+        when:
+        def first = setups.getOrCreate([new File("scala.jar"), new File("zinc.jar")], factory)
+
+        then:
+        1 * factory.create() >> setup
+        first.is(setup)
+
+        when:
+        def second = setups.getOrCreate([new File("scala.jar"), new File("zinc.jar")], factory)
+
+        then:
+        0 * factory._
+        second.is(setup)
+    }
+
+    def "creates a setup for each key"() {
+        def setup1 = Mock(Setup)
+        def setup2 = Mock(Setup)
+
+        when:
+        def first = setups.getOrCreate([new File("scala-2.10.jar"), new File("zinc.jar")], factory)
+        def second = setups.getOrCreate([new File("scala-2.11.jar"), new File("zinc.jar")], factory)
+
+        then:
+        2 * factory.create() >>> [setup1, setup2]
+        first.is(setup1)
+        second.is(setup2)
+    }
+}
@@ -37,6 +37,9 @@ import org.gradle.launcher.daemon.registry.DaemonInfo;
 import org.gradle.launcher.daemon.registry.DaemonRegistry;
 import org.gradle.launcher.daemon.registry.DaemonStopEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -93,14 +96,25 @@ public class DefaultDaemonConnector implements DaemonConnector {
     }
 
     public DaemonClientConnection connect(ExplainingSpec<DaemonContext> constraint) {
-        List<DaemonInfo> compatibleIdleDaemons = getCompatibleDaemons(daemonRegistry.getIdle(), constraint);
-        DaemonClientConnection connection = findConnection(compatibleIdleDaemons);
+        // Read the registry once, as each read requires the registry file lock
+        List<DaemonInfo> idleDaemons = new ArrayList<DaemonInfo>();
+        int numBusy = 0;
+        for (DaemonInfo daemon : daemonRegistry.getAll()) {
+            if (daemon.isIdle()) {
+                idleDaemons.add(daemon);
+            } else {
+                numBusy++;
+            }
+        }
+
+        List<DaemonInfo> compatibleIdleDaemons = getCompatibleDaemons(idleDaemons, constraint);
+        DaemonClientConnection connection = findConnection(mostRecentlyUsedFirst(compatibleIdleDaemons));
         if (connection != null) {
             return connection;
         }
 
-        final int numBusy = daemonRegistry.getBusy().size();
-        final int numIncompatible = daemonRegistry.getIdle().size();
+        // Every compatible idle daemon was tried and removed from the registry as unreachable, so only the incompatible ones remain
+        final int numIncompatible = idleDaemons.size() - compatibleIdleDaemons.size();
         final List<DaemonStopEvent> stopEvents = daemonRegistry.getStopEvents();
         LOGGER.lifecycle(generateStartingMessage(numBusy, numIncompatible, stopEvents));
         daemonRegistry.clearStopEvents();
@@ -141,6 +155,20 @@ public class DefaultDaemonConnector implements DaemonConnector {
         return compatibleDaemons;
     }
 
+    /**
+     * Orders the given daemons so that the daemon that was most recently busy comes first. This daemon is the one most likely to have
+     * warm caches and JIT compiled code for the current build.
+     */
+    private static List<DaemonInfo> mostRecentlyUsedFirst(List<DaemonInfo> daemons) {
+        Collections.sort(daemons, new Comparator<DaemonInfo>() {
+            @Override
+            public int compare(DaemonInfo o1, DaemonInfo o2) {
+                return o2.getLastBusy().compareTo(o1.getLastBusy());
+            }
+        });
+        return daemons;
+    }
+
     private DaemonClientConnection findConnection(List<DaemonInfo> compatibleDaemons) {
         for (DaemonInfo daemon : compatibleDaemons) {
             try {
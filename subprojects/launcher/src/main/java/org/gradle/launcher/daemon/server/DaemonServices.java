@@ -15,6 +15,7 @@
  */
 package org.gradle.launcher.daemon.server;
 
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.internal.classpath.ClassPath;
@@ -88,10 +89,10 @@ public class DaemonServices extends DefaultServiceRegistry {
         return new File(get(DaemonDir.class).getVersionedDir(), fileName);
     }
 
-    protected DefaultDaemonHealthServices createDaemonHealthServices(ListenerManager listenerManager, DaemonStats daemonStats) {
+    protected DefaultDaemonHealthServices createDaemonHealthServices(ListenerManager listenerManager, DaemonStats daemonStats, MemoryManager memoryManager) {
         DaemonStatus daemonStatus = new DaemonStatus(daemonStats);
         DaemonHealthCheck healthCheck = new DefaultDaemonHealthCheck(DaemonExpirationStrategies.getHealthStrategy(daemonStatus), listenerManager);
-        return new DefaultDaemonHealthServices(healthCheck, daemonStatus, daemonStats);
+        return new DefaultDaemonHealthServices(healthCheck, daemonStatus, daemonStats, memoryManager);
     }
 
     protected DaemonStats createDaemonStats(ScheduledExecutorService scheduledExecutorService) {
@@ -16,8 +16,10 @@
 
 package org.gradle.launcher.daemon.server.health;
 
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.internal.util.NumberUtil;
 import org.gradle.launcher.daemon.server.api.DaemonCommandAction;
 import org.gradle.launcher.daemon.server.api.DaemonCommandExecution;
 
@@ -26,13 +28,17 @@ class DaemonHealthTracker implements DaemonCommandAction {
     private static final Logger LOG = Logging.getLogger(DaemonHealthTracker.class);
 
     private final DaemonStats stats;
+    private final DaemonStatus status;
     private final DaemonHealthCheck healthCheck;
     private final HealthLogger logger;
+    private final MemoryManager memoryManager;
 
-    public DaemonHealthTracker(DaemonStats stats, DaemonHealthCheck healthCheck, HealthLogger logger) {
+    public DaemonHealthTracker(DaemonStats stats, DaemonStatus status, DaemonHealthCheck healthCheck, HealthLogger logger, MemoryManager memoryManager) {
         this.stats = stats;
+        this.status = status;
         this.healthCheck = healthCheck;
         this.logger = logger;
+        this.memoryManager = memoryManager;
     }
 
     @Override
@@ -50,6 +56,18 @@ class DaemonHealthTracker implements DaemonCommandAction {
             stats.buildFinished();
         }
 
+        logger.logMemoryHolders(memoryManager.getMemoryHolders(), LOG);
+
+        // Release memory held by in-memory caches before tenured space runs out, rather than expiring the daemon
+        long toRelease = status.getTenuredSpaceToRelease();
+        if (toRelease > 0) {
+            long released = memoryManager.releaseMemory(toRelease);
+            LOG.info("Daemon is low on memory, released ~{} of in-memory caches.", NumberUtil.formatBytes(released));
+            if (released > 0) {
+                status.cachesReleased();
+            }
+        }
+
         // Execute the health check that should send out a DaemonExpiration event
         // if the daemon is unhealthy
         healthCheck.executeHealthCheck();
@@ -33,6 +33,10 @@ public class DaemonStatus {
     public static final String TENURED_RATE_EXPIRE_AT = "org.gradle.daemon.performance.tenured-rate-expire-at";
     public static final String PERMGEN_USAGE_EXPIRE_AT = "org.gradle.daemon.performance.permgen-usage-expire-at";
     public static final String THRASHING_EXPIRE_AT = "org.gradle.daemon.performance.thrashing-expire-at";
+    public static final String TENURED_USAGE_RELEASE_CACHES_AT = "org.gradle.daemon.performance.tenured-usage-release-caches-at";
+
+    // Release cached memory this many percent before the daemon would be expired, and aim this many percent below the release threshold
+    private static final int RELEASE_CACHES_MARGIN = 10;
 
     private static final String TENURED = "tenured";
     private static final String PERMGEN = "perm gen";
@@ -43,6 +47,9 @@ public class DaemonStatus {
     private final double tenuredRateThreshold;
     private final int permgenUsageThreshold;
     private final double thrashingThreshold;
+    private final int tenuredReleaseCachesThreshold;
+    // The tenured collection count when in-memory caches were last released, or -1 if they have not been released
+    private volatile long cachesReleasedAtCollectionCount = -1;
 
     public DaemonStatus(DaemonStats stats) {
         this.stats = stats;
@@ -51,6 +58,36 @@ public class DaemonStatus {
         this.tenuredRateThreshold = parseValue(TENURED_RATE_EXPIRE_AT, strategy.getGcRateThreshold());
         this.permgenUsageThreshold = parseValue(PERMGEN_USAGE_EXPIRE_AT, strategy.getPermGenUsageThreshold());
         this.thrashingThreshold = parseValue(THRASHING_EXPIRE_AT, strategy.getThrashingThreshold());
+        this.tenuredReleaseCachesThreshold = parseValue(TENURED_USAGE_RELEASE_CACHES_AT, Math.max(0, tenuredUsageThreshold - RELEASE_CACHES_MARGIN));
+    }
+
+    /**
+     * Returns the number of bytes of tenured space that in-memory caches should release, so that the daemon does not need to be
+     * expired due to low memory. Returns 0 when tenured space usage is below the release threshold.
+     */
+    public long getTenuredSpaceToRelease() {
+        if (!isEnabled() || strategy == GarbageCollectorMonitoringStrategy.UNKNOWN || tenuredReleaseCachesThreshold == 0) {
+            return 0;
+        }
+        GarbageCollectionStats gcStats = stats.getGcMonitor().getTenuredStats();
+        if (gcStats.getEventCount() < 5 || gcStats.getUsage() < tenuredReleaseCachesThreshold || isAwaitingCollectionAfterRelease(gcStats)) {
+            return 0;
+        }
+        int targetUsage = Math.max(0, tenuredReleaseCachesThreshold - RELEASE_CACHES_MARGIN);
+        logger.debug(String.format("Tenured usage: %s%%, releasing in-memory caches down to %s%%", gcStats.getUsage(), targetUsage));
+        return (gcStats.getUsage() - targetUsage) * gcStats.getMax() / 100;
+    }
+
+    /**
+     * Records that in-memory caches have been released. The tenured stats do not reflect the released memory until the next
+     * collection, so until then tenured space is not reported as exhausted and no further memory is requested for release.
+     */
+    public void cachesReleased() {
+        cachesReleasedAtCollectionCount = stats.getGcMonitor().getTenuredStats().getCollectionCount();
+    }
+
+    private boolean isAwaitingCollectionAfterRelease(GarbageCollectionStats gcStats) {
+        return gcStats.getCollectionCount() == cachesReleasedAtCollectionCount;
     }
 
     public boolean isTenuredSpaceExhausted() {
@@ -63,7 +100,8 @@ public class DaemonStatus {
                     && tenuredRateThreshold != 0
                     && gcStats.getEventCount() >= 5
                     && gcStats.getUsage() >= tenuredUsageThreshold
-                    && gcStats.getRate() >= tenuredRateThreshold;
+                    && gcStats.getRate() >= tenuredRateThreshold
+                    && !isAwaitingCollectionAfterRelease(gcStats);
             }
         });
     }
@@ -91,7 +129,8 @@ public class DaemonStatus {
                     && thrashingThreshold != 0
                     && gcStats.getEventCount() >= 5
                     && gcStats.getUsage() >= tenuredUsageThreshold
-                    && gcStats.getRate() >= thrashingThreshold;
+                    && gcStats.getRate() >= thrashingThreshold
+                    && !isAwaitingCollectionAfterRelease(gcStats);
             }
         });
     }
@@ -16,6 +16,7 @@
 
 package org.gradle.launcher.daemon.server.health;
 
+import org.gradle.api.internal.cache.MemoryManager;
 import org.gradle.launcher.daemon.server.api.DaemonCommandAction;
 
 public class DefaultDaemonHealthServices implements DaemonHealthServices {
@@ -24,9 +25,9 @@ public class DefaultDaemonHealthServices implements DaemonHealthServices {
     private final HealthLogger logger = new HealthLogger();
     private final DaemonHealthTracker tracker;
 
-    public DefaultDaemonHealthServices(DaemonHealthCheck healthCheck, DaemonStatus status, DaemonStats stats) {
+    public DefaultDaemonHealthServices(DaemonHealthCheck healthCheck, DaemonStatus status, DaemonStats stats, MemoryManager memoryManager) {
         this.status = status;
-        this.tracker = new DaemonHealthTracker(stats, healthCheck, logger);
+        this.tracker = new DaemonHealthTracker(stats, status, healthCheck, logger, memoryManager);
     }
 
     @Override
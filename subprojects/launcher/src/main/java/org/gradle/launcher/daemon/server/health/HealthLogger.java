@@ -16,9 +16,13 @@
 
 package org.gradle.launcher.daemon.server.health;
 
+import org.gradle.api.internal.cache.MemoryHolder;
 import org.gradle.api.logging.Logger;
+import org.gradle.internal.util.NumberUtil;
 import org.gradle.launcher.daemon.configuration.GradleProperties;
 
+import java.util.List;
+
 class HealthLogger {
 
     static final String HEALTH_MESSAGE_PROPERTY = "org.gradle.daemon.performance.logging";
@@ -31,4 +35,20 @@ class HealthLogger {
             logger.info(stats.getHealthInfo());
         }
     }
+
+    void logMemoryHolders(List<MemoryHolder> holders, Logger logger) {
+        boolean lifecycle = GradleProperties.isTrue(System.getProperty(HEALTH_MESSAGE_PROPERTY));
+        if (!lifecycle && !logger.isInfoEnabled()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("In-memory caches retained by daemon:");
+        for (MemoryHolder holder : holders) {
+            message.append(String.format("%n  %s: %d entries, ~%s", holder.getDisplayName(), holder.getEntryCount(), NumberUtil.formatBytes(holder.getEstimatedRetainedSize())));
+        }
+        if (lifecycle) {
+            logger.lifecycle(message.toString());
+        } else {
+            logger.info(message.toString());
+        }
+    }
 }
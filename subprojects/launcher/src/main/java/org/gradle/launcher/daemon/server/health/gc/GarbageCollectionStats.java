@@ -26,12 +26,14 @@ public class GarbageCollectionStats {
     final private long used;
     final private long max;
     final private long eventCount;
+    final private long collectionCount;
 
     public GarbageCollectionStats(Set<GarbageCollectionEvent> events) {
         this.rate = calculateRate(events);
         this.used = calculateAverageUsage(events);
         this.max = calculateMaxSize(events);
         this.eventCount = events.size();
+        this.collectionCount = calculateCollectionCount(events);
     }
 
     static double calculateRate(Set<GarbageCollectionEvent> events) {
@@ -107,6 +109,14 @@ public class GarbageCollectionStats {
         return usage.getMax();
     }
 
+    static long calculateCollectionCount(Set<GarbageCollectionEvent> events) {
+        long count = 0;
+        for (GarbageCollectionEvent event : events) {
+            count = Math.max(count, event.getCount());
+        }
+        return count;
+    }
+
     public double getRate() {
         return rate;
     }
@@ -130,4 +140,11 @@ public class GarbageCollectionStats {
     public long getEventCount() {
         return eventCount;
     }
+
+    /**
+     * Returns the number of collections the garbage collector had performed when the most recent event was recorded.
+     */
+    public long getCollectionCount() {
+        return collectionCount;
+    }
 }
@@ -18,6 +18,7 @@ package org.gradle.launcher.daemon.client
 import com.google.common.collect.Lists
 import org.gradle.api.internal.specs.ExplainingSpec
 import org.gradle.api.internal.specs.ExplainingSpecs
+import org.gradle.internal.TimeProvider
 import org.gradle.internal.remote.Address
 import org.gradle.internal.remote.internal.ConnectCompletion
 import org.gradle.internal.remote.internal.ConnectException
@@ -81,6 +82,13 @@ class DefaultDaemonConnectorTest extends Specification {
         registry.store(new DaemonInfo(address, context, "password".bytes, true))
     }
 
+    def startIdleDaemon(long lastBusy) {
+        def daemonNum = daemonCounter++
+        DaemonContext context = new DefaultDaemonContext(daemonNum.toString(), javaHome, javaHome, daemonNum, 1000, [])
+        def address = createAddress(daemonNum)
+        registry.store(new DaemonInfo(address, context, "password".bytes, false, { lastBusy } as TimeProvider).setIdle(true))
+    }
+
     def theConnector
 
     def DefaultDaemonConnector getConnector() {
@@ -146,6 +154,17 @@ class DefaultDaemonConnectorTest extends Specification {
         numAllDaemons == 2
     }
 
+    def "connect() prefers the most recently used daemon that matches spec"() {
+        given:
+        startIdleDaemon(100)
+        startIdleDaemon(300)
+        startIdleDaemon(200)
+
+        expect:
+        def connection = connector.connect({true} as ExplainingSpec)
+        connection && connection.connection.num == 1
+    }
+
     def "connect() starts a new daemon when no daemon matches spec"() {
         given:
         startIdleDaemon()
@@ -194,6 +213,21 @@ class DefaultDaemonConnectorTest extends Specification {
         registry.all.empty
     }
 
+    def "starting message does not count unreachable daemons as incompatible"() {
+        given:
+        startIdleDaemon()
+        startIdleDaemon()
+
+        connector.connector.connect({ it.num == 0 }) >> { throw new ConnectException("Problem!", new RuntimeException("foo")) }
+
+        when:
+        def connection = connector.connect({ it.pid != 1 } as DummyExplainingSpec)
+
+        then:
+        connection && connection.connection.num == 2
+        1 * connector.generateStartingMessage(0, 1, _)
+    }
+
     def "starting message contains number of busy and incompatible daemons if > 0"() {
         given:
         def message = getConnector().generateStartingMessage(2, 2, Lists.newArrayList())
@@ -16,6 +16,7 @@
 
 package org.gradle.launcher.daemon.server.health
 
+import org.gradle.api.internal.cache.MemoryManager
 import org.gradle.launcher.daemon.server.api.DaemonCommandExecution
 import spock.lang.Specification
 
@@ -25,7 +26,8 @@ class DaemonHealthTrackerTest extends Specification {
     def status = Mock(DaemonStatus)
     def logger = Mock(HealthLogger)
     def healthCheck = Mock(DaemonHealthCheck)
-    def tracker = new DaemonHealthTracker(stats, healthCheck, logger)
+    def memoryManager = Mock(MemoryManager)
+    def tracker = new DaemonHealthTracker(stats, status, healthCheck, logger, memoryManager)
 
     def "tracks start and complete events"() {
         when: tracker.execute(exec)
@@ -52,4 +54,54 @@ class DaemonHealthTrackerTest extends Specification {
         then:
         1 * healthCheck.executeHealthCheck()
     }
+
+    def "reports in-memory caches after build"() {
+        def holders = []
+
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * exec.proceed()
+
+        then:
+        1 * memoryManager.getMemoryHolders() >> holders
+        1 * logger.logMemoryHolders(holders, _)
+    }
+
+    def "releases in-memory caches before executing health check when tenured space is low"() {
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * status.getTenuredSpaceToRelease() >> 1000
+
+        then:
+        1 * memoryManager.releaseMemory(1000) >> 1200
+
+        then:
+        1 * status.cachesReleased()
+
+        then:
+        1 * healthCheck.executeHealthCheck()
+    }
+
+    def "does not record a release when no in-memory caches could be released"() {
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * status.getTenuredSpaceToRelease() >> 1000
+        1 * memoryManager.releaseMemory(1000) >> 0
+        0 * status.cachesReleased()
+    }
+
+    def "does not release in-memory caches when tenured space is not low"() {
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * status.getTenuredSpaceToRelease() >> 0
+        0 * memoryManager.releaseMemory(_)
+    }
 }
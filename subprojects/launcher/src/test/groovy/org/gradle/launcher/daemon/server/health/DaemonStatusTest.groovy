@@ -27,6 +27,7 @@ import spock.lang.Unroll
 
 import static org.gradle.launcher.daemon.server.health.DaemonStatus.PERMGEN_USAGE_EXPIRE_AT
 import static org.gradle.launcher.daemon.server.health.DaemonStatus.TENURED_RATE_EXPIRE_AT
+import static org.gradle.launcher.daemon.server.health.DaemonStatus.TENURED_USAGE_RELEASE_CACHES_AT
 import static org.gradle.launcher.daemon.server.health.DaemonStatus.TENURED_USAGE_EXPIRE_AT
 import static org.gradle.launcher.daemon.server.health.DaemonStatus.THRASHING_EXPIRE_AT
 
@@ -148,6 +149,63 @@ class DaemonStatusTest extends Specification {
         10             | 90             | 15   | 0    | false
     }
 
+    @Unroll
+    def "knows how much tenured space to release (#releaseThreshold <= #usage)"() {
+        when:
+        System.setProperty(TENURED_USAGE_RELEASE_CACHES_AT, releaseThreshold.toString())
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> usage
+                getMax() >> 1000
+                getEventCount() >> 10
+            }
+        }
+
+        then:
+        status.getTenuredSpaceToRelease() == toRelease
+
+        where:
+        releaseThreshold | usage | toRelease
+        80               | 79    | 0
+        80               | 80    | 100
+        80               | 95    | 250
+        0                | 95    | 0
+    }
+
+    def "does not report low memory again until a collection happens after caches were released"() {
+        def collectionCount = 12
+        System.setProperty(TENURED_USAGE_EXPIRE_AT, "90")
+        System.setProperty(TENURED_RATE_EXPIRE_AT, "1.0")
+        System.setProperty(THRASHING_EXPIRE_AT, "1.0")
+        System.setProperty(TENURED_USAGE_RELEASE_CACHES_AT, "80")
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> 95
+                getRate() >> 1.5
+                getMax() >> 1000
+                getEventCount() >> 10
+                getCollectionCount() >> collectionCount
+            }
+        }
+        def status = getStatus()
+
+        when:
+        status.cachesReleased()
+
+        then:
+        !status.isTenuredSpaceExhausted()
+        !status.isThrashing()
+        status.getTenuredSpaceToRelease() == 0
+
+        when:
+        collectionCount = 13
+
+        then:
+        status.isTenuredSpaceExhausted()
+        status.isThrashing()
+        status.getTenuredSpaceToRelease() == 250
+    }
+
     def "can disable daemon performance monitoring"() {
         when:
         System.setProperty(DaemonStatus.ENABLE_PERFORMANCE_MONITORING, "false")
@@ -160,6 +218,9 @@ class DaemonStatusTest extends Specification {
 
         and:
         !status.isThrashing()
+
+        and:
+        status.getTenuredSpaceToRelease() == 0
     }
 
     DaemonStatus getStatus() {
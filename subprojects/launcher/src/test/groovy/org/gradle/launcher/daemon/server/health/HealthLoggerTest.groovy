@@ -16,6 +16,7 @@
 
 package org.gradle.launcher.daemon.server.health
 
+import org.gradle.api.internal.cache.MemoryHolder
 import org.gradle.api.logging.Logger
 import org.gradle.util.SetSystemProperties
 import org.junit.Rule
@@ -41,4 +42,23 @@ class HealthLoggerTest extends Specification {
         when: healthLogger.logHealth(stats, logger)
         then: logger.lifecycle("yyy")
     }
+
+    def "logs in-memory caches at info level by default"() {
+        def holder = Stub(MemoryHolder) {
+            getDisplayName() >> "fileHashes"
+            getEntryCount() >> 12
+            getEstimatedRetainedSize() >> 2048
+        }
+        logger.infoEnabled >> true
+
+        when: healthLogger.logMemoryHolders([holder], logger)
+        then: 1 * logger.info({ it.contains("fileHashes: 12 entries") })
+    }
+
+    def "does not log in-memory caches when info level is disabled"() {
+        logger.infoEnabled >> false
+
+        when: healthLogger.logMemoryHolders([Stub(MemoryHolder)], logger)
+        then: 0 * logger.info(_)
+    }
 }
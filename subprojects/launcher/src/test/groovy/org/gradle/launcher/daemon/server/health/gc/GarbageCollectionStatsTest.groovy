@@ -31,6 +31,12 @@ public class GarbageCollectionStatsTest extends Specification {
         new GarbageCollectionStats(checkStream).usage == 73
     }
 
+    def "knows collection count of the most recent event"() {
+        expect:
+        new GarbageCollectionStats(checkStream).collectionCount == 10
+        new GarbageCollectionStats([] as Set).collectionCount == 0
+    }
+
     Set<GarbageCollectionEvent> getCheckStream() {
         Set<GarbageCollectionEvent> checks = [
             new GarbageCollectionEvent(1000, new MemoryUsage(0, 250, 1000, 1000), 2),
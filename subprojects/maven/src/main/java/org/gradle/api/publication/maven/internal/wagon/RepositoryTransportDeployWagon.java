@@ -16,6 +16,8 @@
 
 package org.gradle.api.publication.maven.internal.wagon;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
 import org.apache.maven.wagon.ConnectionException;
 import org.apache.maven.wagon.ResourceDoesNotExistException;
 import org.apache.maven.wagon.TransferFailedException;
@@ -29,6 +31,7 @@ import org.apache.maven.wagon.proxy.ProxyInfoProvider;
 import org.apache.maven.wagon.repository.Repository;
 import org.apache.maven.wagon.resource.Resource;
 import org.gradle.api.GradleException;
+import org.gradle.internal.resource.local.ByteArrayLocalResource;
 import org.gradle.internal.resource.local.FileLocalResource;
 import org.gradle.internal.resource.local.LocalResource;
 
@@ -37,6 +40,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static org.apache.maven.wagon.events.SessionEvent.*;
 import static org.apache.maven.wagon.events.TransferEvent.*;
@@ -48,6 +52,7 @@ import static org.apache.maven.wagon.events.TransferEvent.*;
  */
 public class RepositoryTransportDeployWagon implements Wagon {
 
+    private static final String METADATA_FILE_NAME = "maven-metadata.xml";
     private static final ThreadLocal<RepositoryTransportWagonAdapter> CURRENT_DELEGATE = new InheritableThreadLocal<RepositoryTransportWagonAdapter>();
 
     private SessionEventSupport sessionEventSupport = new SessionEventSupport();
@@ -64,6 +69,7 @@ public class RepositoryTransportDeployWagon implements Wagon {
 
     @Override
     public final void get(String resourceName, File destination) throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException {
+        waitForPendingUploads();
         Resource resource = new Resource(resourceName);
         this.transferEventSupport.fireTransferInitiated(transferEvent(resource, TRANSFER_INITIATED, REQUEST_GET));
         this.transferEventSupport.fireTransferStarted(transferEvent(resource, TRANSFER_STARTED, REQUEST_GET));
@@ -87,16 +93,74 @@ public class RepositoryTransportDeployWagon implements Wagon {
 
     @Override
     public final void put(File file, String resourceName) throws TransferFailedException, ResourceDoesNotExistException, AuthorizationException {
+        if (isMetadata(resourceName)) {
+            // Metadata must only be written once everything it refers to is in place
+            waitForPendingUploads();
+        }
         Resource resource = new Resource(resourceName);
         this.transferEventSupport.fireTransferInitiated(transferEvent(resource, TRANSFER_INITIATED, REQUEST_PUT));
+        RepositoryTransportWagonAdapter delegate = getDelegate();
+        if (delegate.isUploadingInBackground() && !isMetadata(resourceName)) {
+            putInBackground(delegate, file, resource, resourceName);
+            return;
+        }
         try {
             LocalResource localResource = new MavenTransferLoggingFileResource(file, resource);
-            getDelegate().putRemoteFile(localResource, resourceName);
+            delegate.putRemoteFile(localResource, resourceName);
+        } catch (Exception e) {
+            this.transferEventSupport.fireTransferError(transferEvent(resource, e, REQUEST_PUT));
+            throw new TransferFailedException(String.format("Could not write to resource '%s'", resourceName), e);
+        }
+        this.transferEventSupport.fireTransferCompleted(transferEvent(resource, TRANSFER_COMPLETED, REQUEST_PUT));
+    }
+
+    /**
+     * Uploads the given file in the background. Transfer listeners, such as the checksum observers of the Maven deployer, expect to see the whole transfer
+     * before put() returns, so the content is read through the listeners on the calling thread. A failed upload is only reported by {@link #waitForPendingUploads()}.
+     */
+    private void putInBackground(final RepositoryTransportWagonAdapter delegate, File file, Resource resource, final String resourceName) throws TransferFailedException {
+        final LocalResource localResource;
+        try {
+            InputStream inputStream = new MavenTransferLoggingFileResource(file, resource).open();
+            try {
+                ByteStreams.copy(inputStream, ByteStreams.nullOutputStream());
+            } finally {
+                inputStream.close();
+            }
+            // Checksum files are temporary and are removed as soon as put() returns, so upload their content instead
+            localResource = isChecksum(resourceName) ? new ByteArrayLocalResource(Files.toByteArray(file)) : new FileLocalResource(file);
         } catch (Exception e) {
             this.transferEventSupport.fireTransferError(transferEvent(resource, e, REQUEST_PUT));
             throw new TransferFailedException(String.format("Could not write to resource '%s'", resourceName), e);
         }
         this.transferEventSupport.fireTransferCompleted(transferEvent(resource, TRANSFER_COMPLETED, REQUEST_PUT));
+        delegate.submitUpload(resourceName, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                delegate.putRemoteFile(localResource, resourceName);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Waits for the uploads started in the background. This is kept apart from the transfer of the metadata, so that a failed upload is reported
+     * against the resource that failed to upload rather than against the metadata.
+     */
+    private void waitForPendingUploads() throws TransferFailedException {
+        try {
+            getDelegate().waitForPendingUploads();
+        } catch (IOException e) {
+            throw new TransferFailedException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private static boolean isMetadata(String resourceName) {
+        return resourceName.contains(METADATA_FILE_NAME);
+    }
+
+    private static boolean isChecksum(String resourceName) {
+        return resourceName.endsWith(".sha1") || resourceName.endsWith(".md5");
     }
 
     private RepositoryTransportWagonAdapter getDelegate() {
@@ -18,6 +18,10 @@ package org.gradle.api.publication.maven.internal.wagon;
 
 import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport;
 import org.gradle.api.resources.ResourceException;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.internal.resource.ExternalResource;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.local.LocalResource;
@@ -25,14 +29,36 @@ import org.gradle.internal.resource.local.LocalResource;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-public class RepositoryTransportWagonAdapter {
+/**
+ * Bridges the Maven wagon API to a Gradle {@link RepositoryTransport}.
+ * <p>
+ * Uploads that do not depend on each other can be started in the background using {@link #submitUpload(String, Callable)}, with at most
+ * {@code maxConcurrentUploads} running at the same time. Callers must use {@link #waitForPendingUploads()} before doing anything that relies on those
+ * uploads having completed.
+ */
+public class RepositoryTransportWagonAdapter implements Stoppable {
     private final RepositoryTransport transport;
     private final URI rootUri;
+    private final ExecutorFactory executorFactory;
+    private final int maxConcurrentUploads;
+    private final Map<Future<?>, String> pendingUploads = new LinkedHashMap<Future<?>, String>();
+    private StoppableExecutor uploadExecutor;
 
     public RepositoryTransportWagonAdapter(RepositoryTransport transport, URI rootUri) {
+        this(transport, rootUri, null, 1);
+    }
+
+    public RepositoryTransportWagonAdapter(RepositoryTransport transport, URI rootUri, ExecutorFactory executorFactory, int maxConcurrentUploads) {
         this.transport = transport;
         this.rootUri = rootUri;
+        this.executorFactory = executorFactory;
+        this.maxConcurrentUploads = maxConcurrentUploads;
     }
 
     public boolean getRemoteFile(File destination, String resourceName) throws ResourceException {
@@ -53,6 +79,62 @@ public class RepositoryTransportWagonAdapter {
         transport.getRepository().withProgressLogging().put(localResource, getUriForResource(resourceName));
     }
 
+    /**
+     * Returns true when uploads may be started in the background using {@link #submitUpload(String, Callable)}.
+     */
+    public boolean isUploadingInBackground() {
+        return executorFactory != null && maxConcurrentUploads > 1;
+    }
+
+    /**
+     * Starts the upload of the given resource in the background, returning without waiting for it to complete. Failures are reported by the next call
+     * to {@link #waitForPendingUploads()}.
+     */
+    public void submitUpload(String resourceName, Callable<?> upload) {
+        synchronized (pendingUploads) {
+            if (uploadExecutor == null) {
+                uploadExecutor = executorFactory.create("Maven publication uploads", maxConcurrentUploads);
+            }
+            pendingUploads.put(uploadExecutor.submit(upload), resourceName);
+        }
+    }
+
+    /**
+     * Blocks until all uploads started in the background have completed, failing with the first failed upload, in the order the uploads were started.
+     */
+    public void waitForPendingUploads() throws IOException {
+        Map<Future<?>, String> uploads;
+        synchronized (pendingUploads) {
+            uploads = new LinkedHashMap<Future<?>, String>(pendingUploads);
+            pendingUploads.clear();
+        }
+        IOException failure = null;
+        for (Map.Entry<Future<?>, String> upload : uploads.entrySet()) {
+            try {
+                upload.getKey().get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = new IOException(String.format("Could not write to resource '%s'", upload.getValue()), e.getCause());
+                }
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (pendingUploads) {
+            if (uploadExecutor != null) {
+                uploadExecutor.stop();
+                uploadExecutor = null;
+            }
+        }
+    }
+
     private URI getUriForResource(String resource) {
         ExternalResourceName resourceName = new ExternalResourceName(rootUri, resource);
         return resourceName.getUri();
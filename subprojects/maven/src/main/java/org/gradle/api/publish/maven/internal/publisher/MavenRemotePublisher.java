@@ -18,6 +18,7 @@ package org.gradle.api.publish.maven.internal.publisher;
 
 import org.apache.maven.artifact.ant.RemoteRepository;
 import org.apache.maven.wagon.Wagon;
+import org.gradle.api.UncheckedIOException;
 import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
 import org.gradle.api.internal.artifacts.mvnsettings.LocalMavenRepositoryLocator;
 import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport;
@@ -28,23 +29,28 @@ import org.gradle.api.publication.maven.internal.wagon.RepositoryTransportDeploy
 import org.gradle.api.publication.maven.internal.wagon.RepositoryTransportWagonAdapter;
 import org.gradle.internal.Factory;
 import org.gradle.internal.artifacts.repositories.AuthenticationSupportedInternal;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.logging.LoggingManagerInternal;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 
 public class MavenRemotePublisher extends AbstractMavenPublisher {
+    private static final int MAX_CONCURRENT_UPLOADS = 4;
     private final Factory<File> temporaryDirFactory;
     private final RepositoryTransportFactory repositoryTransportFactory;
+    private final ExecutorFactory executorFactory;
 
-    public MavenRemotePublisher(Factory<LoggingManagerInternal> loggingManagerFactory, LocalMavenRepositoryLocator mavenRepositoryLocator, Factory<File> temporaryDirFactory, RepositoryTransportFactory repositoryTransportFactory) {
+    public MavenRemotePublisher(Factory<LoggingManagerInternal> loggingManagerFactory, LocalMavenRepositoryLocator mavenRepositoryLocator, Factory<File> temporaryDirFactory, RepositoryTransportFactory repositoryTransportFactory, ExecutorFactory executorFactory) {
         super(loggingManagerFactory, mavenRepositoryLocator);
         this.temporaryDirFactory = temporaryDirFactory;
         this.repositoryTransportFactory = repositoryTransportFactory;
+        this.executorFactory = executorFactory;
     }
 
     protected MavenPublishAction createDeployTask(File pomFile, LocalMavenRepositoryLocator mavenRepositoryLocator, MavenArtifactRepository artifactRepository) {
-        GradleWagonMavenDeployAction deployTask = new GradleWagonMavenDeployAction(pomFile, artifactRepository, repositoryTransportFactory);
+        GradleWagonMavenDeployAction deployTask = new GradleWagonMavenDeployAction(pomFile, artifactRepository, repositoryTransportFactory, executorFactory);
         deployTask.setLocalMavenRepositoryLocation(temporaryDirFactory.create());
         deployTask.setRepositories(createMavenRemoteRepository(artifactRepository), null);
         return deployTask;
@@ -57,16 +63,19 @@ public class MavenRemotePublisher extends AbstractMavenPublisher {
     }
 
     /**
-     * A deploy action that uses a Gradle provided wagon implementation.
+     * A deploy action that uses a Gradle provided wagon implementation. Artifacts and their checksums are uploaded concurrently,
+     * and the metadata is written once they are all in place.
      */
     private static class GradleWagonMavenDeployAction extends MavenDeployAction {
         private final MavenArtifactRepository artifactRepository;
         private final RepositoryTransportFactory repositoryTransportFactory;
+        private final ExecutorFactory executorFactory;
 
-        public GradleWagonMavenDeployAction(File pomFile, MavenArtifactRepository artifactRepository, RepositoryTransportFactory repositoryTransportFactory) {
+        public GradleWagonMavenDeployAction(File pomFile, MavenArtifactRepository artifactRepository, RepositoryTransportFactory repositoryTransportFactory, ExecutorFactory executorFactory) {
             super(pomFile, null);
             this.artifactRepository = artifactRepository;
             this.repositoryTransportFactory = repositoryTransportFactory;
+            this.executorFactory = executorFactory;
 
             registerWagonProtocols();
         }
@@ -85,8 +94,12 @@ public class MavenRemotePublisher extends AbstractMavenPublisher {
             RepositoryTransportDeployWagon.contextualize(adapter);
             try {
                 super.publish();
+                adapter.waitForPendingUploads();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             } finally {
                 RepositoryTransportDeployWagon.decontextualize();
+                adapter.stop();
             }
         }
 
@@ -94,7 +107,7 @@ public class MavenRemotePublisher extends AbstractMavenPublisher {
             RepositoryTransport transport = repositoryTransportFactory.createTransport(protocol, artifactRepository.getName(),
                     ((AuthenticationSupportedInternal)artifactRepository).getConfiguredAuthentication());
             URI rootUri = artifactRepository.getUrl();
-            return new RepositoryTransportWagonAdapter(transport, rootUri);
+            return new RepositoryTransportWagonAdapter(transport, rootUri, executorFactory, MAX_CONCURRENT_UPLOADS);
         }
     }
 }
@@ -24,13 +24,15 @@ import org.apache.maven.wagon.proxy.ProxyInfo
 import org.apache.maven.wagon.proxy.ProxyInfoProvider
 import org.apache.maven.wagon.repository.Repository
 import org.gradle.api.GradleException
+import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport
 import org.gradle.internal.resource.local.LocalResource
+import org.gradle.internal.resource.transport.ExternalResourceRepository
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
-import spock.lang.Specification
 
-class RepositoryTransportDeployWagonTest extends Specification {
+class RepositoryTransportDeployWagonTest extends ConcurrentSpec {
 
     @Rule
     final TestNameTestDirectoryProvider testDirectory = new TestNameTestDirectoryProvider()
@@ -290,6 +292,113 @@ class RepositoryTransportDeployWagonTest extends Specification {
         1 * transferListener.transferError(_)
     }
 
+    def "writes metadata only once the artifacts uploaded in the background are in place"() {
+        setup:
+        RepositoryTransport repositoryTransport = Mock()
+        ExternalResourceRepository repository = Mock()
+        repositoryTransport.getRepository() >> repository
+        repository.withProgressLogging() >> repository
+        def delegate = new RepositoryTransportWagonAdapter(repositoryTransport, new URI("http://somewhere/maven"), executorFactory, 2)
+
+        def artifact = testDirectory.createFile('artifact.jar')
+        def metadata = testDirectory.createFile('maven-metadata.xml')
+
+        RepositoryTransportDeployWagon wagon = new RepositoryTransportDeployWagon()
+        wagon.contextualize(delegate)
+
+        when:
+        wagon.put(artifact, 'group/module/1.0/module-1.0.jar')
+        wagon.put(metadata, 'group/module/maven-metadata.xml')
+
+        then:
+        1 * repository.put(_, { it.path.endsWith('module-1.0.jar') }) >> {
+            thread.block()
+            instant.artifactUploaded
+        }
+        1 * repository.put(_, { it.path.endsWith('maven-metadata.xml') }) >> {
+            instant.metadataUploaded
+        }
+        instant.metadataUploaded > instant.artifactUploaded
+
+        cleanup:
+        delegate.stop()
+    }
+
+    def "reports the artifact that failed to upload in the background rather than the metadata"() {
+        setup:
+        RepositoryTransport repositoryTransport = Mock()
+        ExternalResourceRepository repository = Mock()
+        repositoryTransport.getRepository() >> repository
+        repository.withProgressLogging() >> repository
+        def delegate = new RepositoryTransportWagonAdapter(repositoryTransport, new URI("http://somewhere/maven"), executorFactory, 2)
+        def failure = new IOException("broken")
+
+        def artifact = testDirectory.createFile('artifact.jar')
+        def metadata = testDirectory.createFile('maven-metadata.xml')
+
+        RepositoryTransportDeployWagon wagon = new RepositoryTransportDeployWagon()
+        wagon.contextualize(delegate)
+
+        when:
+        wagon.put(artifact, 'group/module/1.0/module-1.0.jar')
+        wagon.put(metadata, 'group/module/maven-metadata.xml')
+
+        then:
+        1 * repository.put(_, { it.path.endsWith('module-1.0.jar') }) >> { throw failure }
+        0 * repository.put(_, { it.path.endsWith('maven-metadata.xml') })
+        def e = thrown(TransferFailedException)
+        e.message == "Could not write to resource 'group/module/1.0/module-1.0.jar'"
+        e.cause == failure
+
+        cleanup:
+        delegate.stop()
+    }
+
+    def "signals the whole transfer on the calling thread when uploading in the background"() {
+        setup:
+        RepositoryTransport repositoryTransport = Mock()
+        ExternalResourceRepository repository = Mock()
+        repositoryTransport.getRepository() >> repository
+        repository.withProgressLogging() >> repository
+        def delegate = new RepositoryTransportWagonAdapter(repositoryTransport, new URI("http://somewhere/maven"), executorFactory, 2)
+        def transferListener = Mock(TransferListener)
+        def callingThread = Thread.currentThread()
+        def failure = new IOException("broken")
+        repository.put(_, { it.path.endsWith('module-1.0.jar') }) >> { throw failure }
+
+        def artifact = testDirectory.createFile('artifact.jar')
+        artifact << "here is some file content"
+
+        RepositoryTransportDeployWagon wagon = new RepositoryTransportDeployWagon()
+        wagon.addTransferListener(transferListener)
+        wagon.contextualize(delegate)
+
+        when:
+        wagon.put(artifact, 'group/module/1.0/module-1.0.jar')
+
+        then:
+        1 * transferListener.transferInitiated(_) >> { assert Thread.currentThread() == callingThread }
+        then:
+        1 * transferListener.transferStarted(_) >> { assert Thread.currentThread() == callingThread }
+        then:
+        (1.._) * transferListener.transferProgress(*_) >> { assert Thread.currentThread() == callingThread }
+        then:
+        1 * transferListener.transferCompleted(_) >> { assert Thread.currentThread() == callingThread }
+        then:
+        0 * transferListener._
+
+        when:
+        delegate.waitForPendingUploads()
+
+        then:
+        0 * transferListener._
+        def e = thrown(IOException)
+        e.cause == failure
+
+        cleanup:
+        delegate.stop()
+    }
+
     def "should add and remove wagon listeners"() {
         TransferListener transferListener = Mock()
         SessionListener sessionListener = Mock()
@@ -17,6 +17,7 @@
 package org.gradle.api.publication.maven.internal.wagon
 
 import org.gradle.api.internal.artifacts.repositories.transport.RepositoryTransport
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.internal.resource.ExternalResource
 import org.gradle.internal.resource.transport.ExternalResourceRepository
 import spock.lang.Specification
@@ -88,4 +89,30 @@ class RepositoryTransportWagonAdapterTest extends Specification {
         then:
         1 * externalResourceRepo.put(_, { it.toString() == 's3://somewhere/maven/something.jar'})
     }
+
+    def "reports failures of background uploads when waiting for pending uploads"() {
+        given:
+        RepositoryTransport repositoryTransport = Mock()
+        ExternalResourceRepository externalResourceRepo = Mock()
+        repositoryTransport.getRepository() >> externalResourceRepo
+        externalResourceRepo.withProgressLogging() >> externalResourceRepo
+        def failure = new IOException("broken")
+
+        RepositoryTransportWagonAdapter delegate = new RepositoryTransportWagonAdapter(repositoryTransport, S3_URI, new DefaultExecutorFactory(), 2)
+
+        when:
+        delegate.submitUpload('a.jar', { delegate.putRemoteFile(null, 'a.jar') })
+        delegate.submitUpload('b.jar', { delegate.putRemoteFile(null, 'b.jar') })
+        delegate.waitForPendingUploads()
+
+        then:
+        1 * externalResourceRepo.put(_, { it.toString() == 's3://somewhere/maven/a.jar'})
+        1 * externalResourceRepo.put(_, { it.toString() == 's3://somewhere/maven/b.jar'}) >> { throw failure }
+        def e = thrown(IOException)
+        e.message == "Could not write to resource 'b.jar'"
+        e.cause == failure
+
+        cleanup:
+        delegate.stop()
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.performance
+
+import org.gradle.performance.categories.BasicPerformanceTest
+import org.junit.experimental.categories.Category
+
+import static org.gradle.performance.measure.DataAmount.mbytes
+import static org.gradle.performance.measure.Duration.millis
+
+/**
+ * Measures the latency of a trivial build against a warm daemon, which is dominated by client startup and daemon connection.
+ */
+@Category(BasicPerformanceTest)
+class DaemonClientStartupPerformanceTest extends AbstractCrossVersionPerformanceTest {
+
+    def "help on small project (daemon)"() {
+        given:
+        runner.testId = "help on small project (daemon)"
+        runner.testProject = "small"
+        runner.tasksToRun = ['help']
+        runner.args = ['-q']
+        runner.runs = 20
+        runner.maxExecutionTimeRegression = millis(100)
+        runner.maxMemoryRegression = mbytes(20)
+        runner.targetVersions = ['2.11', 'last']
+        runner.useDaemon = true
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+    }
+}
@@ -33,6 +33,12 @@ class NativePreCompiledHeaderPerformanceTest extends AbstractCrossBuildPerforman
                 tasksToRun("clean", "assemble")
             }
         }
+        runner.buildSpec {
+            projectName("${size}PCHNative").displayName("Using automatically selected PCH").invocation {
+                args("-Dorg.gradle.native.pch.auto=true")
+                tasksToRun("clean", "assemble")
+            }
+        }
         runner.baseline {
             projectName("${size}PCHNative").displayName("No PCH").invocation {
                 tasksToRun("clean", "assemble")
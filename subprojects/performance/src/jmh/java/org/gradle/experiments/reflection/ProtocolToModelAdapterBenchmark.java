@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.experiments.reflection;
+
+import org.gradle.tooling.internal.adapter.ProtocolToModelAdapter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the cost of walking a tooling model through the views created by {@link ProtocolToModelAdapter}, compared to walking the protocol objects directly.
+ */
+@State(Scope.Benchmark)
+public class ProtocolToModelAdapterBenchmark {
+
+    private final ProtocolToModelAdapter adapter = new ProtocolToModelAdapter();
+    private ProtocolProject root;
+
+    @Setup
+    public void createModel() {
+        root = new ProtocolProject("root");
+        for (int i = 0; i < 100; i++) {
+            ProtocolProject child = new ProtocolProject("child" + i);
+            for (int j = 0; j < 20; j++) {
+                child.dependencies.add(new ProtocolDependency("dep" + j));
+            }
+            root.children.add(child);
+        }
+    }
+
+    @Benchmark
+    public void direct(Blackhole bh) {
+        for (ProtocolProject child : root.getChildren()) {
+            bh.consume(child.getName());
+            for (ProtocolDependency dependency : child.getDependencies()) {
+                bh.consume(dependency.getName());
+            }
+        }
+    }
+
+    @Benchmark
+    public void adapted(Blackhole bh) {
+        Project project = adapter.adapt(Project.class, root);
+        for (Project child : project.getChildren()) {
+            bh.consume(child.getName());
+            bh.consume(child.isDescriptionSupported());
+            for (Dependency dependency : child.getDependencies()) {
+                bh.consume(dependency.getName());
+            }
+        }
+    }
+
+    public interface Project {
+        String getName();
+
+        boolean isDescriptionSupported();
+
+        List<? extends Project> getChildren();
+
+        List<? extends Dependency> getDependencies();
+    }
+
+    public interface Dependency {
+        String getName();
+    }
+
+    public static class ProtocolProject {
+        private final String name;
+        private final List<ProtocolProject> children = new ArrayList<ProtocolProject>();
+        private final List<ProtocolDependency> dependencies = new ArrayList<ProtocolDependency>();
+
+        public ProtocolProject(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<ProtocolProject> getChildren() {
+            return children;
+        }
+
+        public List<ProtocolDependency> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    public static class ProtocolDependency {
+        private final String name;
+
+        public ProtocolDependency(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
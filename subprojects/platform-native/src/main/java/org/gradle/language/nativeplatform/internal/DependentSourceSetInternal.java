@@ -17,6 +17,7 @@
 package org.gradle.language.nativeplatform.internal;
 
 import org.gradle.language.nativeplatform.DependentSourceSet;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelection;
 
 import java.io.File;
 
@@ -24,4 +25,12 @@ public interface DependentSourceSetInternal extends DependentSourceSet {
     File getPrefixHeaderFile();
 
     void setPrefixHeaderFile(File prefixHeaderFile);
+
+    /**
+     * Returns the automatic selection of the header to pre-compile, or null when the source set declares its pre-compiled header or automatic
+     * selection is not enabled.
+     */
+    PreCompiledHeaderSelection getPreCompiledHeaderSelection();
+
+    void setPreCompiledHeaderSelection(PreCompiledHeaderSelection selection);
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.nativeplatform.internal.pch;
+
+import java.io.File;
+
+/**
+ * The header automatically selected to pre-compile for a source set that does not declare one. The source files are parsed when the header is first
+ * requested by a task that executes, rather than while the build is configured.
+ */
+public class PreCompiledHeaderSelection {
+    private final PreCompiledHeaderSelector selector;
+    private final Iterable<File> sourceFiles;
+    private boolean selected;
+    private String header;
+
+    public PreCompiledHeaderSelection(PreCompiledHeaderSelector selector, Iterable<File> sourceFiles) {
+        this.selector = selector;
+        this.sourceFiles = sourceFiles;
+    }
+
+    /**
+     * Returns the selected header, or null when no header is worth pre-compiling.
+     */
+    public synchronized String getHeader() {
+        if (!selected) {
+            header = selector.select(sourceFiles);
+            selected = true;
+        }
+        return header;
+    }
+}
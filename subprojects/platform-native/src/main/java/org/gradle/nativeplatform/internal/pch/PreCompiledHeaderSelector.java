@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.nativeplatform.internal.pch;
+
+import java.io.File;
+
+/**
+ * Selects a header to pre-compile for a source set that does not declare one.
+ */
+public interface PreCompiledHeaderSelector {
+    /**
+     * System property that enables automatic selection of pre-compiled headers.
+     */
+    String ENABLED_PROPERTY = "org.gradle.native.pch.auto";
+
+    /**
+     * Selects the header to pre-compile for the given source files.
+     *
+     * @return The header, in the form used by {@link org.gradle.language.nativeplatform.DependentSourceSet#setPreCompiledHeader(String)}, or null
+     * when no header is worth pre-compiling.
+     */
+    String select(Iterable<File> sourceFiles);
+}
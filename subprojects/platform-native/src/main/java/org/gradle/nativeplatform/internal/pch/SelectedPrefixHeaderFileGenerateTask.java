@@ -0,0 +1,37 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.nativeplatform.internal.pch;
+
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
+import org.gradle.nativeplatform.tasks.PrefixHeaderFileGenerateTask;
+
+/**
+ * Generates the prefix header file for an automatically selected pre-compiled header. An empty prefix header file is generated when no header is selected.
+ */
+public class SelectedPrefixHeaderFileGenerateTask extends PrefixHeaderFileGenerateTask {
+    private PreCompiledHeaderSelection selection;
+
+    public void setSelection(PreCompiledHeaderSelection selection) {
+        this.selection = selection;
+    }
+
+    @Input @Optional
+    @Override
+    public String getHeader() {
+        return selection.getHeader();
+    }
+}
@@ -16,15 +16,19 @@
 
 package org.gradle.nativeplatform.internal.services;
 
+import org.gradle.StartParameter;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.PluginServiceRegistry;
 import org.gradle.nativeplatform.internal.*;
 import org.gradle.nativeplatform.internal.resolve.NativeDependencyResolverServices;
 import org.gradle.nativeplatform.platform.internal.NativePlatforms;
+import org.gradle.nativeplatform.toolchain.internal.ObjectFileCache;
 import org.gradle.nativeplatform.toolchain.internal.gcc.version.CompilerMetaDataProviderFactory;
 import org.gradle.nativeplatform.toolchain.internal.msvcpp.DefaultVisualStudioLocator;
 import org.gradle.nativeplatform.toolchain.internal.msvcpp.DefaultWindowsSdkLocator;
 
+import java.io.File;
+
 public class NativeBinaryServices implements PluginServiceRegistry {
     @Override
     public void registerGlobalServices(ServiceRegistration registration) {
@@ -45,6 +49,7 @@ public class NativeBinaryServices implements PluginServiceRegistry {
         registration.add(DefaultVisualStudioLocator.class);
         registration.add(DefaultWindowsSdkLocator.class);
         registration.add(CompilerMetaDataProviderFactory.class);
+        registration.addProvider(new ObjectFileCacheServices());
     }
 
     @Override
@@ -55,4 +60,12 @@ public class NativeBinaryServices implements PluginServiceRegistry {
     public void registerProjectServices(ServiceRegistration registration) {
         registration.addProvider(new NativeDependencyResolverServices());
     }
+
+    private static class ObjectFileCacheServices {
+        ObjectFileCache createObjectFileCache(StartParameter startParameter) {
+            File baseDir = new File(startParameter.getGradleUserHomeDir(), "caches/native-objects");
+            long maxSize = Long.getLong(ObjectFileCache.MAX_SIZE_PROPERTY, ObjectFileCache.DEFAULT_MAX_SIZE / (1024 * 1024)) * 1024 * 1024;
+            return new ObjectFileCache(baseDir, Boolean.getBoolean(ObjectFileCache.ENABLED_PROPERTY), maxSize);
+        }
+    }
 }
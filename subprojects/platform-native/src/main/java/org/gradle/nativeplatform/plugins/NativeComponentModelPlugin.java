@@ -33,7 +33,6 @@ import org.gradle.language.base.internal.LanguageSourceSetInternal;
 import org.gradle.language.base.internal.SourceTransformTaskConfig;
 import org.gradle.language.base.internal.registry.LanguageTransformContainer;
 import org.gradle.language.base.plugins.ComponentModelBasePlugin;
-import org.gradle.language.nativeplatform.DependentSourceSet;
 import org.gradle.language.nativeplatform.HeaderExportingSourceSet;
 import org.gradle.language.nativeplatform.internal.DependentSourceSetInternal;
 import org.gradle.model.*;
@@ -41,6 +40,9 @@ import org.gradle.nativeplatform.*;
 import org.gradle.nativeplatform.internal.*;
 import org.gradle.nativeplatform.internal.configure.NativeComponentRules;
 import org.gradle.nativeplatform.internal.pch.PchEnabledLanguageTransform;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelection;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelector;
+import org.gradle.nativeplatform.internal.pch.SelectedPrefixHeaderFileGenerateTask;
 import org.gradle.nativeplatform.internal.prebuilt.DefaultPrebuiltLibraries;
 import org.gradle.nativeplatform.internal.prebuilt.PrebuiltLibraryInitializer;
 import org.gradle.nativeplatform.internal.resolve.NativeDependencyResolver;
@@ -196,11 +198,16 @@ public class NativeComponentModelPlugin implements Plugin<ProjectInternal> {
         }
 
         @Defaults
-        void configurePrefixHeaderFiles(@Each final SourceComponentSpec componentSpec, final @Path("buildDir") File buildDir) {
+        void configurePrefixHeaderFiles(@Each final SourceComponentSpec componentSpec, final @Path("buildDir") File buildDir, final ServiceRegistry serviceRegistry) {
             componentSpec.getSources().withType(DependentSourceSetInternal.class).afterEach(new Action<DependentSourceSetInternal>() {
                 @Override
                 public void execute(DependentSourceSetInternal dependentSourceSet) {
-                    if (dependentSourceSet.getPreCompiledHeader() != null) {
+                    if (dependentSourceSet.getPreCompiledHeader() == null && Boolean.getBoolean(PreCompiledHeaderSelector.ENABLED_PROPERTY)) {
+                        // The header is selected when the tasks that use it execute
+                        PreCompiledHeaderSelector selector = serviceRegistry.get(PreCompiledHeaderSelector.class);
+                        dependentSourceSet.setPreCompiledHeaderSelection(new PreCompiledHeaderSelection(selector, dependentSourceSet.getSource()));
+                    }
+                    if (dependentSourceSet.getPreCompiledHeader() != null || dependentSourceSet.getPreCompiledHeaderSelection() != null) {
                         String prefixHeaderDirName = "tmp/" + componentSpec.getName() + "/" + dependentSourceSet.getName() + "/prefixHeaders";
                         File prefixHeaderDir = new File(buildDir, prefixHeaderDirName);
                         File prefixHeaderFile = new File(prefixHeaderDir, "prefix-headers.h");
@@ -216,13 +223,24 @@ public class NativeComponentModelPlugin implements Plugin<ProjectInternal> {
                 for (final DependentSourceSetInternal dependentSourceSet : nativeComponentSpec.getSources().withType(DependentSourceSetInternal.class).values()) {
                     if (dependentSourceSet.getPrefixHeaderFile() != null) {
                         String taskName = "generate" + StringUtils.capitalize(nativeComponentSpec.getName()) + StringUtils.capitalize(dependentSourceSet.getName()) + "PrefixHeaderFile";
-                        tasks.create(taskName, PrefixHeaderFileGenerateTask.class, new Action<PrefixHeaderFileGenerateTask>() {
-                            @Override
-                            public void execute(PrefixHeaderFileGenerateTask prefixHeaderFileGenerateTask) {
-                                prefixHeaderFileGenerateTask.setPrefixHeaderFile(dependentSourceSet.getPrefixHeaderFile());
-                                prefixHeaderFileGenerateTask.setHeader(dependentSourceSet.getPreCompiledHeader());
-                            }
-                        });
+                        final PreCompiledHeaderSelection selection = dependentSourceSet.getPreCompiledHeaderSelection();
+                        if (selection != null) {
+                            tasks.create(taskName, SelectedPrefixHeaderFileGenerateTask.class, new Action<SelectedPrefixHeaderFileGenerateTask>() {
+                                @Override
+                                public void execute(SelectedPrefixHeaderFileGenerateTask prefixHeaderFileGenerateTask) {
+                                    prefixHeaderFileGenerateTask.setPrefixHeaderFile(dependentSourceSet.getPrefixHeaderFile());
+                                    prefixHeaderFileGenerateTask.setSelection(selection);
+                                }
+                            });
+                        } else {
+                            tasks.create(taskName, PrefixHeaderFileGenerateTask.class, new Action<PrefixHeaderFileGenerateTask>() {
+                                @Override
+                                public void execute(PrefixHeaderFileGenerateTask prefixHeaderFileGenerateTask) {
+                                    prefixHeaderFileGenerateTask.setPrefixHeaderFile(dependentSourceSet.getPrefixHeaderFile());
+                                    prefixHeaderFileGenerateTask.setHeader(dependentSourceSet.getPreCompiledHeader());
+                                }
+                            });
+                        }
                     }
                 }
             }
@@ -235,8 +253,8 @@ public class NativeComponentModelPlugin implements Plugin<ProjectInternal> {
                     nativeBinarySpec.getInputs().withType(transform.getSourceSetType(), new Action<LanguageSourceSet>() {
                         @Override
                         public void execute(final LanguageSourceSet languageSourceSet) {
-                            final DependentSourceSet dependentSourceSet = (DependentSourceSet) languageSourceSet;
-                            if (dependentSourceSet.getPreCompiledHeader() != null) {
+                            final DependentSourceSetInternal dependentSourceSet = (DependentSourceSetInternal) languageSourceSet;
+                            if (dependentSourceSet.getPrefixHeaderFile() != null) {
                                 nativeBinarySpec.addPreCompiledHeaderFor(dependentSourceSet);
                                 final SourceTransformTaskConfig pchTransformTaskConfig = transform.getPchTransformTask();
                                 String pchTaskName = pchTransformTaskConfig.getTaskPrefix() + StringUtils.capitalize(nativeBinarySpec.getProjectScopedName()) + StringUtils.capitalize(dependentSourceSet.getName()) + "PreCompiledHeader";
@@ -20,11 +20,13 @@ import com.google.common.collect.Lists;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.Incubating;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.nativeplatform.toolchain.internal.PCHUtils;
 
 import java.io.File;
+import java.util.Collections;
 
 /**
  * Generates a prefix header file from a list of headers to be precompiled.
@@ -36,10 +38,11 @@ public class PrefixHeaderFileGenerateTask extends DefaultTask {
 
     @TaskAction
     void generatePrefixHeaderFile() {
-        PCHUtils.generatePCHFile(Lists.newArrayList(header), prefixHeaderFile);
+        String header = getHeader();
+        PCHUtils.generatePCHFile(header == null ? Collections.<String>emptyList() : Lists.newArrayList(header), prefixHeaderFile);
     }
 
-    @Input
+    @Input @Optional
     public String getHeader() {
         return header;
     }
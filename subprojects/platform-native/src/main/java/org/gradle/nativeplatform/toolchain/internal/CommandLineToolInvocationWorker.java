@@ -18,10 +18,17 @@ package org.gradle.nativeplatform.toolchain.internal;
 
 import org.gradle.internal.operations.BuildOperationWorker;
 
+import java.io.File;
+
 public interface CommandLineToolInvocationWorker extends BuildOperationWorker<CommandLineToolInvocation> {
     /**
      * Returns a human consumable name for this tool.
      */
     @Override
     String getDisplayName();
+
+    /**
+     * Returns the executable that is run for each invocation.
+     */
+    File getExecutable();
 }
@@ -17,6 +17,7 @@
 package org.gradle.nativeplatform.toolchain.internal;
 
 import org.gradle.api.internal.changedetection.changes.DiscoveredInputRecorder;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.language.nativeplatform.internal.IncludeDirectives;
 import org.gradle.nativeplatform.internal.BinaryToolSpec;
 
@@ -79,10 +80,32 @@ public interface NativeCompileSpec extends BinaryToolSpec {
 
     void setPreCompiledHeader(String header);
 
+    /**
+     * Returns true when the pre-compiled header was selected automatically rather than declared for the source set.
+     */
+    boolean isPreCompiledHeaderAutoSelected();
+
+    void setPreCompiledHeaderAutoSelected(boolean autoSelected);
+
     Map<File, IncludeDirectives> getSourceFileIncludeDirectives();
 
     void setSourceFileIncludeDirectives(Map<File, IncludeDirectives> map);
 
+    /**
+     * Returns a hash of the content of each source file combined with the content of the headers it includes. A source file has no entry when
+     * its included headers could not be fully determined.
+     */
+    Map<File, HashValue> getSourceFileInputHashes();
+
+    void setSourceFileInputHashes(Map<File, HashValue> map);
+
+    /**
+     * Returns the cache to use to reuse previously compiled object files, or null when object files should not be cached.
+     */
+    ObjectFileCache getObjectFileCache();
+
+    void setObjectFileCache(ObjectFileCache objectFileCache);
+
     DiscoveredInputRecorder getDiscoveredInputRecorder();
 
     void setDiscoveredInputRecorder(DiscoveredInputRecorder inputs);
@@ -16,6 +16,7 @@
 
 package org.gradle.nativeplatform.toolchain.internal;
 
+import com.google.common.base.Joiner;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.gradle.api.Action;
@@ -27,8 +28,11 @@ import org.gradle.api.logging.Logging;
 import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.internal.FileUtils;
+import org.gradle.internal.hash.HashUtil;
+import org.gradle.internal.hash.HashValue;
 import org.gradle.internal.operations.BuildOperationProcessor;
 import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.BuildOperationWorker;
 import org.gradle.internal.os.OperatingSystem;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.nativeplatform.internal.Include;
@@ -37,8 +41,15 @@ import org.gradle.nativeplatform.internal.CompilerOutputFileNamingScheme;
 import org.gradle.util.CollectionUtils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class NativeCompiler<T extends NativeCompileSpec> implements Compiler<T> {
 
@@ -65,31 +76,79 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
     @Override
     public WorkResult execute(final T spec) {
         final T transformedSpec = specTransformer.transform(spec);
-        final List<String> genericArgs = getArguments(transformedSpec);
+        List<String> args = transformArguments(transformedSpec);
+        final ObjectFileCaching caching = isCachingEnabled(transformedSpec) ? new ObjectFileCaching(transformedSpec, args) : null;
+        final List<String> genericArgs = shortenArguments(args, transformedSpec);
 
         final File objectDir = transformedSpec.getObjectFileDir();
-        buildOperationProcessor.run(commandLineToolInvocationWorker, new Action<BuildOperationQueue<CommandLineToolInvocation>>() {
+        BuildOperationWorker<CommandLineToolInvocation> worker = caching != null ? caching : commandLineToolInvocationWorker;
+        buildOperationProcessor.run(worker, new Action<BuildOperationQueue<CommandLineToolInvocation>>() {
             @Override
             public void execute(BuildOperationQueue<CommandLineToolInvocation> buildQueue) {
                 buildQueue.setLogLocation(spec.getOperationLogger().getLogLocation());
-                for (File sourceFile : transformedSpec.getSourceFiles()) {
+                for (File sourceFile : largestFirst(transformedSpec.getSourceFiles())) {
                     CommandLineToolInvocation perFileInvocation =
                         createPerFileInvocation(genericArgs, sourceFile, objectDir, spec);
+                    if (caching != null && caching.restore(sourceFile, perFileInvocation, getOutputFileDir(sourceFile, objectDir, objectFileExtension))) {
+                        continue;
+                    }
                     buildQueue.add(perFileInvocation);
                 }
             }
         });
 
+        if (caching != null) {
+            caching.logSummary();
+        }
+
         return new SimpleWorkResult(!transformedSpec.getSourceFiles().isEmpty());
     }
 
+    private boolean isCachingEnabled(T spec) {
+        return isObjectFileCachingSupported() && spec.getObjectFileCache() != null && spec.getObjectFileCache().isEnabled() && !spec.getSourceFileInputHashes().isEmpty();
+    }
+
+    /**
+     * Returns true when each invocation of this compiler produces only the output file passed to {@link #getOutputArgs(File)}, so that the output can be
+     * reused from the {@link ObjectFileCache}.
+     */
+    protected boolean isObjectFileCachingSupported() {
+        return true;
+    }
+
+    /**
+     * Orders the source files so that the largest, and probably slowest to compile, are started first. This avoids leaving a long compilation
+     * until the end, where it would run while the other workers sit idle.
+     */
+    private static List<File> largestFirst(Collection<File> sourceFiles) {
+        final Map<File, Long> sizes = new HashMap<File, Long>(sourceFiles.size());
+        for (File sourceFile : sourceFiles) {
+            sizes.put(sourceFile, sourceFile.length());
+        }
+        List<File> ordered = new ArrayList<File>(sourceFiles);
+        Collections.sort(ordered, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return sizes.get(o2).compareTo(sizes.get(o1));
+            }
+        });
+        return ordered;
+    }
+
     protected List<String> getArguments(T spec) {
+        return shortenArguments(transformArguments(spec), spec);
+    }
+
+    private List<String> transformArguments(T spec) {
         List<String> args = argsTransformer.transform(spec);
 
         Action<List<String>> userArgTransformer = invocationContext.getArgAction();
         // modifies in place
         userArgTransformer.execute(args);
+        return args;
+    }
 
+    private List<String> shortenArguments(List<String> args, T spec) {
         if (useCommandFile) {
             // Shorten args and write out an options.txt file
             // This must be called only once per execute()
@@ -143,7 +202,8 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
                 }
             });
             if (containsHeader) {
-                logger.log(LogLevel.WARN, getCantUsePCHMessage(spec.getPreCompiledHeader(), sourceFile));
+                // An automatically selected header is expected not to be the first header of some source files
+                logger.log(spec.isPreCompiledHeaderAutoSelected() ? LogLevel.INFO : LogLevel.WARN, getCantUsePCHMessage(spec.getPreCompiledHeader(), sourceFile));
             }
             return Lists.newArrayList();
         }
@@ -169,4 +229,76 @@ public abstract class NativeCompiler<T extends NativeCompileSpec> implements Com
     protected Iterable<String> buildPerFileArgs(List<String> genericArgs, List<String> sourceArgs, List<String> outputArgs, List<String> pchArgs) {
         return Iterables.concat(genericArgs, pchArgs, sourceArgs, outputArgs);
     }
+
+    /**
+     * Reuses object files from the {@link ObjectFileCache} and stores newly compiled object files in the cache. Also acts as the worker for the
+     * per-file invocations, so that the time taken to compile each file can be recorded.
+     */
+    private class ObjectFileCaching implements BuildOperationWorker<CommandLineToolInvocation> {
+        private final ObjectFileCache cache;
+        private final Map<File, HashValue> inputHashes;
+        private final String compilerKey;
+        private final Map<CommandLineToolInvocation, CachedObjectFile> toStore = new ConcurrentHashMap<CommandLineToolInvocation, CachedObjectFile>();
+        private final AtomicInteger stored = new AtomicInteger();
+        private int restored;
+        private long timeSaved;
+
+        ObjectFileCaching(T spec, List<String> args) {
+            this.cache = spec.getObjectFileCache();
+            this.inputHashes = spec.getSourceFileInputHashes();
+            File executable = commandLineToolInvocationWorker.getExecutable();
+            this.compilerKey = executable.getAbsolutePath() + ':' + executable.length() + ':' + executable.lastModified() + '\n' + Joiner.on('\n').join(args);
+        }
+
+        /**
+         * Restores the object file for the given source file from the cache, returning false when it needs to be compiled.
+         */
+        boolean restore(File sourceFile, CommandLineToolInvocation invocation, File objectFile) {
+            HashValue inputHash = inputHashes.get(sourceFile);
+            if (inputHash == null) {
+                return false;
+            }
+            HashValue key = HashUtil.createHash(compilerKey + '\n' + Joiner.on('\n').join(invocation.getArgs()) + '\n' + inputHash.asHexString(), "MD5");
+            Long compileTime = cache.restore(key, objectFile);
+            if (compileTime != null) {
+                restored++;
+                timeSaved += compileTime;
+                return true;
+            }
+            toStore.put(invocation, new CachedObjectFile(key, objectFile));
+            return false;
+        }
+
+        void logSummary() {
+            logger.info("Reused {} of {} object files from the native object cache, saving about {}ms. Stored {} new object files.", restored, restored + toStore.size(), timeSaved, stored.get());
+        }
+
+        @Override
+        public String getDisplayName() {
+            return commandLineToolInvocationWorker.getDisplayName();
+        }
+
+        @Override
+        public void execute(CommandLineToolInvocation invocation) {
+            long start = System.currentTimeMillis();
+            commandLineToolInvocationWorker.execute(invocation);
+            long compileTime = System.currentTimeMillis() - start;
+            // Store as soon as the file has compiled, so that the object file is reused even when another file fails to compile
+            CachedObjectFile objectFile = toStore.get(invocation);
+            if (objectFile != null && objectFile.file.isFile()) {
+                cache.store(objectFile.key, objectFile.file, compileTime);
+                stored.incrementAndGet();
+            }
+        }
+    }
+
+    private static class CachedObjectFile {
+        final HashValue key;
+        final File file;
+
+        CachedObjectFile(HashValue key, File file) {
+            this.key = key;
+            this.file = file;
+        }
+    }
 }
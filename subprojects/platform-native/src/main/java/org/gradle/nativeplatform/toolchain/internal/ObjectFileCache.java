@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.nativeplatform.toolchain.internal;
+
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.hash.HashValue;
+import org.gradle.util.GFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A local cache of the object files produced by native compilers. Each object file is stored under a key that is calculated from everything that
+ * contributes to the object file: the compiler, the compiler arguments, the source file and the headers it includes.
+ *
+ * <p>The cache may be shared by several builds, in different workspaces. Entries are written to a temporary file and then renamed into place, so a
+ * partially written object file is never used. Once the cache grows beyond its maximum size, the least recently used entries are removed.</p>
+ */
+public class ObjectFileCache {
+    /**
+     * System property that enables the cache.
+     */
+    public static final String ENABLED_PROPERTY = "org.gradle.native.objectcache";
+
+    /**
+     * System property that sets the maximum size of the cache, in megabytes.
+     */
+    public static final String MAX_SIZE_PROPERTY = "org.gradle.native.objectcache.maxsize";
+
+    public static final long DEFAULT_MAX_SIZE = 1024L * 1024 * 1024;
+
+    private static final Logger LOGGER = Logging.getLogger(ObjectFileCache.class);
+    private static final String COMPILE_TIME_SUFFIX = ".time";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File baseDir;
+    private final boolean enabled;
+    private final long maxSize;
+    private long currentSize = -1;
+    private boolean storeFailureReported;
+
+    public ObjectFileCache(File baseDir, boolean enabled, long maxSize) {
+        this.baseDir = baseDir;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Copies the object file with the given key to the given location.
+     *
+     * @return The time it took to compile the object file, in milliseconds, or null when the cache does not contain an object file with the given key.
+     */
+    public Long restore(HashValue key, File objectFile) {
+        File cachedFile = new File(baseDir, key.asHexString());
+        if (!cachedFile.isFile()) {
+            return null;
+        }
+        try {
+            GFileUtils.copyFile(cachedFile, objectFile);
+        } catch (UncheckedIOException e) {
+            // Probably removed by another build - treat as a miss
+            LOGGER.debug("Could not restore object file {} from native object cache.", objectFile, e);
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        objectFile.setLastModified(now);
+        cachedFile.setLastModified(now);
+        return readCompileTime(key);
+    }
+
+    /**
+     * Stores a copy of the given object file under the given key. A failure to write to the cache, for example because it is full or read-only,
+     * is logged and otherwise ignored.
+     */
+    public synchronized void store(HashValue key, File objectFile, long compileTimeMillis) {
+        File tempFile = new File(baseDir, key.asHexString() + "-" + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            doStore(key, objectFile, compileTimeMillis, tempFile);
+        } catch (UncheckedIOException e) {
+            GFileUtils.deleteQuietly(tempFile);
+            if (!storeFailureReported) {
+                storeFailureReported = true;
+                LOGGER.warn("Could not store object file {} in native object cache {}: {}", objectFile, baseDir, e.getMessage());
+            } else {
+                LOGGER.debug("Could not store object file {} in native object cache.", objectFile, e);
+            }
+        }
+    }
+
+    private void doStore(HashValue key, File objectFile, long compileTimeMillis, File tempFile) {
+        GFileUtils.mkdirs(baseDir);
+        File cachedFile = new File(baseDir, key.asHexString());
+        GFileUtils.writeFile(String.valueOf(compileTimeMillis), compileTimeFile(key));
+        GFileUtils.copyFile(objectFile, tempFile);
+        if (!tempFile.renameTo(cachedFile)) {
+            // Another build stored the same object file first
+            GFileUtils.deleteQuietly(tempFile);
+            return;
+        }
+        if (currentSize < 0) {
+            currentSize = calculateSize();
+        } else {
+            currentSize += cachedFile.length() + compileTimeFile(key).length();
+        }
+        if (currentSize > maxSize) {
+            evict();
+        }
+    }
+
+    private Long readCompileTime(HashValue key) {
+        try {
+            return Long.valueOf(GFileUtils.readFile(compileTimeFile(key)).trim());
+        } catch (RuntimeException e) {
+            return 0L;
+        }
+    }
+
+    private File compileTimeFile(HashValue key) {
+        return new File(baseDir, key.asHexString() + COMPILE_TIME_SUFFIX);
+    }
+
+    private File[] listEntries() {
+        File[] entries = baseDir.listFiles();
+        if (entries == null) {
+            throw new UncheckedIOException(new IOException("Could not list contents of " + baseDir));
+        }
+        return entries;
+    }
+
+    private long calculateSize() {
+        long size = 0;
+        for (File entry : listEntries()) {
+            size += entry.length();
+        }
+        return size;
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is at most 80% of its maximum size.
+     */
+    private void evict() {
+        File[] entries = listEntries();
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                long lastModified1 = o1.lastModified();
+                long lastModified2 = o2.lastModified();
+                return lastModified1 < lastModified2 ? -1 : lastModified1 == lastModified2 ? 0 : 1;
+            }
+        });
+        long targetSize = maxSize / 10 * 8;
+        long size = calculateSize();
+        for (int i = 0; i < entries.length && size > targetSize; i++) {
+            File entry = entries[i];
+            if (entry.getName().endsWith(COMPILE_TIME_SUFFIX) || entry.getName().endsWith(TEMP_SUFFIX)) {
+                continue;
+            }
+            File compileTimeFile = new File(baseDir, entry.getName() + COMPILE_TIME_SUFFIX);
+            size -= entry.length() + compileTimeFile.length();
+            GFileUtils.deleteQuietly(entry);
+            GFileUtils.deleteQuietly(compileTimeFile);
+        }
+        currentSize = size;
+    }
+}
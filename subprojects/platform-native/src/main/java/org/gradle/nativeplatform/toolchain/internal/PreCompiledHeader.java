@@ -25,6 +25,7 @@ import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.TaskDependency;
+import org.gradle.nativeplatform.internal.pch.PreCompiledHeaderSelection;
 import org.gradle.platform.base.internal.ComponentSpecIdentifier;
 
 import java.io.File;
@@ -33,6 +34,7 @@ public class PreCompiledHeader extends AbstractBuildableComponentSpec {
     FileCollection pchObjects;
     File prefixHeaderFile;
     String includeString;
+    PreCompiledHeaderSelection selection;
 
     public PreCompiledHeader(ComponentSpecIdentifier identifier) {
         super(identifier, PreCompiledHeader.class);
@@ -63,6 +65,9 @@ public class PreCompiledHeader extends AbstractBuildableComponentSpec {
 
     @Optional @Input
     public String getIncludeString() {
+        if (includeString == null && selection != null) {
+            return selection.getHeader();
+        }
         return includeString;
     }
 
@@ -70,6 +75,18 @@ public class PreCompiledHeader extends AbstractBuildableComponentSpec {
         this.includeString = includeString;
     }
 
+    /**
+     * Uses the automatically selected header, when no include string is set.
+     */
+    public void setSelection(PreCompiledHeaderSelection selection) {
+        this.selection = selection;
+    }
+
+    @Internal
+    public boolean isAutoSelected() {
+        return includeString == null && selection != null;
+    }
+
     @Internal
     @Override
     public ComponentSpecIdentifier getIdentifier() {
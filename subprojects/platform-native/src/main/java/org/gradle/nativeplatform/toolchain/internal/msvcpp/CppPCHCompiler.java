@@ -35,4 +35,10 @@ public class CppPCHCompiler extends VisualCppNativeCompiler<CppPCHCompileSpec> {
     protected List<String> getOutputArgs(File outputFile) {
         return Collections.singletonList("/Fp" + outputFile.getAbsolutePath());
     }
+
+    @Override
+    protected boolean isObjectFileCachingSupported() {
+        // Also produces an object file from /Yc, which is not captured by the cache
+        return false;
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.nativeplatform.internal.pch
+
+import spock.lang.Specification
+
+class PreCompiledHeaderSelectionTest extends Specification {
+    def selector = Mock(PreCompiledHeaderSelector)
+    def sourceFiles = [new File("a.c"), new File("b.c")]
+
+    def "selects header when first requested and reuses it"() {
+        when:
+        def selection = new PreCompiledHeaderSelection(selector, sourceFiles)
+
+        then:
+        0 * selector._
+
+        when:
+        def header1 = selection.header
+        def header2 = selection.header
+
+        then:
+        1 * selector.select(sourceFiles) >> "common.h"
+        header1 == "common.h"
+        header2 == "common.h"
+    }
+
+    def "does not select again when no header is selected"() {
+        def selection = new PreCompiledHeaderSelection(selector, sourceFiles)
+
+        when:
+        def header1 = selection.header
+        def header2 = selection.header
+
+        then:
+        1 * selector.select(sourceFiles) >> null
+        header1 == null
+        header2 == null
+    }
+}
@@ -18,9 +18,11 @@ package org.gradle.nativeplatform.toolchain.internal
 
 import org.gradle.api.Action
 import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.hash.HashUtil
 import org.gradle.internal.operations.BuildOperationProcessor
 import org.gradle.internal.operations.DefaultBuildOperationProcessor
 import org.gradle.internal.operations.DefaultBuildOperationQueueFactory
+import org.gradle.internal.operations.MultipleBuildOperationFailures
 import org.gradle.internal.operations.logging.BuildOperationLogger
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
@@ -40,6 +42,10 @@ public abstract class NativeCompilerTest extends Specification {
     protected abstract Class<? extends NativeCompileSpec> getCompileSpecType()
     protected abstract List<String> getCompilerSpecificArguments(File includeDir)
 
+    protected boolean getObjectFileCachingSupported() {
+        true
+    }
+
     protected CommandLineToolInvocationWorker commandLineTool = Mock(CommandLineToolInvocationWorker)
     protected BuildOperationProcessor buildOperationProcessor = new DefaultBuildOperationProcessor(new DefaultBuildOperationQueueFactory(), new DefaultExecutorFactory(), 1)
 
@@ -142,6 +148,107 @@ public abstract class NativeCompilerTest extends Specification {
         false           | "options passed on the command line only"
     }
 
+    def "compiles largest source files first"() {
+        given:
+        def compiler = getCompiler()
+        def testDir = tmpDirProvider.testDirectory
+        def objectFileDir = testDir.file("output/objects")
+        def small = testDir.file("small.ext") << "a"
+        def large = testDir.file("large.ext") << "a" * 100
+        def medium = testDir.file("medium.ext") << "a" * 10
+        def compiled = []
+
+        when:
+        def compileSpec = Stub(getCompileSpecType()) {
+            getTempDir() >> testDir
+            getObjectFileDir() >> objectFileDir
+            getSourceFiles() >> [small, large, medium]
+            getOperationLogger() >> Mock(BuildOperationLogger)
+            getPreCompiledHeader() >> null
+            getPrefixHeaderFile() >> null
+            getPreCompiledHeaderObjectFile() >> null
+        }
+
+        and:
+        compiler.execute(compileSpec)
+
+        then:
+        3 * commandLineTool.execute(_) >> { CommandLineToolInvocation invocation -> compiled << invocation.description }
+        compiled == ["compiling large.ext", "compiling medium.ext", "compiling small.ext"]
+    }
+
+    def "restores object files from the object file cache and stores newly compiled object files"() {
+        given:
+        def compiler = getCompiler()
+        def cache = Mock(ObjectFileCache)
+        def testDir = tmpDirProvider.testDirectory
+        def objectFileDir = testDir.file("output/objects")
+        def cachedSource = testDir.file("cached.ext") << "a" * 10
+        def changedSource = testDir.file("changed.ext") << "a"
+        def cachedObjectFile = compiler.getOutputFileDir(cachedSource, objectFileDir, O_EXT)
+        def changedObjectFile = compiler.getOutputFileDir(changedSource, objectFileDir, O_EXT)
+        def compileSpec = Stub(getCompileSpecType()) {
+            getTempDir() >> testDir
+            getObjectFileDir() >> objectFileDir
+            getSourceFiles() >> [cachedSource, changedSource]
+            getOperationLogger() >> Mock(BuildOperationLogger)
+            getPreCompiledHeader() >> null
+            getPrefixHeaderFile() >> null
+            getPreCompiledHeaderObjectFile() >> null
+            getObjectFileCache() >> cache
+            getSourceFileInputHashes() >> [(cachedSource): HashUtil.createHash("cached", "MD5"), (changedSource): HashUtil.createHash("changed", "MD5")]
+        }
+        commandLineTool.getExecutable() >> testDir.file("compiler")
+        cache.isEnabled() >> true
+
+        when:
+        compiler.execute(compileSpec)
+
+        then:
+        (objectFileCachingSupported ? 1 : 0) * cache.restore(_, cachedObjectFile) >> 100
+        (objectFileCachingSupported ? 1 : 0) * cache.restore(_, changedObjectFile) >> null
+        (objectFileCachingSupported ? 1 : 2) * commandLineTool.execute(_) >> { changedObjectFile.text = "compiled" }
+        (objectFileCachingSupported ? 1 : 0) * cache.store(_, changedObjectFile, _)
+        0 * cache.store(_, cachedObjectFile, _)
+    }
+
+    def "stores object files that compiled when another source file fails to compile"() {
+        given:
+        def compiler = getCompiler()
+        def cache = Mock(ObjectFileCache)
+        def testDir = tmpDirProvider.testDirectory
+        def objectFileDir = testDir.file("output/objects")
+        def goodSource = testDir.file("good.ext") << "a" * 10
+        def badSource = testDir.file("bad.ext") << "a"
+        def goodObjectFile = compiler.getOutputFileDir(goodSource, objectFileDir, O_EXT)
+        def compileSpec = Stub(getCompileSpecType()) {
+            getTempDir() >> testDir
+            getObjectFileDir() >> objectFileDir
+            getSourceFiles() >> [goodSource, badSource]
+            getOperationLogger() >> Mock(BuildOperationLogger)
+            getPreCompiledHeader() >> null
+            getPrefixHeaderFile() >> null
+            getPreCompiledHeaderObjectFile() >> null
+            getObjectFileCache() >> cache
+            getSourceFileInputHashes() >> [(goodSource): HashUtil.createHash("good", "MD5"), (badSource): HashUtil.createHash("bad", "MD5")]
+        }
+        commandLineTool.getExecutable() >> testDir.file("compiler")
+        cache.isEnabled() >> true
+        commandLineTool.execute(_) >> { CommandLineToolInvocation invocation ->
+            if (invocation.description == "compiling bad.ext") {
+                throw new RuntimeException("broken")
+            }
+            goodObjectFile.text = "compiled"
+        }
+
+        when:
+        compiler.execute(compileSpec)
+
+        then:
+        thrown(MultipleBuildOperationFailures)
+        (objectFileCachingSupported ? 1 : 0) * cache.store(_, goodObjectFile, _)
+    }
+
     def "user-supplied arg actions run once per execute"() {
         given:
         def invocationContext = new DefaultMutableCommandLineToolContext()
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.nativeplatform.toolchain.internal
+
+import org.gradle.internal.hash.HashUtil
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class ObjectFileCacheTest extends Specification {
+    @Rule final TestNameTestDirectoryProvider tmpDirProvider = new TestNameTestDirectoryProvider()
+
+    def cacheDir = tmpDirProvider.file("cache")
+    def cache = new ObjectFileCache(cacheDir, true, 1000)
+
+    def "restores stored object file"() {
+        def objectFile = tmpDirProvider.file("build/foo.o")
+        objectFile.text = "compiled"
+        def key = HashUtil.createHash("key", "MD5")
+
+        when:
+        cache.store(key, objectFile, 123)
+        objectFile.delete()
+        def compileTime = cache.restore(key, objectFile)
+
+        then:
+        compileTime == 123
+        objectFile.text == "compiled"
+    }
+
+    def "returns null for missing object file"() {
+        expect:
+        cache.restore(HashUtil.createHash("key", "MD5"), tmpDirProvider.file("build/foo.o")) == null
+    }
+
+    def "does not fail when object file cannot be stored"() {
+        def objectFile = tmpDirProvider.file("build/foo.o")
+        objectFile.text = "compiled"
+        def key = HashUtil.createHash("key", "MD5")
+        cacheDir.text = "not a directory"
+
+        when:
+        cache.store(key, objectFile, 123)
+
+        then:
+        noExceptionThrown()
+        cache.restore(key, tmpDirProvider.file("restored/foo.o")) == null
+    }
+
+    def "removes least recently used object files when cache grows beyond maximum size"() {
+        def objectFile = tmpDirProvider.file("build/foo.o")
+        objectFile.text = "x" * 300
+        def key1 = HashUtil.createHash("key1", "MD5")
+        def key2 = HashUtil.createHash("key2", "MD5")
+        def key3 = HashUtil.createHash("key3", "MD5")
+        def key4 = HashUtil.createHash("key4", "MD5")
+
+        when:
+        cache.store(key1, objectFile, 1)
+        cache.store(key2, objectFile, 1)
+        cache.store(key3, objectFile, 1)
+        new File(cacheDir, key1.asHexString()).lastModified = 1000
+        new File(cacheDir, key2.asHexString()).lastModified = 2000
+        new File(cacheDir, key3.asHexString()).lastModified = 3000
+        cache.store(key4, objectFile, 1)
+
+        then:
+        cache.restore(key1, tmpDirProvider.file("restored/1.o")) == null
+        cache.restore(key2, tmpDirProvider.file("restored/2.o")) == null
+        cache.restore(key3, tmpDirProvider.file("restored/3.o")) == 1
+        cache.restore(key4, tmpDirProvider.file("restored/4.o")) == 1
+    }
+}
@@ -32,6 +32,11 @@ class CPCHCompilerTest extends VisualCppNativeCompilerTest {
         return CPCHCompileSpec
     }
 
+    @Override
+    protected boolean getObjectFileCachingSupported() {
+        false
+    }
+
     @Override
     String getObjectFileFlag() {
         return '/Fp'
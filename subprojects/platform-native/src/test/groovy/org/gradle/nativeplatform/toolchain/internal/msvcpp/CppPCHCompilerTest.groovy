@@ -34,6 +34,11 @@ class CppPCHCompilerTest extends VisualCppNativeCompilerTest {
         return CppPCHCompileSpec
     }
 
+    @Override
+    protected boolean getObjectFileCachingSupported() {
+        false
+    }
+
     @Override
     String getObjectFileFlag() {
         return '/Fp'
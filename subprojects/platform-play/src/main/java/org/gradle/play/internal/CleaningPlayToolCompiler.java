@@ -16,13 +16,28 @@
 
 package org.gradle.play.internal;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.gradle.api.UncheckedIOException;
 import org.gradle.api.internal.TaskOutputsInternal;
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.language.base.internal.compile.Compiler;
 import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
 import org.gradle.play.internal.spec.PlayCompileSpec;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Removes the previous outputs of a Play tool before running it. Outputs that are regenerated with the same content, ignoring the generation
+ * timestamp the Play tools write into them, are put back exactly as they were, so that the Scala compiler does not see them as changed.
+ */
 public class CleaningPlayToolCompiler<T extends PlayCompileSpec> implements Compiler<T> {
+    private static final Pattern TIMESTAMP_LINE = Pattern.compile("(?m)^\\s*(//\\s*@)?DATE:.*$");
+
     private final Compiler<T> delegate;
     private TaskOutputsInternal taskOutputs;
 
@@ -33,9 +48,59 @@ public class CleaningPlayToolCompiler<T extends PlayCompileSpec> implements Comp
 
     @Override
     public WorkResult execute(T spec) {
+        Map<File, PreviousOutput> previousOutputs = readPreviousOutputs(spec.getDestinationDir());
         SimpleStaleClassCleaner cleaner = new SimpleStaleClassCleaner(taskOutputs);
         cleaner.setDestinationDir(spec.getDestinationDir());
         cleaner.execute();
-        return delegate.execute(spec);
+        WorkResult result = delegate.execute(spec);
+        restoreUnchangedOutputs(previousOutputs);
+        return result;
+    }
+
+    private Map<File, PreviousOutput> readPreviousOutputs(File destinationDir) {
+        String prefix = destinationDir.getAbsolutePath() + File.separator;
+        Map<File, PreviousOutput> previousOutputs = new HashMap<File, PreviousOutput>();
+        for (File file : taskOutputs.getPreviousFiles()) {
+            if (file.isFile() && file.getAbsolutePath().startsWith(prefix)) {
+                try {
+                    previousOutputs.put(file, new PreviousOutput(Files.toByteArray(file), file.lastModified()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return previousOutputs;
+    }
+
+    private void restoreUnchangedOutputs(Map<File, PreviousOutput> previousOutputs) {
+        for (Map.Entry<File, PreviousOutput> entry : previousOutputs.entrySet()) {
+            File file = entry.getKey();
+            PreviousOutput previous = entry.getValue();
+            if (!file.isFile()) {
+                continue;
+            }
+            try {
+                if (withoutTimestamps(Files.toByteArray(file)).equals(withoutTimestamps(previous.content))) {
+                    Files.write(previous.content, file);
+                    file.setLastModified(previous.lastModified);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static String withoutTimestamps(byte[] content) {
+        return TIMESTAMP_LINE.matcher(new String(content, Charsets.ISO_8859_1)).replaceAll("");
+    }
+
+    private static class PreviousOutput {
+        private final byte[] content;
+        private final long lastModified;
+
+        private PreviousOutput(byte[] content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+        }
     }
 }
@@ -47,26 +47,34 @@ public class RoutesCompiler implements Compiler<RoutesCompileSpec>, Serializable
             }
         }
 
+        ClassLoader cl = getClass().getClassLoader();
+        ScalaMethod compile = getCompileMethod(cl);
+
         // Compile all secondary routes files first
         for (File sourceFile : secondaryRoutes) {
-            Boolean ret = compile(sourceFile, spec);
+            Boolean ret = compile(compile, cl, sourceFile, spec);
             didWork = ret || didWork;
         }
 
         // Compile all main routes files last
         for (File sourceFile : primaryRoutes) {
-            Boolean ret = compile(sourceFile, spec);
+            Boolean ret = compile(compile, cl, sourceFile, spec);
             didWork = ret || didWork;
         }
 
         return new SimpleWorkResult(didWork);
     }
 
-    private Boolean compile(File sourceFile, RoutesCompileSpec spec) {
+    private ScalaMethod getCompileMethod(ClassLoader cl) {
+        try {
+            return adapter.getCompileMethod(cl);
+        } catch (Exception e) {
+            throw new RuntimeException("Error invoking the Play routes compiler.", e);
+        }
+    }
 
+    private Boolean compile(ScalaMethod compile, ClassLoader cl, File sourceFile, RoutesCompileSpec spec) {
         try {
-            ClassLoader cl = getClass().getClassLoader();
-            ScalaMethod compile = adapter.getCompileMethod(cl);
             Object ret = compile.invoke(adapter.createCompileParameters(cl, sourceFile, spec.getDestinationDir(), spec.isJavaProject(), spec.isNamespaceReverseRouter(), spec.isGenerateReverseRoutes(), spec.isInjectedRoutesGenerator(), spec.getAdditionalImports()));
             if (ret != null && ret instanceof Boolean) {
                 return (Boolean) ret;
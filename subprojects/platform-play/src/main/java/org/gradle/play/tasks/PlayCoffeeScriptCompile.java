@@ -19,8 +19,6 @@ package org.gradle.play.tasks;
 import org.gradle.api.Incubating;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
-import org.gradle.language.base.internal.tasks.SimpleStaleClassCleaner;
-import org.gradle.language.base.internal.tasks.StaleClassCleaner;
 import org.gradle.plugins.javascript.coffeescript.CoffeeScriptCompile;
 
 /**
@@ -45,12 +43,4 @@ public class PlayCoffeeScriptCompile extends CoffeeScriptCompile {
         Dependency dependency = getProject().getDependencies().create(notation);
         return getProject().getConfigurations().detachedConfiguration(dependency);
     }
-
-    @Override
-    public void doCompile() {
-        StaleClassCleaner cleaner = new SimpleStaleClassCleaner(getOutputs());
-        cleaner.setDestinationDir(getDestinationDir());
-        cleaner.execute();
-        super.doCompile();
-    }
 }
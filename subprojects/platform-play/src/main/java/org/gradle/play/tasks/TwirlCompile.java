@@ -125,8 +125,8 @@ public class TwirlCompile extends SourceTask {
     void compile(IncrementalTaskInputs inputs) {
         RelativeFileCollector relativeFileCollector = new RelativeFileCollector();
         getSource().visit(relativeFileCollector);
-        TwirlCompileSpec spec = new DefaultTwirlCompileSpec(relativeFileCollector.relativeFiles, getOutputDirectory(), getForkOptions(), getDefaultImports());
         if (!inputs.isIncremental()) {
+            TwirlCompileSpec spec = new DefaultTwirlCompileSpec(relativeFileCollector.relativeFiles, getOutputDirectory(), getForkOptions(), getDefaultImports());
             new CleaningPlayToolCompiler<TwirlCompileSpec>(getCompiler(), getOutputs()).execute(spec);
         } else {
             final Set<File> sourcesToCompile = new HashSet<File>();
@@ -146,7 +146,18 @@ public class TwirlCompile extends SourceTask {
                 cleaner = new TwirlStaleOutputCleaner(getOutputDirectory());
             }
             cleaner.execute(staleOutputFiles);
-            getCompiler().execute(spec);
+
+            // Only regenerate the changed templates, so that the Scala compiler does not see the other generated sources as changed
+            List<RelativeFile> changedSources = Lists.newArrayList();
+            for (RelativeFile source : relativeFileCollector.relativeFiles) {
+                if (sourcesToCompile.contains(source.getFile())) {
+                    changedSources.add(source);
+                }
+            }
+            if (!changedSources.isEmpty()) {
+                TwirlCompileSpec spec = new DefaultTwirlCompileSpec(changedSources, getOutputDirectory(), getForkOptions(), getDefaultImports());
+                getCompiler().execute(spec);
+            }
         }
     }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.play.internal
+
+import org.gradle.api.internal.TaskOutputsInternal
+import org.gradle.api.internal.file.collections.SimpleFileCollection
+import org.gradle.api.internal.tasks.SimpleWorkResult
+import org.gradle.language.base.internal.compile.Compiler
+import org.gradle.play.internal.spec.PlayCompileSpec
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class CleaningPlayToolCompilerTest extends Specification {
+    @Rule TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def destinationDir = tmpDir.createDir("generated")
+    def unchanged = destinationDir.file("views/unchanged.template.scala")
+    def changed = destinationDir.file("views/changed.template.scala")
+    def stale = destinationDir.file("views/stale.template.scala")
+    def taskOutputs = Stub(TaskOutputsInternal)
+    def delegate = Mock(Compiler)
+    def spec = Stub(PlayCompileSpec)
+    def compiler = new CleaningPlayToolCompiler<PlayCompileSpec>(delegate, taskOutputs)
+
+    def setup() {
+        unchanged.text = generated("unchanged", "Mon Jan 04 10:00:00 CET 2016")
+        changed.text = generated("changed", "Mon Jan 04 10:00:00 CET 2016")
+        stale.text = generated("stale", "Mon Jan 04 10:00:00 CET 2016")
+        [unchanged, changed, stale].each { it.setLastModified(1000) }
+        taskOutputs.previousFiles >> new SimpleFileCollection(unchanged, changed, stale)
+        spec.destinationDir >> destinationDir
+    }
+
+    def "keeps outputs that are regenerated with the same content"() {
+        when:
+        compiler.execute(spec)
+
+        then:
+        1 * delegate.execute(spec) >> {
+            assert !unchanged.exists() && !changed.exists() && !stale.exists()
+            unchanged.text = generated("unchanged", "Tue Jan 05 11:00:00 CET 2016")
+            changed.text = generated("changed again", "Tue Jan 05 11:00:00 CET 2016")
+            new SimpleWorkResult(true)
+        }
+
+        and:
+        unchanged.text == generated("unchanged", "Mon Jan 04 10:00:00 CET 2016")
+        unchanged.lastModified() == 1000
+        changed.text == generated("changed again", "Tue Jan 05 11:00:00 CET 2016")
+        !stale.exists()
+    }
+
+    private static String generated(String body, String date) {
+        """package views
+
+object template { "$body" }
+/*
+    -- GENERATED --
+    DATE: $date
+    SOURCE: app/views/template.scala.html
+    -- GENERATED --
+*/
+"""
+    }
+}
@@ -61,7 +61,7 @@ class TwirlCompileTest extends Specification {
         taskInputs;
     }
 
-    def "deletes stale output files"(){
+    def "deletes stale output files without invoking twirl compiler when templates were only removed"(){
         given:
         def outputDir = new File("outputDir");
         compile.outputDirectory = outputDir
@@ -71,7 +71,35 @@ class TwirlCompileTest extends Specification {
         compile.compile(withDeletedInputFile())
         then:
         1 * outputCleaner.execute(_)
-        1 * twirlCompiler.execute(_)
+        0 * twirlCompiler.execute(_)
+    }
+
+    def "compiles only changed templates"() {
+        given:
+        def appDir = project.file("app")
+        def changed = new File(appDir, "views/changed.scala.html")
+        def unchanged = new File(appDir, "views/unchanged.scala.html")
+        [changed, unchanged].each {
+            it.parentFile.mkdirs()
+            it.text = "<html></html>"
+        }
+        compile.source(appDir)
+        compile.outputDirectory = project.file("output")
+
+        when:
+        compile.compile(withChangedInputFile(changed))
+
+        then:
+        1 * twirlCompiler.execute({ TwirlCompileSpec spec -> spec.sources*.file == [changed] })
+    }
+
+    IncrementalTaskInputs withChangedInputFile(File file) {
+        def details = Mock(InputFileDetails)
+        _ * details.getFile() >> file
+        _ * taskInputs.isIncremental() >> true
+        _ * taskInputs.outOfDate({ Action<InputFileDetails> action -> action.execute(details) })
+        _ * taskInputs.removed(_)
+        taskInputs
     }
 
     IncrementalTaskInputs withDeletedInputFile() {
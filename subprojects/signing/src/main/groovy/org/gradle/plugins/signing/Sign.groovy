@@ -16,6 +16,7 @@
 package org.gradle.plugins.signing
 
 import groovy.transform.CompileStatic
+import org.gradle.api.Action
 import org.gradle.api.DefaultTask
 import org.gradle.api.DomainObjectSet
 import org.gradle.api.InvalidUserDataException
@@ -30,9 +31,16 @@ import org.gradle.api.tasks.Internal
 import org.gradle.api.tasks.TaskAction
 import org.gradle.api.tasks.TaskOutputs
 import org.gradle.api.tasks.bundling.AbstractArchiveTask
+import org.gradle.internal.UncheckedException
+import org.gradle.internal.operations.BuildOperationProcessor
+import org.gradle.internal.operations.BuildOperationQueue
+import org.gradle.internal.operations.MultipleBuildOperationFailures
+import org.gradle.internal.operations.RunnableBuildOperation
 import org.gradle.plugins.signing.signatory.Signatory
 import org.gradle.plugins.signing.signatory.pgp.PgpSignatory
+import org.gradle.plugins.signing.type.BinarySignatureType
 import org.gradle.plugins.signing.type.SignatureType
+import org.gradle.plugins.signing.type.pgp.ArmoredSignatureType
 
 import javax.inject.Inject
 
@@ -183,7 +191,43 @@ class Sign extends DefaultTask implements SignatureSpec {
             throw new InvalidUserDataException("Cannot perform signing task '${getPath()}' because it has no configured signatory")
         }
 
-        getSignatures()*.generate()
+        List<RunnableBuildOperation> generators = []
+        for (Signature signature : getSignatures()) {
+            RunnableBuildOperation generator = signature.prepareGenerate()
+            if (generator != null) {
+                generators.add(generator)
+            }
+        }
+
+        if (generators.size() > 1 && canSignConcurrently()) {
+            signConcurrently(generators)
+        } else {
+            for (RunnableBuildOperation generator : generators) {
+                generator.run()
+            }
+        }
+    }
+
+    // Only the built-in signatory and signature types are known to be safe to use from multiple threads
+    private boolean canSignConcurrently() {
+        getSignatory() instanceof PgpSignatory && getSignatureType()?.getClass() in [BinarySignatureType, ArmoredSignatureType]
+    }
+
+    private void signConcurrently(final List<RunnableBuildOperation> generators) {
+        try {
+            getBuildOperationProcessor().run(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+                void execute(BuildOperationQueue<RunnableBuildOperation> queue) {
+                    for (RunnableBuildOperation generator : generators) {
+                        queue.add(generator)
+                    }
+                }
+            })
+        } catch (MultipleBuildOperationFailures e) {
+            if (e.getCauses().size() == 1) {
+                throw UncheckedException.throwAsUncheckedException(e.getCauses().get(0))
+            }
+            throw e
+        }
     }
 
     /**
@@ -217,6 +261,11 @@ class Sign extends DefaultTask implements SignatureSpec {
         throw new UnsupportedOperationException() // Implementation provided by decoration
     }
 
+    @Inject
+    protected BuildOperationProcessor getBuildOperationProcessor() {
+        throw new UnsupportedOperationException() // Implementation provided by decoration
+    }
+
     /**
      * All of the files that will be signed by this task.
      */
@@ -19,6 +19,7 @@ import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Nullable;
 import org.gradle.api.artifacts.PublishArtifact;
 import org.gradle.api.internal.artifacts.publish.AbstractPublishArtifact;
+import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.plugins.signing.signatory.Signatory;
 import org.gradle.plugins.signing.type.SignatureType;
 
@@ -345,33 +346,57 @@ public class Signature extends AbstractPublishArtifact {
      * @throws InvalidUserDataException if the there is insufficient information available to generate the signature.
      */
     public void generate() {
-        File toSign = getToSign();
+        RunnableBuildOperation generator = prepareGenerate();
+        if (generator != null) {
+            generator.run();
+        }
+    }
+
+    /**
+     * Resolves the file to sign, signatory and signature type on the calling thread, and returns the operation that generates the signature file.
+     *
+     * @return The operation, or {@code null} if the signature is not required and cannot be generated.
+     * @throws InvalidUserDataException if the signature is required and there is insufficient information available to generate it.
+     */
+    @Nullable
+    RunnableBuildOperation prepareGenerate() {
+        final File toSign = getToSign();
         if (toSign == null) {
             if (signatureSpec.isRequired()) {
                 throw new InvalidUserDataException("Unable to generate signature as the file to sign has not been specified");
             } else {
-                return;
+                return null;
             }
         }
 
-        Signatory signatory = getSignatory();
+        final Signatory signatory = getSignatory();
         if (signatory == null) {
             if (signatureSpec.isRequired()) {
                 throw new InvalidUserDataException("Unable to generate signature for \'" + String.valueOf(toSign) + "\' as no signatory is available to sign");
             } else {
-                return;
+                return null;
             }
         }
 
-        SignatureType signatureType = getSignatureType();
+        final SignatureType signatureType = getSignatureType();
         if (signatureType == null) {
             if (signatureSpec.isRequired()) {
                 throw new InvalidUserDataException("Unable to generate signature for \'" + String.valueOf(toSign) + "\' as no signature type has been configured");
             } else {
-                return;
+                return null;
             }
         }
 
-        signatureType.sign(signatory, toSign);
+        return new RunnableBuildOperation() {
+            @Override
+            public void run() {
+                signatureType.sign(signatory, toSign);
+            }
+
+            @Override
+            public String getDescription() {
+                return "sign " + toSign;
+            }
+        };
     }
 }
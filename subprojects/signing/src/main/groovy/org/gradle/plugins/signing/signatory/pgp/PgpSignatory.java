@@ -41,10 +41,14 @@ import java.security.Security;
  */
 public class PgpSignatory extends SignatorySupport {
 
-    {
-        Security.addProvider(new BouncyCastleProvider());
+    static {
+        if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+            Security.addProvider(new BouncyCastleProvider());
+        }
     }
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final String name;
     private final PGPSecretKey secretKey;
     private final PGPPrivateKey privateKey;
@@ -68,6 +72,7 @@ public class PgpSignatory extends SignatorySupport {
      * Exhausts {@code toSign}, and writes the signature to {@code signatureDestination}.
      *
      * The caller is responsible for closing the streams, though the output WILL be flushed.
+     * This method may be called concurrently, as each call uses its own signature generator.
      */
     @Override
     public void sign(InputStream toSign, OutputStream signatureDestination) {
@@ -85,7 +90,7 @@ public class PgpSignatory extends SignatorySupport {
     }
 
     private void feedGeneratorWith(InputStream toSign, PGPSignatureGenerator generator) throws IOException {
-        byte[] buffer = new byte[1024];
+        byte[] buffer = new byte[BUFFER_SIZE];
         int read = toSign.read(buffer);
         while (read > 0) {
             generator.update(buffer, 0, read);
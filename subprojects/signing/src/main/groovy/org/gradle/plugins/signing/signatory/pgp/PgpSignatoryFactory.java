@@ -21,12 +21,17 @@ import org.bouncycastle.openpgp.PGPSecretKeyRingCollection;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Nullable;
 import org.gradle.api.Project;
+import org.gradle.internal.hash.HashUtil;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 import static org.codehaus.groovy.runtime.ResourceGroovyMethods.newInputStream;
 import static org.gradle.internal.Cast.uncheckedCast;
@@ -39,6 +44,10 @@ public class PgpSignatoryFactory {
 
     private static final String[] PROPERTIES = new String[]{"keyId", "secretKeyRingFile", "password"};
 
+    // Decrypting the secret key is expensive, and the default signatory is looked up for every signature.
+    // Entries are keyed on a hash of the password, so the password itself is not held on to
+    private final Map<List<Object>, PgpSignatory> signatoriesFromProperties = new HashMap<List<Object>, PgpSignatory>();
+
     public PgpSignatory createSignatory(Project project, boolean required) {
         return readProperties(project, null, "default", required);
     }
@@ -94,7 +103,19 @@ public class PgpSignatoryFactory {
         String keyId = values.get(0).toString();
         File keyRing = project.file(values.get(1).toString());
         String password = values.get(2).toString();
-        return createSignatory(name, keyId, keyRing, password);
+        return createCachedSignatory(name, keyId, keyRing, password);
+    }
+
+    private PgpSignatory createCachedSignatory(String name, String keyId, File keyRing, String password) {
+        List<Object> key = Arrays.<Object>asList(name, keyId, keyRing.getAbsoluteFile(), keyRing.length(), keyRing.lastModified(), HashUtil.createHash(password, "SHA-256"));
+        synchronized (signatoriesFromProperties) {
+            PgpSignatory signatory = signatoriesFromProperties.get(key);
+            if (signatory == null) {
+                signatory = createSignatory(name, keyId, keyRing, password);
+                signatoriesFromProperties.put(key, signatory);
+            }
+            return signatory;
+        }
     }
 
     protected String getQualifiedPropertyName(final String propertyPrefix, final String name) {
@@ -36,6 +36,21 @@ class SignatoriesConfigurationSpec extends SigningProjectSpec {
         signing.signatory != null
     }
     
+    def "default signatory is reused while its properties are unchanged"() {
+        when:
+        addSigningProperties()
+        def signatory = signing.signatory
+
+        then:
+        signing.signatory.is(signatory)
+
+        when:
+        project.ext["signing.keyId"] = project.ext["signing.keyId"].toString().toLowerCase()
+
+        then:
+        !signing.signatory.is(signatory)
+    }
+
     def "defining signatories with properties"() {
         given:
         def properties = signingPropertiesSet
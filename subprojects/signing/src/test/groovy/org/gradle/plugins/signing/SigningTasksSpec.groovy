@@ -15,6 +15,18 @@
  */
 package org.gradle.plugins.signing
 
+import org.bouncycastle.openpgp.PGPObjectFactory
+import org.bouncycastle.openpgp.PGPSignatureGenerator
+import org.bouncycastle.openpgp.PGPSignatureList
+import org.bouncycastle.openpgp.PGPSignatureSubpacketGenerator
+import org.bouncycastle.openpgp.PGPUtil
+import org.bouncycastle.openpgp.operator.bc.BcKeyFingerprintCalculator
+import org.gradle.plugins.signing.signatory.pgp.PgpSignatory
+import org.gradle.plugins.signing.signatory.pgp.PgpSignatoryFactory
+import org.gradle.plugins.signing.type.ArmoredSignatureType
+import org.gradle.plugins.signing.type.BinarySignatureType
+import spock.lang.Unroll
+
 class SigningTasksSpec extends SigningProjectSpec {
     
     def setup() {
@@ -62,5 +74,54 @@ class SigningTasksSpec extends SigningProjectSpec {
         then:
         [signSourcesJarTask, signJavadocJarTask]*.name == ["signSourcesJar", "signJavadocJar"]
     }
-    
-}
\ No newline at end of file
+
+    @Unroll
+    def "signing files concurrently produces the same signatures as signing them sequentially with #signatureType.extension signatures"() {
+        given:
+        addSigningProperties()
+        def files = (1..8).collect { tmpDir.file("file${it}.txt") << ("content of file $it\n" * 1000) }
+        def signTask = task("signFiles", type: Sign)
+        signTask.signatureType(signatureType)
+        signTask.sign(files as File[])
+
+        when:
+        signTask.generate()
+
+        then:
+        files.each { file ->
+            def signatureFile = signatureType.fileFor(file)
+            def expected = new ByteArrayOutputStream()
+            file.withInputStream { input ->
+                signatureType.sign(sequentialSignatory(creationTimeOf(signatureFile)), input, expected)
+            }
+            assert signatureFile.bytes == expected.toByteArray()
+        }
+
+        where:
+        signatureType << [new BinarySignatureType(), new ArmoredSignatureType()]
+    }
+
+    // The signature includes its creation time, so sign with the time of the concurrently generated signature to get the same bytes
+    private PgpSignatory sequentialSignatory(Date creationTime) {
+        def properties = getSigningPropertiesSet()
+        def secretKey = new PgpSignatoryFactory().readSecretKey(properties.keyId, new File(properties.secretKeyRingFile))
+        new PgpSignatory("sequential", secretKey, properties.password) {
+            @Override
+            PGPSignatureGenerator createSignatureGenerator() {
+                def generator = super.createSignatureGenerator()
+                def subpackets = new PGPSignatureSubpacketGenerator()
+                subpackets.setSignatureCreationTime(false, creationTime)
+                generator.setHashedSubpackets(subpackets.generate())
+                generator
+            }
+        }
+    }
+
+    private static Date creationTimeOf(File signatureFile) {
+        signatureFile.withInputStream { input ->
+            def factory = new PGPObjectFactory(PGPUtil.getDecoderStream(input), new BcKeyFingerprintCalculator())
+            def signatures = factory.nextObject() as PGPSignatureList
+            signatures.get(0).creationTime
+        }
+    }
+}
@@ -48,6 +48,8 @@ public class ProtocolToModelAdapter implements Serializable {
         }
     };
     private static final Object[] EMPTY = new Object[0];
+    private static final Class<?>[] EMPTY_CLASS_ARRAY = new Class<?>[0];
+    private static final ProxyConstructorCache PROXY_CONSTRUCTORS = new ProxyConstructorCache();
     private static final Pattern IS_SUPPORT_METHOD = Pattern.compile("is(\\w+)Supported");
     private final TargetTypeProvider targetTypeProvider;
     private final CollectionMapper collectionMapper = new CollectionMapper();
@@ -124,7 +126,7 @@ public class ProtocolToModelAdapter implements Serializable {
             mixInMethodInvoker = new MixInMethodInvoker(mapping.mixInType, new AdaptingMethodInvoker(mapper, new ReflectionMethodInvoker()));
         }
         MethodInvoker overrideInvoker = chainInvokers(mixInMethodInvoker, mapping.overrideInvoker);
-        Object proxy = Proxy.newProxyInstance(wrapperType.getClassLoader(), new Class<?>[]{wrapperType}, new InvocationHandlerImpl(sourceObject, overrideInvoker, mapper));
+        Object proxy = PROXY_CONSTRUCTORS.newInstance(wrapperType, new InvocationHandlerImpl(sourceObject, overrideInvoker, mapper));
         if (mixInMethodInvoker != null) {
             mixInMethodInvoker.setProxy(proxy);
         }
@@ -228,6 +230,54 @@ public class ProtocolToModelAdapter implements Serializable {
         return handler.delegate;
     }
 
+    /**
+     * Caches the constructor of the proxy class generated for each view type, so that adapting an object does not have to look up the proxy class
+     * and its constructor again. Constructors are softly referenced, so that the view types can still be unloaded.
+     */
+    static class ProxyConstructorCache {
+        private final Object lock = new Object();
+        private final WeakHashMap<Class<?>, SoftReference<Constructor<?>>> cache = new WeakHashMap<Class<?>, SoftReference<Constructor<?>>>();
+
+        Object newInstance(Class<?> viewType, InvocationHandler handler) {
+            Constructor<?> constructor = get(viewType);
+            try {
+                return constructor.newInstance(handler);
+            } catch (InvocationTargetException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            } catch (Exception e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
+        Constructor<?> get(Class<?> viewType) {
+            SoftReference<Constructor<?>> cached;
+            synchronized (lock) {
+                cached = cache.get(viewType);
+            }
+            if (cached != null) {
+                Constructor<?> constructor = cached.get();
+                if (constructor != null) {
+                    return constructor;
+                }
+            }
+            Constructor<?> constructor;
+            try {
+                Class<?> proxyClass = Proxy.getProxyClass(viewType.getClassLoader(), viewType);
+                constructor = proxyClass.getConstructor(InvocationHandler.class);
+                // The proxy class for a non-public view type is not public either, so do as Proxy.newProxyInstance() does
+                if (!Modifier.isPublic(proxyClass.getModifiers())) {
+                    constructor.setAccessible(true);
+                }
+            } catch (NoSuchMethodException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+            synchronized (lock) {
+                cache.put(viewType, new SoftReference<Constructor<?>>(constructor));
+            }
+            return constructor;
+        }
+    }
+
     private static class DefaultSourceObjectMapping implements SourceObjectMapping {
         private final Object protocolObject;
         private final Class<?> targetType;
@@ -615,7 +665,6 @@ public class ProtocolToModelAdapter implements Serializable {
     }
 
     private static class SafeMethodInvoker implements MethodInvoker {
-        private static final Class[] EMPTY_CLASS_ARRAY = new Class[0];
         private final MethodInvoker next;
 
         private SafeMethodInvoker(MethodInvoker next) {
@@ -650,14 +699,20 @@ public class ProtocolToModelAdapter implements Serializable {
         }
 
         public void invoke(MethodInvocation invocation) throws Throwable {
-            Matcher matcher = IS_SUPPORT_METHOD.matcher(invocation.getName());
+            String name = invocation.getName();
+            // Cheap check first, as this is called for every method invoked on a view
+            if (!name.startsWith("is") || !name.endsWith("Supported")) {
+                next.invoke(invocation);
+                return;
+            }
+            Matcher matcher = IS_SUPPORT_METHOD.matcher(name);
             if (!matcher.matches()) {
                 next.invoke(invocation);
                 return;
             }
 
             String getterName = "get" + matcher.group(1);
-            MethodInvocation getterInvocation = new MethodInvocation(getterName, invocation.getReturnType(), invocation.getGenericReturnType(), new Class[0], invocation.getDelegate(), EMPTY);
+            MethodInvocation getterInvocation = new MethodInvocation(getterName, invocation.getReturnType(), invocation.getGenericReturnType(), EMPTY_CLASS_ARRAY, invocation.getDelegate(), EMPTY);
             next.invoke(getterInvocation);
             invocation.setResult(getterInvocation.found());
         }
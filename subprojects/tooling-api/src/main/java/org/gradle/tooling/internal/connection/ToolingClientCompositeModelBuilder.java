@@ -18,6 +18,9 @@ package org.gradle.tooling.internal.connection;
 
 import com.google.common.collect.Lists;
 import org.gradle.internal.composite.GradleParticipantBuild;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.StoppableExecutor;
 import org.gradle.tooling.BuildActionExecuter;
 import org.gradle.tooling.BuildController;
 import org.gradle.tooling.GradleConnectionException;
@@ -38,10 +41,19 @@ import org.gradle.tooling.model.gradle.BuildInvocations;
 import org.gradle.tooling.model.gradle.ProjectPublications;
 import org.gradle.util.GradleVersion;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Builds the models of a composite, by requesting them from each participant.
+ *
+ * <p>The participants are queried concurrently, by up to as many threads as there are processors. The client's progress listeners and output
+ * streams are shared by the requests to all participants, and are called by one request at a time. The cancellation token is shared as is.
+ * A participant that fails contributes a failed result without affecting the other participants, and the results are returned in participant
+ * order.</p>
+ */
 public class ToolingClientCompositeModelBuilder<T> {
     private static final GradleVersion USE_CUSTOM_MODEL_ACTION_VERSION = GradleVersion.version("1.12");
 
@@ -50,31 +62,86 @@ public class ToolingClientCompositeModelBuilder<T> {
     private final Class<T> modelType;
     private final List<CompositeModelResultsBuilder> builders = Lists.newArrayList();
     private final ProtocolToModelAdapter protocolToModelAdapter = new ProtocolToModelAdapter();
+    private final ExecutorFactory executorFactory;
+    private final int maxConcurrentParticipants;
 
     ToolingClientCompositeModelBuilder(final Class<T> modelType, ConsumerOperationParameters operationParameters) {
+        this(modelType, operationParameters, new ToolingClientCompositeUtil(operationParameters), new DefaultExecutorFactory(), Runtime.getRuntime().availableProcessors());
+    }
+
+    ToolingClientCompositeModelBuilder(final Class<T> modelType, ConsumerOperationParameters operationParameters, ToolingClientCompositeUtil util, ExecutorFactory executorFactory, int maxConcurrentParticipants) {
         this.modelType = modelType;
 
         builders.add(new HierarchicalModelResultsBuilder());
         builders.add(new BuildInvocationsModelResultsBuilder());
         builders.add(new ProjectPublicationsModelResultBuilder());
         builders.add(new PerBuildModelResultsBuilder());
-        this.util = new ToolingClientCompositeUtil(operationParameters);
+        this.util = util;
         this.operationParameters = operationParameters;
+        this.executorFactory = executorFactory;
+        this.maxConcurrentParticipants = maxConcurrentParticipants;
     }
 
     public Iterable<ModelResult<T>> get() throws GradleConnectionException, IllegalStateException {
+        List<ParticipantResults> participantResults = Lists.newArrayList();
+        for (GradleParticipantBuild participant : operationParameters.getBuilds()) {
+            participantResults.add(new ParticipantResults(util.createParticipantConnector(participant)));
+        }
+
+        // Each participant is a separate build in its own daemon, so query them concurrently rather than waiting for each round trip in turn
+        int concurrentParticipants = Math.min(participantResults.size(), maxConcurrentParticipants);
+        if (concurrentParticipants > 1) {
+            StoppableExecutor executor = executorFactory.create("Composite participant model fetch", concurrentParticipants);
+            try {
+                for (ParticipantResults participant : participantResults) {
+                    executor.execute(participant);
+                }
+            } finally {
+                executor.stop();
+            }
+        } else {
+            for (ParticipantResults participant : participantResults) {
+                participant.run();
+            }
+        }
+
         final List<ModelResult<T>> results = Lists.newArrayList();
+        for (ParticipantResults participant : participantResults) {
+            participant.addTo(results);
+        }
+        return results;
+    }
 
-        for (GradleParticipantBuild participant : operationParameters.getBuilds()) {
-            ParticipantConnector participantConnector = util.createParticipantConnector(participant);
+    /**
+     * Fetches the results for a single participant. A participant that fails to connect or to build its models contributes a failed result,
+     * without affecting the other participants.
+     */
+    private class ParticipantResults implements Runnable {
+        private final ParticipantConnector participantConnector;
+        private List<ModelResult<T>> results;
+        private RuntimeException failure;
+
+        ParticipantResults(ParticipantConnector participantConnector) {
+            this.participantConnector = participantConnector;
+        }
+
+        @Override
+        public void run() {
             try {
-                final List<ModelResult<T>> participantResults = buildResultsForParticipant(participantConnector);
-                results.addAll(participantResults);
+                results = buildResultsForParticipant(participantConnector);
             } catch (GradleConnectionException e) {
-                results.add(new DefaultFailedModelResult<T>(participantConnector.toBuildIdentifier(), e));
+                results = Collections.<ModelResult<T>>singletonList(new DefaultFailedModelResult<T>(participantConnector.toBuildIdentifier(), e));
+            } catch (RuntimeException e) {
+                failure = e;
             }
         }
-        return results;
+
+        void addTo(List<ModelResult<T>> allResults) {
+            if (failure != null) {
+                throw failure;
+            }
+            allResults.addAll(results);
+        }
     }
 
     private List<ModelResult<T>> buildResultsForParticipant(ParticipantConnector participant) throws GradleConnectionException {
@@ -23,13 +23,15 @@ import org.gradle.tooling.internal.consumer.parameters.ConsumerOperationParamete
 
 public class ToolingClientCompositeUtil {
     private final ConsumerOperationParameters operationParameters;
+    // Requests to the participants may run at the same time, so call the client's listeners and output streams from one request at a time
+    private final Object callbackLock = new Object();
 
     ToolingClientCompositeUtil(ConsumerOperationParameters operationParameters) {
         this.operationParameters = operationParameters;
     }
 
     <V extends ConfigurableLauncher> void configureRequest(ConfigurableLauncher<V> request) {
-        ((AbstractLongRunningOperation) request).copyFrom(operationParameters);
+        ((AbstractLongRunningOperation) request).copyFromSynchronized(operationParameters, callbackLock);
     }
 
     ParticipantConnector createParticipantConnector(GradleParticipantBuild participant) {
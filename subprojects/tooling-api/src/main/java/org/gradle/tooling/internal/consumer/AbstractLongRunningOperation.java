@@ -164,4 +164,8 @@ public abstract class AbstractLongRunningOperation<T extends AbstractLongRunning
     public void copyFrom(ConsumerOperationParameters operationParameters) {
         operationParamsBuilder.copyFrom(operationParameters);
     }
+
+    public void copyFromSynchronized(ConsumerOperationParameters operationParameters, Object lock) {
+        operationParamsBuilder.copyFromSynchronized(operationParameters, lock);
+    }
 }
@@ -207,6 +207,21 @@ public class ConsumerOperationParameters implements BuildOperationParametersVers
             javaHome = operationParameters.javaHome;
             injectedPluginClasspath = operationParameters.injectedPluginClasspath;
         }
+
+        /**
+         * Copies the given parameters, with the listeners and output streams only called while holding the given lock. Used when several operations
+         * that share the parameters run at the same time. The cancellation token is shared as is, as it is safe to use from several threads.
+         */
+        public void copyFromSynchronized(ConsumerOperationParameters operationParameters, Object lock) {
+            copyFrom(operationParameters);
+            SynchronizedCallbacks callbacks = new SynchronizedCallbacks(lock);
+            callbacks.wrapLegacyListeners(legacyProgressListeners);
+            callbacks.wrapListeners(taskProgressListeners);
+            callbacks.wrapListeners(testProgressListeners);
+            callbacks.wrapListeners(buildOperationProgressListeners);
+            stdout = callbacks.wrap(stdout);
+            stderr = callbacks.wrap(stderr);
+        }
     }
 
     private final String entryPointName;
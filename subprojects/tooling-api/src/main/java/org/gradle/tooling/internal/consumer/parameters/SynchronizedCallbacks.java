@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.consumer.parameters;
+
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Wraps the listeners and output streams supplied by a client, so that they are only called while holding a lock. Clients do not expect their
+ * listeners and streams to be called from several threads at once.
+ */
+class SynchronizedCallbacks {
+    private final Object lock;
+
+    SynchronizedCallbacks(Object lock) {
+        this.lock = lock;
+    }
+
+    void wrapLegacyListeners(List<org.gradle.tooling.ProgressListener> listeners) {
+        for (int i = 0; i < listeners.size(); i++) {
+            final org.gradle.tooling.ProgressListener listener = listeners.get(i);
+            listeners.set(i, new org.gradle.tooling.ProgressListener() {
+                @Override
+                public void statusChanged(org.gradle.tooling.ProgressEvent event) {
+                    synchronized (lock) {
+                        listener.statusChanged(event);
+                    }
+                }
+            });
+        }
+    }
+
+    void wrapListeners(List<ProgressListener> listeners) {
+        for (int i = 0; i < listeners.size(); i++) {
+            final ProgressListener listener = listeners.get(i);
+            listeners.set(i, new ProgressListener() {
+                @Override
+                public void statusChanged(ProgressEvent event) {
+                    synchronized (lock) {
+                        listener.statusChanged(event);
+                    }
+                }
+            });
+        }
+    }
+
+    OutputStream wrap(final OutputStream outputStream) {
+        if (outputStream == null) {
+            return null;
+        }
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                synchronized (lock) {
+                    outputStream.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                synchronized (lock) {
+                    outputStream.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (lock) {
+                    outputStream.flush();
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                synchronized (lock) {
+                    outputStream.close();
+                }
+            }
+        };
+    }
+}
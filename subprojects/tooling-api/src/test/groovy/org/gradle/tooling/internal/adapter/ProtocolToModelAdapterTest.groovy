@@ -24,12 +24,34 @@ import org.gradle.util.Matchers
 import spock.lang.Specification
 
 import java.lang.reflect.InvocationHandler
+import java.lang.reflect.Modifier
 import java.nio.channels.ByteChannel
 import java.nio.channels.Channel
 
 class ProtocolToModelAdapterTest extends Specification {
     final ProtocolToModelAdapter adapter = new ProtocolToModelAdapter()
 
+    def "reuses proxy constructor for view type"() {
+        def cache = new ProtocolToModelAdapter.ProxyConstructorCache()
+
+        expect:
+        cache.get(TestModel).is(cache.get(TestModel))
+    }
+
+    def "creates proxy for non-public view type in another package"() {
+        def cache = new ProtocolToModelAdapter.ProxyConstructorCache()
+        def viewType = new GroovyClassLoader(getClass().classLoader).parseClass('''
+            package org.gradle.tooling.internal.adapter.other
+            @groovy.transform.PackageScope interface NonPublicView { }
+        ''')
+        def handler = Mock(InvocationHandler)
+
+        expect:
+        !Modifier.isPublic(viewType.modifiers)
+        viewType.isInstance(cache.newInstance(viewType, handler))
+        cache.get(viewType).is(cache.get(viewType))
+    }
+
     def mapsNullToNull() {
         expect:
         adapter.adapt(TestModel.class, null) == null
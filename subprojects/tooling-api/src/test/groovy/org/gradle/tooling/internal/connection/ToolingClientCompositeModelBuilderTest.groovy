@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.tooling.internal.connection
+
+import org.gradle.internal.composite.GradleParticipantBuild
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+import org.gradle.tooling.GradleConnectionException
+import org.gradle.tooling.ModelBuilder
+import org.gradle.tooling.ProjectConnection
+import org.gradle.tooling.internal.consumer.parameters.ConsumerOperationParameters
+import org.gradle.tooling.model.BuildIdentifier
+import org.gradle.tooling.model.build.BuildEnvironment
+
+class ToolingClientCompositeModelBuilderTest extends ConcurrentSpec {
+    def operationParameters = Mock(ConsumerOperationParameters)
+    def util = Mock(ToolingClientCompositeUtil)
+    def builder = new ToolingClientCompositeModelBuilder<BuildEnvironment>(BuildEnvironment, operationParameters, util, executorFactory, 4)
+    def connectors = new LinkedHashMap<GradleParticipantBuild, ParticipantConnector>()
+
+    def setup() {
+        _ * operationParameters.getBuilds() >> { connectors.keySet().toList() }
+        _ * util.createParticipantConnector(_) >> { GradleParticipantBuild build -> connectors[build] }
+    }
+
+    def "fetches models from participants concurrently"() {
+        def model1 = Mock(BuildEnvironment)
+        def model2 = Mock(BuildEnvironment)
+
+        given:
+        participants({
+            instant.fetching1
+            thread.blockUntil.fetching2
+            model1
+        }, {
+            instant.fetching2
+            thread.blockUntil.fetching1
+            model2
+        })
+
+        when:
+        def results = builder.get().toList()
+
+        then:
+        results*.model == [model1, model2]
+    }
+
+    def "returns results in participant order"() {
+        def model1 = Mock(BuildEnvironment)
+        def model2 = Mock(BuildEnvironment)
+        def model3 = Mock(BuildEnvironment)
+
+        given:
+        participants({
+            thread.blockUntil.fetched3
+            model1
+        }, {
+            thread.blockUntil.fetched3
+            model2
+        }, {
+            instant.fetched3
+            model3
+        })
+
+        when:
+        def results = builder.get().toList()
+
+        then:
+        results*.model == [model1, model2, model3]
+    }
+
+    def "participant that fails contributes a failed result without affecting the other participants"() {
+        def failure = new GradleConnectionException("broken")
+        def model1 = Mock(BuildEnvironment)
+        def model3 = Mock(BuildEnvironment)
+
+        given:
+        participants({
+            model1
+        }, {
+            throw failure
+        }, {
+            model3
+        })
+
+        when:
+        def results = builder.get().toList()
+
+        then:
+        results.size() == 3
+        results[0].model == model1
+        results[1] instanceof DefaultFailedModelResult
+        results[1].failure == failure
+        results[2].model == model3
+    }
+
+    private void participants(Closure... fetches) {
+        fetches.each { fetch ->
+            connectors.put(Mock(GradleParticipantBuild), new StubParticipantConnector(fetch))
+        }
+    }
+
+    private static class StubParticipantConnector extends ParticipantConnector {
+        private final Closure fetch
+
+        StubParticipantConnector(Closure fetch) {
+            super(null, null, null, null, null)
+            this.fetch = fetch
+        }
+
+        @Override
+        BuildIdentifier toBuildIdentifier() {
+            return new DefaultBuildIdentifier(new File("build"))
+        }
+
+        @Override
+        ProjectConnection connect() {
+            def modelBuilder = [get: { fetch.call() }] as ModelBuilder
+            return [model: { Class type -> modelBuilder }, close: {}] as ProjectConnection
+        }
+    }
+}